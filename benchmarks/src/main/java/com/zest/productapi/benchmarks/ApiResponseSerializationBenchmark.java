@@ -0,0 +1,62 @@
+package com.zest.productapi.benchmarks;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.productapi.dto.ApiResponse;
+import com.zest.productapi.dto.PageResponse;
+import com.zest.productapi.dto.PageTotals;
+import com.zest.productapi.dto.ProductResponse;
+import com.zest.productapi.mapper.ProductMapper;
+import com.zest.productapi.util.ResponseUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<PageResponse<ProductResponse>> response;
+
+    @Setup
+    public void setUp() {
+        // the same builder Spring Boot uses for the MVC message converter, minus application properties
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ProductMapper productMapper = new ProductMapper();
+        List<ProductResponse> content = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            content.add(productMapper.toResponse(Fixtures.product(i)));
+        }
+        PageResponse<ProductResponse> page = new PageResponse<>(content, 0, pageSize, 5000L, 5000 / pageSize, false, PageTotals.EXACT);
+        response = ResponseUtil.success(HttpStatus.OK, "Products fetched successfully", page);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
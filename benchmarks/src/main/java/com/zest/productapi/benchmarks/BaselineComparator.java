@@ -0,0 +1,79 @@
+package com.zest.productapi.benchmarks;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Compares a JMH JSON result (-rf json) against a committed baseline:
+// java -cp target/benchmarks.jar com.zest.productapi.benchmarks.BaselineComparator baselines/jdk17.json target/current.json [0.15]
+public final class BaselineComparator {
+
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+
+    private BaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BaselineComparator <baseline.json> <current.json> [tolerance, default 0.15]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.15;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-80s %14s %14s %8s %12s %12s%n", "benchmark", "baseline", "current", "delta", "B/op base", "B/op now");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-80s %14s%n", entry.getKey(), "new");
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double scoreBefore = before.path("primaryMetric").path("score").asDouble();
+            double scoreAfter = after.path("primaryMetric").path("score").asDouble();
+            double allocBefore = allocNorm(before);
+            double allocAfter = allocNorm(after);
+            double delta = (scoreAfter - scoreBefore) / scoreBefore;
+
+            // ==========regression-rule==========
+            // average-time scores: slower by more than the tolerance, or allocating more per op, fails
+            boolean slower = delta > tolerance;
+            boolean allocates = allocAfter > allocBefore * (1 + tolerance) && allocAfter - allocBefore >= 8;
+            if (slower || allocates) {
+                regressions++;
+            }
+            System.out.printf("%-80s %14.3f %14.3f %+7.1f%% %12.1f %12.1f%s%n",
+                    entry.getKey(), scoreBefore, scoreAfter, delta * 100, allocBefore, allocAfter,
+                    slower || allocates ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d regression(s) beyond %.0f%% tolerance%n", regressions, tolerance * 100);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.zest.productapi.benchmarks.", ""));
+            result.path("params").fields()
+                    .forEachRemaining(param -> key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static double allocNorm(JsonNode result) {
+        return result.path("secondaryMetrics").path(ALLOC_NORM).path("score").asDouble(Double.NaN);
+    }
+}
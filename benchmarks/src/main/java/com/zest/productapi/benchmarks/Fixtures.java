@@ -0,0 +1,26 @@
+package com.zest.productapi.benchmarks;
+
+// ==========file-context==========
+
+import com.zest.productapi.entity.Product;
+
+import java.time.Instant;
+
+final class Fixtures {
+
+    private static final Instant CREATED = Instant.parse("2024-05-01T10:15:30.123456Z");
+
+    private Fixtures() {
+    }
+
+    static Product product(long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setProductName("Benchmark product " + id);
+        product.setCreatedBy("admin@zest.com");
+        product.setCreatedOn(CREATED);
+        product.setModifiedBy("editor@zest.com");
+        product.setModifiedOn(CREATED.plusSeconds(id));
+        return product;
+    }
+}
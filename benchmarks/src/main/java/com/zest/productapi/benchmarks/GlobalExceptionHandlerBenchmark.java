@@ -0,0 +1,78 @@
+package com.zest.productapi.benchmarks;
+
+// ==========file-context==========
+
+import com.zest.productapi.dto.ApiErrorResponse;
+import com.zest.productapi.dto.ProductCreateRequest;
+import com.zest.productapi.exception.GlobalExceptionHandler;
+import com.zest.productapi.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GlobalExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private MockHttpServletRequest request;
+    private ResourceNotFoundException notFound;
+    private MethodArgumentNotValidException invalid;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        request = new MockHttpServletRequest("GET", "/api/v1/products/42");
+        notFound = new ResourceNotFoundException("Product not found with id: 42");
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(
+                new ProductCreateRequest("", ""), "productCreateRequest");
+        bindingResult.addError(new FieldError("productCreateRequest", "productName", "must not be blank"));
+        bindingResult.addError(new FieldError("productCreateRequest", "createdBy", "must not be blank"));
+        MethodParameter parameter = new MethodParameter(
+                GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("validationTarget", ProductCreateRequest.class), 0);
+        invalid = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiErrorResponse> notFoundResponse() {
+        return handler.handleNotFound(notFound, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiErrorResponse> throwAndHandleNotFound() {
+        // includes filling in the stack trace, which is what a real 404 pays
+        try {
+            throw new ResourceNotFoundException("Product not found with id: 42");
+        } catch (ResourceNotFoundException ex) {
+            return handler.handleNotFound(ex, request);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiErrorResponse> validationResponse() {
+        return handler.handleValidation(invalid, request);
+    }
+
+    @SuppressWarnings("unused")
+    private void validationTarget(ProductCreateRequest request) {
+    }
+}
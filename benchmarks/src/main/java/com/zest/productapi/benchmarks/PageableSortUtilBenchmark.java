@@ -0,0 +1,44 @@
+package com.zest.productapi.benchmarks;
+
+// ==========file-context==========
+
+import com.zest.productapi.util.PageableSortUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageableSortUtilBenchmark {
+
+    @Param({"id", "modifiedOn"})
+    public String sortBy;
+
+    @Benchmark
+    public String validateProductSortBy() {
+        return PageableSortUtil.validateProductSortBy(sortBy);
+    }
+
+    @Benchmark
+    public Object rejectUnknownSortBy() {
+        // the 400 path: builds and throws IllegalArgumentException with a stack trace
+        try {
+            return PageableSortUtil.validateProductSortBy("price");
+        } catch (IllegalArgumentException ex) {
+            return ex;
+        }
+    }
+}
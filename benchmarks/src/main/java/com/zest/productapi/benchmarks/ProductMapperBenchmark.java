@@ -0,0 +1,53 @@
+package com.zest.productapi.benchmarks;
+
+// ==========file-context==========
+
+import com.zest.productapi.dto.ItemResponse;
+import com.zest.productapi.dto.ProductResponse;
+import com.zest.productapi.entity.Item;
+import com.zest.productapi.entity.Product;
+import com.zest.productapi.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductMapperBenchmark {
+
+    private final ProductMapper productMapper = new ProductMapper();
+    private Product product;
+    private Item item;
+
+    @Setup
+    public void setUp() {
+        product = Fixtures.product(1);
+        item = new Item();
+        item.setId(7L);
+        item.setProduct(product);
+        item.setQuantity(3);
+    }
+
+    @Benchmark
+    public ProductResponse productToResponse() {
+        return productMapper.toResponse(product);
+    }
+
+    @Benchmark
+    public ItemResponse itemToResponse() {
+        return productMapper.toResponse(item);
+    }
+}
@@ -0,0 +1,112 @@
+package com.zest.productapi.benchmarks;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.productapi.security.RateLimitFilter;
+import com.zest.productapi.security.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.apache.catalina.connector.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The whole filter as Spring Security calls it, with a chain that does nothing: route match, bucket key,
+// one token and the three headers. Limits are high enough that every request is let through. Headers go to
+// Tomcat's own response; MockHttpServletResponse keeps them in a case-insensitive map that alone took a
+// third of the time.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RateLimitFilterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+    private static final FilterChain NOTHING = (request, response) -> {
+    };
+
+    private RateLimitFilter filter;
+    private MockHttpServletRequest search;
+    private MockHttpServletRequest unlimited;
+    private MockHttpServletRequest[] logins;
+    private Response response;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(
+                route("auth", "/api/v1/auth/**", "POST", null),
+                route("product-search", "/api/v1/products", "GET", "name")));
+        filter = new RateLimitFilter(properties, new ObjectMapper(), new SimpleMeterRegistry());
+
+        search = new MockHttpServletRequest("GET", "/api/v1/products");
+        search.setParameter("name", "lamp");
+        unlimited = new MockHttpServletRequest("GET", "/api/v1/products/42");
+        logins = new MockHttpServletRequest[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            logins[i] = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+            logins[i].setRemoteAddr("10.0." + (i >> 8) + "." + (i & 255));
+        }
+        response = new Response();
+        response.setCoyoteResponse(new org.apache.coyote.Response());
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "reader@zest.com", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Response searchOneSubject() throws Exception {
+        filter.doFilter(search, response, NOTHING);
+        return response;
+    }
+
+    @Benchmark
+    public Response loginManyAddresses() throws Exception {
+        // anonymous requests only: the subject set in setUp would otherwise be the key
+        SecurityContextHolder.getContext().setAuthentication(null);
+        MockHttpServletRequest request = logins[next++ % CLIENTS];
+        filter.doFilter(request, response, NOTHING);
+        return response;
+    }
+
+    @Benchmark
+    public Response unlimitedRoute() throws Exception {
+        filter.doFilter(unlimited, response, NOTHING);
+        return response;
+    }
+
+    private static RateLimitProperties.Route route(String name, String path, String method, String queryParam) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setName(name);
+        route.setPath(path);
+        route.setMethods(List.of(method));
+        route.setQueryParam(queryParam);
+        route.setLimit(1_000_000_000L);
+        route.setPeriod(Duration.ofSeconds(1));
+        return route;
+    }
+}
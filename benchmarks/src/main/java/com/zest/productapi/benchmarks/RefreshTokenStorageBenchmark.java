@@ -0,0 +1,258 @@
+package com.zest.productapi.benchmarks;
+
+// ==========file-context==========
+
+import com.zest.productapi.security.RefreshTokens;
+import org.HdrHistogram.Histogram;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+// Refresh-token storage at scale on PostgreSQL: index size and single-session refresh latency for
+// the previous raw-UUID column, a raw 43-character token column and the SHA-256 token_hash column.
+// java -cp target/benchmarks.jar com.zest.productapi.benchmarks.RefreshTokenStorageBenchmark \
+//     --jdbc-url=jdbc:postgresql://localhost:5432/postgres --user=postgres --users=10000000
+public final class RefreshTokenStorageBenchmark {
+
+    private static final Layout[] LAYOUTS = {
+            new Layout("rt_bench_uuid", "token varchar(512)", "md5('rt-' || i)::uuid::text"),
+            new Layout("rt_bench_raw43", "token varchar(512)", "rtrim(translate(encode(sha256(convert_to('rt-' || i, 'UTF8')), 'base64'), '+/', '-_'), '=')"),
+            new Layout("rt_bench_sha256", "token_hash bytea", "sha256(convert_to('rt-' || i, 'UTF8'))")
+    };
+
+    private RefreshTokenStorageBenchmark() {
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Map<String, String> options = parse(args);
+        String url = options.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5432/postgres");
+        long users = Long.parseLong(options.getOrDefault("users", "10000000"));
+        int lookups = Integer.parseInt(options.getOrDefault("lookups", "200000"));
+        boolean reload = Boolean.parseBoolean(options.getOrDefault("reload", "false"));
+
+        try (Connection connection = DriverManager.getConnection(url,
+                options.getOrDefault("user", "postgres"), options.getOrDefault("password", ""))) {
+            // ==========load==========
+            for (Layout layout : LAYOUTS) {
+                if (reload || rowCount(connection, layout.table()) != users) {
+                    load(connection, layout, users);
+                }
+            }
+
+            // ==========storage==========
+            System.out.printf("%n%-18s %12s %14s %14s %10s%n", "table", "heap MB", "token idx MB", "pkey MB", "B/entry");
+            for (Layout layout : LAYOUTS) {
+                long heap = relationSize(connection, layout.table());
+                long tokenIndex = relationSize(connection, layout.table() + "_token_key");
+                long primaryKey = relationSize(connection, layout.table() + "_pkey");
+                System.out.printf("%-18s %12.1f %14.1f %14.1f %10.1f%n", layout.table(),
+                        heap / 1048576.0, tokenIndex / 1048576.0, primaryKey / 1048576.0, (double) tokenIndex / users);
+            }
+
+            // ==========latency==========
+            // one connection, uniformly random users, autocommit: the shape of a single refresh request
+            System.out.printf("%n%-40s %10s %10s %10s %10s%n", "operation", "p50 us", "p99 us", "p99.9 us", "max us");
+            report("lookup by uuid token", lookups(connection, "rt_bench_uuid", "token", Key.UUID_TEXT, users, lookups));
+            report("lookup by raw 43-char token", lookups(connection, "rt_bench_raw43", "token", Key.RAW43, users, lookups));
+            report("lookup by sha256 (hash + index)", lookups(connection, "rt_bench_sha256", "token_hash", Key.SHA256, users, lookups));
+            report("lookup by id (in-memory tier hit)", lookups(connection, "rt_bench_sha256", "id", Key.ID, users, lookups));
+            report("rotate uuid token", rotations(connection, "rt_bench_uuid", "token", Key.UUID_TEXT, users, lookups / 4));
+            report("rotate sha256 token", rotations(connection, "rt_bench_sha256", "token_hash", Key.SHA256, users, lookups / 4));
+        }
+    }
+
+    private static void load(Connection connection, Layout layout, long users) throws SQLException {
+        long started = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + layout.table());
+            statement.execute("create table " + layout.table() + " (id bigint primary key, " + layout.column()
+                    + " not null, expires_at timestamptz not null, revoked boolean not null, user_id bigint not null)");
+            statement.execute("insert into " + layout.table() + " select i, " + layout.expression()
+                    + ", now() + interval '7 days', false, i from generate_series(1, " + users + ") i");
+            // the entity's unique constraints, built after the load
+            String keyColumn = layout.column().substring(0, layout.column().indexOf(' '));
+            statement.execute("alter table " + layout.table() + " add constraint " + layout.table()
+                    + "_token_key unique (" + keyColumn + ")");
+            statement.execute("alter table " + layout.table() + " add constraint " + layout.table()
+                    + "_user_key unique (user_id)");
+            statement.execute("vacuum analyze " + layout.table());
+        }
+        System.out.printf("loaded %s with %d rows in %.1f s%n", layout.table(), users, (System.nanoTime() - started) / 1e9);
+    }
+
+    private static Histogram lookups(Connection connection, String table, String column, Key key,
+                                     long users, int count) throws SQLException {
+        Histogram histogram = new Histogram(3);
+        SplittableRandom random = new SplittableRandom(42);
+        String sql = "select id, user_id, expires_at, revoked from " + table + " where " + column + " = ?";
+        try (PreparedStatement select = connection.prepareStatement(sql)) {
+            for (int i = -count / 5; i < count; i++) {
+                long user = random.nextLong(users) + 1;
+                long started = System.nanoTime();
+                bind(select, key, user);
+                try (ResultSet row = select.executeQuery()) {
+                    if (!row.next()) {
+                        throw new IllegalStateException("No refresh token for user " + user + " in " + table);
+                    }
+                }
+                if (i >= 0) {
+                    histogram.recordValue((System.nanoTime() - started) / 1000);
+                }
+            }
+        }
+        return histogram;
+    }
+
+    private static Histogram rotations(Connection connection, String table, String column, Key key,
+                                       long users, int count) throws SQLException {
+        // select the row, write a fresh key and expiry, commit; rotated rows are put back afterwards
+        Histogram histogram = new Histogram(3);
+        SplittableRandom random = new SplittableRandom(7);
+        Set<Long> rotated = new HashSet<>();
+        connection.setAutoCommit(false);
+        try (PreparedStatement select = connection.prepareStatement(
+                "select id, user_id, expires_at, revoked from " + table + " where " + column + " = ?");
+             PreparedStatement update = connection.prepareStatement(
+                     "update " + table + " set " + column + " = ?, expires_at = ?, revoked = false where id = ?")) {
+            for (int i = 0; i < count; i++) {
+                long user = random.nextLong(users) + 1;
+                if (rotated.contains(user)) {
+                    continue;
+                }
+                long started = System.nanoTime();
+                bind(select, key, user);
+                long id;
+                try (ResultSet row = select.executeQuery()) {
+                    row.next();
+                    id = row.getLong(1);
+                }
+                if (key == Key.SHA256) {
+                    update.setBytes(1, RefreshTokens.hash(RefreshTokens.generate()));
+                } else {
+                    update.setString(1, UUID.randomUUID().toString());
+                }
+                update.setTimestamp(2, Timestamp.from(Instant.now().plusSeconds(604800)));
+                update.setLong(3, id);
+                update.executeUpdate();
+                connection.commit();
+                histogram.recordValue((System.nanoTime() - started) / 1000);
+                rotated.add(id);
+            }
+        } finally {
+            restore(connection, table, column, key, rotated);
+            connection.setAutoCommit(true);
+        }
+        return histogram;
+    }
+
+    private static void restore(Connection connection, String table, String column, Key key, Set<Long> ids) throws SQLException {
+        String expression = key == Key.SHA256 ? "sha256(convert_to('rt-' || id, 'UTF8'))" : "md5('rt-' || id)::uuid::text";
+        try (PreparedStatement restore = connection.prepareStatement(
+                "update " + table + " set " + column + " = " + expression + " where id = ?")) {
+            for (Long id : ids) {
+                restore.setLong(1, id);
+                restore.addBatch();
+            }
+            restore.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private static void bind(PreparedStatement statement, Key key, long user) throws SQLException {
+        switch (key) {
+            case UUID_TEXT -> statement.setString(1, uuidToken(user));
+            case RAW43 -> statement.setString(1, raw43Token(user));
+            case SHA256 -> statement.setBytes(1, RefreshTokens.hash("rt-" + user));
+            case ID -> statement.setLong(1, user);
+        }
+    }
+
+    private static String uuidToken(long user) {
+        String hex = hex(digest("MD5", "rt-" + user));
+        return hex.substring(0, 8) + '-' + hex.substring(8, 12) + '-' + hex.substring(12, 16) + '-'
+                + hex.substring(16, 20) + '-' + hex.substring(20);
+    }
+
+    private static String raw43Token(long user) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(RefreshTokens.hash("rt-" + user));
+    }
+
+    private static byte[] digest(String algorithm, String value) {
+        try {
+            return MessageDigest.getInstance(algorithm).digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(algorithm + " is not available", ex);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    private static long rowCount(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet exists = statement.executeQuery("select to_regclass('" + table + "') is not null")) {
+            exists.next();
+            if (!exists.getBoolean(1)) {
+                return -1;
+            }
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet count = statement.executeQuery("select count(*) from " + table)) {
+            count.next();
+            return count.getLong(1);
+        }
+    }
+
+    private static long relationSize(Connection connection, String relation) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet size = statement.executeQuery("select pg_relation_size('" + relation + "')")) {
+            size.next();
+            return size.getLong(1);
+        }
+    }
+
+    private static void report(String operation, Histogram histogram) {
+        System.out.printf("%-40s %10d %10d %10d %10d%n", operation,
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99),
+                histogram.getValueAtPercentile(99.9), histogram.getMaxValue());
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Invalid option: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    private enum Key {
+        UUID_TEXT, RAW43, SHA256, ID
+    }
+
+    private record Layout(String table, String column, String expression) {
+    }
+}
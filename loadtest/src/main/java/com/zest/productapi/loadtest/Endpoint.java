@@ -0,0 +1,29 @@
+package com.zest.productapi.loadtest;
+
+// ==========file-context==========
+
+import java.util.Locale;
+
+public enum Endpoint {
+    LIST,
+    SEARCH,
+    GET,
+    ITEMS,
+    CREATE,
+    UPDATE,
+    REFRESH,
+    LOGIN;
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Endpoint from(String value) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key().equalsIgnoreCase(value.trim())) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Invalid endpoint: " + value);
+    }
+}
@@ -0,0 +1,73 @@
+package com.zest.productapi.loadtest;
+
+// ==========file-context==========
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class EndpointStats {
+
+    // microseconds, auto-resizing, 3 significant digits
+    private final Histogram responseTime = new ConcurrentHistogram(3);
+    private final Histogram serviceTime = new ConcurrentHistogram(3);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder unavailable = new LongAdder();
+
+    // ==========completion==========
+    // response time runs from the scheduled start, so a stalled server cannot hide queued arrivals;
+    // service time runs from the actual send and is what a closed-model tool would have reported
+    void record(long intendedNanos, long sentNanos, long completedNanos, String outcome, boolean error) {
+        responseTime.recordValue(Math.max(0, (completedNanos - intendedNanos) / 1000));
+        serviceTime.recordValue(Math.max(0, (completedNanos - sentNanos) / 1000));
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    void markDropped() {
+        dropped.increment();
+    }
+
+    void markUnavailable() {
+        unavailable.increment();
+    }
+
+    // snapshots: requests still in flight after the run keep recording while the report is built
+    public Histogram responseTime() {
+        return responseTime.copy();
+    }
+
+    public Histogram serviceTime() {
+        return serviceTime.copy();
+    }
+
+    public Map<String, Long> outcomes() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> snapshot.put(outcome, count.sum()));
+        return snapshot;
+    }
+
+    public long completed() {
+        return responseTime.getTotalCount();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public long unavailable() {
+        return unavailable.sum();
+    }
+}
@@ -0,0 +1,115 @@
+package com.zest.productapi.loadtest;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Stable key order and fixed precision so two reports can be compared with a plain diff.
+public final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Object> report = new LinkedHashMap<>();
+    private final OpenModelDriver.Result result;
+
+    public LoadReport(LoadTestOptions options, String target, String db, OpenModelDriver.Result result) {
+        this.result = result;
+        double seconds = result.elapsedNanos() / 1e9;
+
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("label", options.label());
+        run.put("target", target);
+        run.put("db", db);
+        run.put("java", Runtime.version().toString());
+        run.put("cpus", Runtime.getRuntime().availableProcessors());
+        run.put("rate", options.rate());
+        run.put("warmupSeconds", options.warmup().toSeconds());
+        run.put("durationSeconds", options.duration().toSeconds());
+        run.put("mix", mix(options.mix()));
+        run.put("randomSeed", options.randomSeed());
+        report.put("run", run);
+
+        long completed = result.stats().values().stream().mapToLong(EndpointStats::completed).sum();
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("scheduled", result.scheduled());
+        totals.put("completed", completed);
+        totals.put("errors", result.stats().values().stream().mapToLong(EndpointStats::errors).sum());
+        totals.put("dropped", result.stats().values().stream().mapToLong(EndpointStats::dropped).sum());
+        totals.put("unfinished", result.unfinished());
+        totals.put("achievedRate", round(completed / seconds));
+        totals.put("generatorLagMaxMs", round(result.generatorLagNanos() / 1e6));
+        report.put("totals", totals);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        result.stats().forEach((endpoint, stats) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("completed", stats.completed());
+            entry.put("errors", stats.errors());
+            entry.put("dropped", stats.dropped());
+            entry.put("unavailable", stats.unavailable());
+            entry.put("outcomes", stats.outcomes());
+            entry.put("responseTimeMs", percentiles(stats.responseTime()));
+            entry.put("serviceTimeMs", percentiles(stats.serviceTime()));
+            endpoints.put(endpoint.key(), entry);
+        });
+        report.put("endpoints", endpoints);
+    }
+
+    public void write(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(path.toFile(), report);
+    }
+
+    // ==========console-table==========
+    public void print(PrintStream out) {
+        out.printf("%-8s %9s %7s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "completed", "errors", "dropped", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        result.stats().forEach((endpoint, stats) -> {
+            Histogram histogram = stats.responseTime();
+            out.printf("%-8s %9d %7d %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    endpoint.key(), stats.completed(), stats.errors(), stats.dropped() + stats.unavailable(),
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000d);
+        });
+        out.println(report.get("totals"));
+    }
+
+    private static Map<String, Object> mix(TrafficMix mix) {
+        Map<String, Object> weights = new LinkedHashMap<>();
+        mix.weights().forEach((endpoint, weight) -> weights.put(endpoint.key(), weight));
+        return weights;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            values.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                    round(millis(histogram, percentile)));
+        }
+        values.put("max", round(histogram.getMaxValue() / 1000d));
+        values.put("mean", round(histogram.getMean() / 1000d));
+        return values;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000d;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000d) / 1000d;
+    }
+}
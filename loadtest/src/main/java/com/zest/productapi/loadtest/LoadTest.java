@@ -0,0 +1,88 @@
+package com.zest.productapi.loadtest;
+
+// ==========file-context==========
+
+import com.zest.productapi.ProductApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+// java -jar loadtest/target/loadtest.jar --rate=200 --duration=60s [--db=postgres | --target=http://host:8080]
+public final class LoadTest {
+
+    // logins spread over a few users; each login rotates that user's refresh token
+    private static final int LOGIN_USERS = 10;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        ConfigurableApplicationContext app = null;
+        String target = options.target();
+        String adminEmail = options.adminEmail();
+        String adminPassword = options.adminPassword();
+        if (target == null) {
+            app = boot(options.db());
+            Environment environment = app.getEnvironment();
+            target = "http://localhost:" + environment.getProperty("local.server.port");
+            adminEmail = adminEmail != null ? adminEmail : environment.getProperty("app.bootstrap.admin-email");
+            adminPassword = adminPassword != null ? adminPassword : environment.getProperty("app.bootstrap.admin-password");
+        }
+
+        try {
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            Workload workload = new Workload(http, URI.create(target), options.timeout());
+            workload.prepare(adminEmail, adminPassword, options.seedProducts(), options.refreshSessions(),
+                    options.mix().includes(Endpoint.LOGIN) ? LOGIN_USERS : 0);
+            System.out.printf("load test run=%s target=%s products=%d rate=%.0f/s warmup=%ds duration=%ds%n",
+                    workload.runId(), target, workload.seededProducts(), options.rate(),
+                    options.warmup().toSeconds(), options.duration().toSeconds());
+
+            OpenModelDriver driver = new OpenModelDriver(http, options.mix(), options.rate(), options.maxInFlight(),
+                    options.timeout());
+            if (!options.warmup().isZero()) {
+                driver.run(workload, options.warmup(), options.randomSeed() - 1);
+            }
+            OpenModelDriver.Result result = driver.run(workload, options.duration(), options.randomSeed());
+
+            LoadReport report = new LoadReport(options, target, options.target() == null ? options.db() : "external", result);
+            report.print(System.out);
+            report.write(options.report());
+            System.out.println("report written to " + options.report().toAbsolutePath());
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    // ==========in-process-application==========
+    // h2 uses the local profile; postgres uses the default profile and its DB_URL/DB_USERNAME/DB_PASSWORD
+    private static ConfigurableApplicationContext boot(String db) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ProductApiApplication.class)
+                .properties("spring.h2.console.enabled=false", "logging.level.root=WARN");
+        if (db.equals("h2")) {
+            builder.profiles("local");
+        }
+        // arguments, because application.yml would override a default property; every request carries the same
+        // admin token from one address, so the rate limiter would measure itself rather than the service
+        return builder.run("--server.port=0", "--app.rate-limit.enabled=false");
+    }
+}
@@ -0,0 +1,77 @@
+package com.zest.productapi.loadtest;
+
+// ==========file-context==========
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public record LoadTestOptions(
+        String target,
+        String db,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        Duration timeout,
+        TrafficMix mix,
+        int seedProducts,
+        int refreshSessions,
+        int maxInFlight,
+        long randomSeed,
+        String adminEmail,
+        String adminPassword,
+        String label,
+        Path report
+) {
+
+    private static final Set<String> KNOWN = Set.of(
+            "target", "db", "rate", "warmup", "duration", "timeout", "mix", "seed-products",
+            "refresh-sessions", "max-in-flight", "random-seed", "admin-email", "admin-password", "label", "report");
+
+    // --name=value arguments; see the Load Testing section of the README
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Invalid argument, expected --name=value: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            if (!KNOWN.contains(name)) {
+                throw new IllegalArgumentException("Invalid argument: " + name);
+            }
+            values.put(name, arg.substring(separator + 1));
+        }
+
+        String db = values.getOrDefault("db", "h2");
+        if (!db.equals("h2") && !db.equals("postgres")) {
+            throw new IllegalArgumentException("Invalid db: " + db + " (h2 or postgres)");
+        }
+        double rate = Double.parseDouble(values.getOrDefault("rate", "100"));
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Invalid rate: " + rate);
+        }
+
+        return new LoadTestOptions(
+                values.get("target"),
+                db,
+                rate,
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "15s")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+                DurationStyle.detectAndParse(values.getOrDefault("timeout", "10s")),
+                TrafficMix.parse(values.getOrDefault("mix", TrafficMix.DEFAULT)),
+                Integer.parseInt(values.getOrDefault("seed-products", "500")),
+                Integer.parseInt(values.getOrDefault("refresh-sessions", "50")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "2000")),
+                Long.parseLong(values.getOrDefault("random-seed", "42")),
+                values.get("admin-email"),
+                values.get("admin-password"),
+                values.getOrDefault("label", "local"),
+                Path.of(values.getOrDefault("report", "target/loadtest-report.json"))
+        );
+    }
+}
@@ -0,0 +1,109 @@
+package com.zest.productapi.loadtest;
+
+// ==========file-context==========
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Open model: arrivals follow a fixed schedule whether or not earlier requests have returned.
+// A closed loop of N clients stops sending while the server is slow and under-reports the tail.
+public final class OpenModelDriver {
+
+    private final HttpClient http;
+    private final TrafficMix mix;
+    private final double rate;
+    private final int maxInFlight;
+    private final Duration drainTimeout;
+
+    public OpenModelDriver(HttpClient http, TrafficMix mix, double rate, int maxInFlight, Duration drainTimeout) {
+        this.http = http;
+        this.mix = mix;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+        this.drainTimeout = drainTimeout;
+    }
+
+    public Result run(Workload workload, Duration duration, long randomSeed) {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        mix.weights().keySet().forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        AtomicInteger inFlight = new AtomicInteger();
+        long intervalNanos = Math.max(1, Math.round(1_000_000_000d / rate));
+        long maxLagNanos = 0;
+        long scheduled = 0;
+
+        // ==========arrival-loop==========
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long intended = start; intended < end; intended += intervalNanos) {
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            scheduled++;
+            Endpoint endpoint = mix.pick(random);
+            EndpointStats endpointStats = stats.get(endpoint);
+            HttpRequest request = workload.request(endpoint, random);
+            if (request == null) {
+                endpointStats.markUnavailable();
+                continue;
+            }
+            if (inFlight.get() >= maxInFlight) {
+                // the server is not keeping up; counting it keeps the client from growing without bound
+                endpointStats.markDropped();
+                continue;
+            }
+
+            long sent = System.nanoTime();
+            maxLagNanos = Math.max(maxLagNanos, sent - intended);
+            long intendedStart = intended;
+            inFlight.incrementAndGet();
+            http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+                long completed = System.nanoTime();
+                try {
+                    if (failure == null) {
+                        int status = response.statusCode();
+                        endpointStats.record(intendedStart, sent, completed, String.valueOf(status), status >= 400);
+                        workload.onResponse(endpoint, response);
+                    } else {
+                        endpointStats.record(intendedStart, sent, completed, failureName(failure), true);
+                    }
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // ==========drain==========
+        long drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        }
+        return new Result(stats, scheduled, elapsed, maxLagNanos, inFlight.get());
+    }
+
+    private static String failureName(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof HttpTimeoutException ? "timeout" : cause.getClass().getSimpleName();
+    }
+
+    // generatorLag is how late the scheduler itself sent; if it is large the client machine is the bottleneck
+    public record Result(
+            Map<Endpoint, EndpointStats> stats,
+            long scheduled,
+            long elapsedNanos,
+            long generatorLagNanos,
+            int unfinished
+    ) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.zest.productapi.loadtest;
+
+// ==========file-context==========
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+public final class TrafficMix {
+
+    public static final String DEFAULT = "list:30,search:15,get:30,items:10,create:5,update:5,refresh:5";
+
+    private final Map<Endpoint, Integer> weights;
+    private final Endpoint[] endpoints;
+    private final int[] cumulative;
+    private final int total;
+
+    private TrafficMix(Map<Endpoint, Integer> weights) {
+        this.weights = Collections.unmodifiableMap(weights);
+        this.endpoints = weights.keySet().toArray(new Endpoint[0]);
+        this.cumulative = new int[endpoints.length];
+        int sum = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            sum += weights.get(endpoints[i]);
+            cumulative[i] = sum;
+        }
+        this.total = sum;
+    }
+
+    // "list:30,get:30,create:5": relative weights, endpoints left out get no traffic
+    public static TrafficMix parse(String value) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Invalid mix weight: " + part);
+            }
+            if (weight > 0) {
+                weights.put(Endpoint.from(pair[0]), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Invalid mix: no endpoint has a weight");
+        }
+        return new TrafficMix(weights);
+    }
+
+    public Endpoint pick(SplittableRandom random) {
+        int ticket = random.nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (ticket < cumulative[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    public boolean includes(Endpoint endpoint) {
+        return weights.containsKey(endpoint);
+    }
+
+    public Map<Endpoint, Integer> weights() {
+        return weights;
+    }
+}
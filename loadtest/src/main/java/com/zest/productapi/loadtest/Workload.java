@@ -0,0 +1,198 @@
+package com.zest.productapi.loadtest;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Seeds its own products and refresh sessions, then builds one request per arrival.
+// Names carry a run id so repeated runs against the same Postgres database do not collide.
+public final class Workload {
+
+    private static final String[] ADJECTIVES = {"Red", "Steel", "Compact", "Smart", "Classic", "Heavy", "Mini", "Pro"};
+    private static final String[] NOUNS = {"Widget", "Gadget", "Bracket", "Sensor", "Valve", "Cable", "Panel", "Filter"};
+    private static final String[] SORTS = {"id", "productName", "modifiedOn"};
+    private static final String USER_PASSWORD = "Loadtest@123";
+
+    private final HttpClient http;
+    private final URI baseUri;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String runId = HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextInt());
+    private final List<Long> productIds = new ArrayList<>();
+    private final Queue<String> refreshTokens = new ConcurrentLinkedQueue<>();
+    private final List<String> loginEmails = new ArrayList<>();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private String accessToken;
+
+    public Workload(HttpClient http, URI baseUri, Duration timeout) {
+        this.http = http;
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+    }
+
+    // ==========setup==========
+    public void prepare(String adminEmail, String adminPassword, int seedProducts, int refreshSessions, int loginUsers)
+            throws IOException, InterruptedException {
+        ObjectNode login = objectMapper.createObjectNode()
+                .put("email", adminEmail)
+                .put("password", adminPassword);
+        accessToken = data(send(post("/api/v1/auth/login", login, false))).path("accessToken").asText();
+
+        // one import request gives every product three items, so the items endpoint has rows to return
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < seedProducts; i++) {
+            ObjectNode row = objectMapper.createObjectNode()
+                    .put("productName", productName(i))
+                    .put("createdBy", "loadtest");
+            row.putArray("itemQuantities").add(1 + i % 5).add(10).add(100);
+            ndjson.append(objectMapper.writeValueAsString(row)).append('\n');
+        }
+        send(authorized("/api/v1/products/import?format=ndjson")
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString()))
+                .build());
+
+        for (int page = 0; productIds.size() < seedProducts; page++) {
+            JsonNode content = data(send(authorized("/api/v1/products?size=100&sortBy=id&sortDir=desc&totals=none&page=" + page)
+                    .GET().build())).path("content");
+            if (content.isEmpty()) {
+                break;
+            }
+            for (JsonNode product : content) {
+                if (productIds.size() < seedProducts) {
+                    productIds.add(product.path("id").asLong());
+                }
+            }
+        }
+        if (productIds.isEmpty()) {
+            throw new IllegalStateException("Seeding produced no products");
+        }
+
+        // refresh tokens rotate and there is one per user, so every concurrent refresh needs its own user
+        for (int i = 0; i < refreshSessions; i++) {
+            ObjectNode register = objectMapper.createObjectNode()
+                    .put("fullName", "Load Test " + i)
+                    .put("email", "loadtest-" + runId + "-" + i + "@loadtest.local")
+                    .put("password", USER_PASSWORD);
+            refreshTokens.add(data(send(post("/api/v1/auth/register", register, false))).path("refreshToken").asText());
+        }
+
+        // logging in rotates the user's refresh token, so logins use their own users and leave the sessions alone
+        for (int i = 0; i < loginUsers; i++) {
+            String email = "loadtest-" + runId + "-login-" + i + "@loadtest.local";
+            send(post("/api/v1/auth/register", objectMapper.createObjectNode()
+                    .put("fullName", "Load Test Login " + i)
+                    .put("email", email)
+                    .put("password", USER_PASSWORD), false));
+            loginEmails.add(email);
+        }
+    }
+
+    // ==========per-arrival-request==========
+    // called only from the driver's scheduling thread, so the random sequence is reproducible
+    public HttpRequest request(Endpoint endpoint, SplittableRandom random) {
+        return switch (endpoint) {
+            case LIST -> authorized("/api/v1/products?size=20&page=" + random.nextInt(10)
+                    + "&sortBy=" + SORTS[random.nextInt(SORTS.length)]).GET().build();
+            case SEARCH -> authorized("/api/v1/products?size=20&name=" + NOUNS[random.nextInt(NOUNS.length)])
+                    .GET().build();
+            case GET -> authorized("/api/v1/products/" + randomProduct(random)).GET().build();
+            case ITEMS -> authorized("/api/v1/products/" + randomProduct(random) + "/items").GET().build();
+            case CREATE -> post("/api/v1/products", objectMapper.createObjectNode()
+                    .put("productName", "Loadtest " + runId + " created " + created.incrementAndGet())
+                    .put("createdBy", "loadtest"), true);
+            case UPDATE -> {
+                long id = randomProduct(random);
+                ObjectNode body = objectMapper.createObjectNode()
+                        .put("productName", "Loadtest " + runId + " updated " + id + "-" + updated.incrementAndGet())
+                        .put("modifiedBy", "loadtest");
+                yield authorized("/api/v1/products/" + id)
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(body.toString()))
+                        .build();
+            }
+            case REFRESH -> {
+                String refreshToken = refreshTokens.poll();
+                yield refreshToken == null ? null
+                        : post("/api/v1/auth/refresh", objectMapper.createObjectNode().put("refreshToken", refreshToken), false);
+            }
+            case LOGIN -> post("/api/v1/auth/login", objectMapper.createObjectNode()
+                    .put("email", loginEmails.get(random.nextInt(loginEmails.size())))
+                    .put("password", USER_PASSWORD), false);
+        };
+    }
+
+    // a session whose refresh failed is dropped; the report shows it as "unavailable" once the pool runs dry
+    public void onResponse(Endpoint endpoint, HttpResponse<String> response) {
+        if (endpoint == Endpoint.REFRESH && response.statusCode() == 200) {
+            try {
+                refreshTokens.add(data(response).path("refreshToken").asText());
+            } catch (IOException ex) {
+                // malformed body: the session is lost, the status is already recorded
+            }
+        }
+    }
+
+    public String runId() {
+        return runId;
+    }
+
+    public int seededProducts() {
+        return productIds.size();
+    }
+
+    private long randomProduct(SplittableRandom random) {
+        return productIds.get(random.nextInt(productIds.size()));
+    }
+
+    private String productName(int index) {
+        return ADJECTIVES[index % ADJECTIVES.length] + " " + NOUNS[(index / ADJECTIVES.length) % NOUNS.length]
+                + " " + runId + "-" + index;
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(timeout)
+                .header("Authorization", "Bearer " + accessToken);
+    }
+
+    private HttpRequest post(String path, JsonNode body, boolean authenticated) {
+        HttpRequest.Builder builder = authenticated
+                ? authorized(path)
+                : HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout);
+        return builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Setup request " + request.method() + " " + request.uri()
+                    + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    private JsonNode data(HttpResponse<String> response) throws IOException {
+        return objectMapper.readTree(response.body()).path("data");
+    }
+}
@@ -0,0 +1,91 @@
+package com.zest.productapi.audit;
+
+// ==========file-context==========
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@Component
+public class AuditDispatcher {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AuditEventWriter auditEventWriter;
+    private final AuditOverflowStore overflowStore;
+    private final AuditOverflowPolicy policy;
+    private final long blockTimeoutNanos;
+    private final Counter published;
+    private final Counter overflowed;
+    private final Counter rejected;
+    private final Timer blockWait;
+
+    public AuditDispatcher(AuditEventWriter auditEventWriter,
+                           AuditOverflowStore overflowStore,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.audit.overflow-policy:drop}") String policy,
+                           @Value("${app.audit.block-timeout:50ms}") Duration blockTimeout) {
+        this.auditEventWriter = auditEventWriter;
+        this.overflowStore = overflowStore;
+        this.policy = AuditOverflowPolicy.from(policy);
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+
+        // ==========dispatch-metrics==========
+        String policyTag = this.policy.tagValue();
+        this.published = Counter.builder("audit.events.published")
+                .description("Events accepted straight into the ring buffer")
+                .register(meterRegistry);
+        this.overflowed = Counter.builder("audit.events.overflowed")
+                .description("Events accepted by the overflow policy after the buffer was full")
+                .tag("policy", policyTag)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("audit.events.rejected")
+                .description("Events dropped because the buffer was full and the overflow policy refused them")
+                .tag("policy", policyTag)
+                .register(meterRegistry);
+        this.blockWait = Timer.builder("audit.dispatch.wait")
+                .description("Time callers spent waiting for buffer space under the block policy")
+                .register(meterRegistry);
+    }
+
+    public AuditOverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    public boolean dispatch(ProductAuditEvent event) {
+        // ==========fast-path-single-cas==========
+        if (auditEventWriter.offer(event)) {
+            published.increment();
+            return true;
+        }
+
+        // ==========overflow-policy==========
+        // nothing here throws, so a burst can never fail the caller's transaction
+        boolean accepted = switch (policy) {
+            case DROP -> false;
+            case COALESCE -> overflowStore.coalesce(event);
+            case SPILL -> overflowStore.spill(event);
+            case BLOCK -> offerUntilDeadline(event);
+        };
+        (accepted ? overflowed : rejected).increment();
+        return accepted;
+    }
+
+    private boolean offerUntilDeadline(ProductAuditEvent event) {
+        long started = System.nanoTime();
+        long deadline = started + blockTimeoutNanos;
+        boolean offered = false;
+        while (!offered && System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            offered = auditEventWriter.offer(event);
+        }
+        blockWait.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return offered;
+    }
+}
@@ -0,0 +1,193 @@
+package com.zest.productapi.audit;
+
+// ==========file-context==========
+
+import com.zest.productapi.config.BackgroundThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@Component
+public class AuditEventWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditEventWriter.class);
+    private static final String INSERT_SQL =
+            "insert into audit_event (action, product_id, actor, occurred_on) values (?, ?, ?, ?)";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AuditRingBuffer ringBuffer;
+    private final AuditOverflowStore overflowStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final BackgroundThreads backgroundThreads;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Counter written;
+    private final Counter writeFailures;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+    private final Timer queueTime;
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private Thread writerThread;
+
+    public AuditEventWriter(AuditOverflowStore overflowStore,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            BackgroundThreads backgroundThreads,
+                            @Value("${app.audit.buffer-capacity:65536}") int bufferCapacity,
+                            @Value("${app.audit.batch-size:1000}") int batchSize,
+                            @Value("${app.audit.flush-interval:200ms}") Duration flushInterval) {
+        this.ringBuffer = new AuditRingBuffer(bufferCapacity);
+        this.overflowStore = overflowStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.backgroundThreads = backgroundThreads;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+
+        // ==========pipeline-metrics==========
+        this.written = Counter.builder("audit.events.written").register(meterRegistry);
+        this.writeFailures = Counter.builder("audit.events.write.failures")
+                .description("Events lost after every insert attempt failed and the spill file refused them")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.flush").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("audit.flush.batch.size").register(meterRegistry);
+        this.queueTime = Timer.builder("audit.event.queue.time")
+                .description("Time from an event being raised to its batch committing")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.size", ringBuffer, AuditRingBuffer::size).register(meterRegistry);
+        Gauge.builder("audit.buffer.capacity", ringBuffer, AuditRingBuffer::capacity).register(meterRegistry);
+    }
+
+    public boolean offer(ProductAuditEvent event) {
+        // never blocks the caller; a full buffer is reported back to the dispatcher instead, and so is a writer
+        // that has stopped, since nothing would drain the buffer again
+        return !stopped && ringBuffer.offer(event);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = backgroundThreads.newThread("audit-writer", this::drainLoop);
+        writerThread.start();
+    }
+
+    @Override
+    public int getPhase() {
+        // ==========stop-after-the-web-server==========
+        // below graceful shutdown and the server itself, so requests still finishing at shutdown are drained
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        // ==========group-commit-on-size-or-age==========
+        List<ProductAuditEvent> batch = new ArrayList<>(batchSize);
+        long batchStarted = 0;
+        while (running || ringBuffer.size() > 0 || overflowStore.coalescedCount() > 0) {
+            boolean wasEmpty = batch.isEmpty();
+            int drained = ringBuffer.drainTo(batch, batchSize - batch.size());
+            // overflow only fills what the live buffer left over; spilled events stay on disk across a shutdown
+            drained += overflowStore.drainCoalesced(batch, batchSize - batch.size());
+            if (running) {
+                drained += overflowStore.replaySpilled(batch, batchSize - batch.size());
+            }
+            if (wasEmpty && !batch.isEmpty()) {
+                batchStarted = System.nanoTime();
+            }
+
+            boolean due = !batch.isEmpty() && (batch.size() >= batchSize
+                    || System.nanoTime() - batchStarted >= flushIntervalNanos
+                    || !running);
+            if (due) {
+                flush(batch);
+                batch.clear();
+            } else if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            if (batch.isEmpty()) {
+                // every replayed event is now in the table or back in the spill file
+                overflowStore.commitReplay();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+        overflowStore.commitReplay();
+    }
+
+    private void flush(List<ProductAuditEvent> batch) {
+        long started = System.nanoTime();
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(),
+                        (statement, event) -> {
+                            statement.setString(1, event.action());
+                            statement.setObject(2, event.productId(), Types.BIGINT);
+                            statement.setString(3, event.actor());
+                            statement.setObject(4, event.occurredOn().atOffset(ZoneOffset.UTC));
+                        }));
+                written.increment(batch.size());
+                batchSizes.record(batch.size());
+                long committedAt = System.currentTimeMillis();
+                for (ProductAuditEvent event : batch) {
+                    queueTime.record(committedAt - event.occurredOn().toEpochMilli(), TimeUnit.MILLISECONDS);
+                }
+                flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("audit flush of {} events failed (attempt {}/{}): {}", batch.size(), attempt, MAX_ATTEMPTS, ex.getMessage());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100L * attempt));
+            }
+        }
+
+        // ==========spill-what-the-database-refused==========
+        // the spill file is replayed once inserts work again, so a short outage delays events instead of losing them
+        int lost = 0;
+        for (ProductAuditEvent event : batch) {
+            if (!overflowStore.spill(event)) {
+                lost++;
+            }
+        }
+        log.warn("audit flush gave up, spilled {} of {} events to disk", batch.size() - lost, batch.size());
+        writeFailures.increment(lost);
+    }
+}
@@ -0,0 +1,26 @@
+package com.zest.productapi.audit;
+
+// ==========file-context==========
+
+import java.util.Locale;
+
+public enum AuditOverflowPolicy {
+    DROP,
+    COALESCE,
+    SPILL,
+    BLOCK;
+
+    public String tagValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static AuditOverflowPolicy from(String policy) {
+        return switch (policy.trim().toLowerCase(Locale.ROOT)) {
+            case "drop" -> DROP;
+            case "coalesce" -> COALESCE;
+            case "spill" -> SPILL;
+            case "block" -> BLOCK;
+            default -> throw new IllegalArgumentException("Invalid audit overflow policy: " + policy);
+        };
+    }
+}
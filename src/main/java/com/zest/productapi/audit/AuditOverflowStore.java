@@ -0,0 +1,261 @@
+package com.zest.productapi.audit;
+
+// ==========file-context==========
+
+import com.zest.productapi.util.CsvUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class AuditOverflowStore implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditOverflowStore.class);
+
+    private final int maxCoalescedKeys;
+    private final Path spillFile;
+    private final Path replayFile;
+    private final long maxSpillBytes;
+    private final Map<CoalesceKey, ProductAuditEvent> coalesced = new ConcurrentHashMap<>();
+    private final AtomicLong spilledBytes = new AtomicLong();
+    private final Counter merged;
+
+    // appends come from request threads, the rename from the writer thread
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private Writer spillWriter;
+
+    // only touched by the writer thread
+    private BufferedReader replayReader;
+    private long replayBytes;
+    private boolean replayExhausted;
+
+    public AuditOverflowStore(MeterRegistry meterRegistry,
+                              @Value("${app.audit.coalesce-max-keys:10000}") int maxCoalescedKeys,
+                              @Value("${app.audit.spill-dir:${java.io.tmpdir}/product-api-audit}") Path spillDir,
+                              @Value("${app.audit.spill-max-size:256MB}") DataSize maxSpillSize) throws IOException {
+        this.maxCoalescedKeys = maxCoalescedKeys;
+        this.spillFile = spillDir.resolve("audit-spill.csv");
+        this.replayFile = spillDir.resolve("audit-spill.replay.csv");
+        this.maxSpillBytes = maxSpillSize.toBytes();
+
+        // ==========pick-up-spill-from-previous-run==========
+        for (Path file : List.of(spillFile, replayFile)) {
+            if (Files.exists(file)) {
+                spilledBytes.addAndGet(Files.size(file));
+            }
+        }
+
+        this.merged = Counter.builder("audit.events.coalesced")
+                .description("Overflow events merged into a pending event for the same product and action")
+                .register(meterRegistry);
+        Gauge.builder("audit.overflow.coalesced.size", coalesced, Map::size).register(meterRegistry);
+        Gauge.builder("audit.spill.bytes", spilledBytes, AtomicLong::get).register(meterRegistry);
+    }
+
+    public boolean coalesce(ProductAuditEvent event) {
+        // ==========latest-event-per-key==========
+        // the bound is approximate under contention, which is fine for a memory cap
+        CoalesceKey key = new CoalesceKey(event.action(), event.productId());
+        if (coalesced.size() >= maxCoalescedKeys && !coalesced.containsKey(key)) {
+            return false;
+        }
+        if (coalesced.put(key, event) != null) {
+            merged.increment();
+        }
+        return true;
+    }
+
+    public boolean spill(ProductAuditEvent event) {
+        String line = CsvUtil.row(event.action(), event.productId(), event.actor(), event.occurredOn());
+        int length = line.getBytes(StandardCharsets.UTF_8).length;
+        spillLock.lock();
+        try {
+            if (spilledBytes.get() + length > maxSpillBytes) {
+                return false;
+            }
+            if (spillWriter == null) {
+                Files.createDirectories(spillFile.getParent());
+                spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            // flushed per event so a crashed process still leaves it with the OS
+            spillWriter.write(line);
+            spillWriter.flush();
+            spilledBytes.addAndGet(length);
+            return true;
+        } catch (IOException ex) {
+            log.warn("audit spill to {} failed: {}", spillFile, ex.getMessage());
+            return false;
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    public boolean hasPending() {
+        return !coalesced.isEmpty() || spilledBytes.get() > 0;
+    }
+
+    public int coalescedCount() {
+        return coalesced.size();
+    }
+
+    public long spilledBytes() {
+        return spilledBytes.get();
+    }
+
+    public int drainCoalesced(List<ProductAuditEvent> target, int max) {
+        int drained = 0;
+        Iterator<Map.Entry<CoalesceKey, ProductAuditEvent>> entries = coalesced.entrySet().iterator();
+        while (drained < max && entries.hasNext()) {
+            Map.Entry<CoalesceKey, ProductAuditEvent> entry = entries.next();
+            // a newer event for the same key stays queued for the next drain
+            if (coalesced.remove(entry.getKey(), entry.getValue())) {
+                target.add(entry.getValue());
+                drained++;
+            }
+        }
+        return drained;
+    }
+
+    public int replaySpilled(List<ProductAuditEvent> target, int max) {
+        // a file read to the end waits for commitReplay before the next one is opened
+        if (max <= 0 || replayExhausted || spilledBytes.get() == 0) {
+            return 0;
+        }
+        try {
+            if (replayReader == null && !openReplay()) {
+                return 0;
+            }
+
+            // ==========read-back-in-spill-order==========
+            int read = 0;
+            while (read < max) {
+                List<String> record = readRecord();
+                if (record == null) {
+                    closeReplay();
+                    replayExhausted = true;
+                    break;
+                }
+                try {
+                    target.add(new ProductAuditEvent(record.get(0),
+                            record.get(1).isEmpty() ? null : Long.valueOf(record.get(1)),
+                            record.get(2),
+                            Instant.parse(record.get(3))));
+                    read++;
+                } catch (RuntimeException ex) {
+                    log.warn("skipping malformed audit spill record {}: {}", record, ex.getMessage());
+                }
+            }
+            return read;
+        } catch (IOException ex) {
+            log.warn("audit spill replay from {} failed, file kept for the next attempt: {}", replayFile, ex.getMessage());
+            closeReplay();
+            return 0;
+        }
+    }
+
+    public void commitReplay() {
+        // ==========delete-only-after-the-flush==========
+        // called by the writer once everything it read has been written, so a failed flush or a crash before
+        // it replays the file again; events can then be written twice, but never lost
+        if (!replayExhausted) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(replayFile);
+            spilledBytes.addAndGet(-replayBytes);
+            replayBytes = 0;
+            replayExhausted = false;
+        } catch (IOException ex) {
+            log.warn("deleting replayed audit spill file {} failed, retrying after the next flush: {}", replayFile, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        spillLock.lock();
+        try {
+            closeSpillWriter();
+        } finally {
+            spillLock.unlock();
+        }
+        closeReplay();
+    }
+
+    private boolean openReplay() throws IOException {
+        // ==========rotate-active-spill-file==========
+        // a replay file left by a previous run goes first; otherwise new appends start a fresh spill file
+        if (!Files.exists(replayFile)) {
+            spillLock.lock();
+            try {
+                closeSpillWriter();
+                if (!Files.exists(spillFile)) {
+                    return false;
+                }
+                Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                spillLock.unlock();
+            }
+        }
+        replayBytes = Files.size(replayFile);
+        replayReader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8);
+        return true;
+    }
+
+    private List<String> readRecord() throws IOException {
+        try {
+            return CsvUtil.readRecord(replayReader);
+        } catch (IllegalArgumentException ex) {
+            // an unterminated last record is a line cut off by a crash mid-append
+            log.warn("audit spill file {} ends in a partial record, ignoring it", replayFile);
+            return null;
+        }
+    }
+
+    private void closeReplay() {
+        if (replayReader != null) {
+            try {
+                replayReader.close();
+            } catch (IOException ignored) {
+                // nothing left to release
+            }
+            replayReader = null;
+        }
+    }
+
+    private void closeSpillWriter() {
+        if (spillWriter != null) {
+            try {
+                spillWriter.close();
+            } catch (IOException ex) {
+                log.warn("closing audit spill file {} failed: {}", spillFile, ex.getMessage());
+            }
+            spillWriter = null;
+        }
+    }
+
+    private record CoalesceKey(String action, Long productId) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.zest.productapi.audit;
+
+// ==========file-context==========
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+@Component
+public class AuditRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditRetentionJob.class);
+    private static final String DELETE_EXPIRED_SQL = "delete from audit_event where id in "
+            + "(select id from audit_event where occurred_on < ? order by id limit ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration retention;
+    private final int batchSize;
+
+    public AuditRetentionJob(JdbcTemplate jdbcTemplate,
+                             @Value("${app.audit.retention:90d}") Duration retention,
+                             @Value("${app.audit.retention-batch-size:10000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.retention-check-interval-ms:3600000}",
+            initialDelayString = "${app.audit.retention-check-interval-ms:3600000}")
+    public void purgeExpired() {
+        purgeOlderThan(Instant.now().minus(retention));
+    }
+
+    public long purgeOlderThan(Instant cutoff) {
+        // ==========bounded-delete-batches==========
+        // small batches keep each statement's locks and undo short on a large table
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(DELETE_EXPIRED_SQL, cutoff.atOffset(ZoneOffset.UTC), batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0) {
+            log.info("audit retention removed={} cutoff={}", total, cutoff);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,68 @@
+package com.zest.productapi.audit;
+
+// ==========file-context==========
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class AuditRingBuffer {
+
+    private final AtomicReferenceArray<ProductAuditEvent> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    public AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Audit buffer capacity must be a power of two");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public boolean offer(ProductAuditEvent event) {
+        // ==========claim-a-slot-with-cas==========
+        // many producers race on tail; the loser retries, nobody blocks
+        long claimed;
+        do {
+            claimed = tail.get();
+            if (claimed - head.get() >= slots.length()) {
+                return false;
+            }
+        } while (!tail.compareAndSet(claimed, claimed + 1));
+
+        // the slot becomes visible to the consumer only once it is non-null
+        slots.lazySet((int) (claimed & mask), event);
+        return true;
+    }
+
+    public int drainTo(List<ProductAuditEvent> target, int max) {
+        // ==========single-consumer-drain==========
+        // only the writer thread calls this, so head needs no CAS
+        long position = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            ProductAuditEvent event = slots.get(index);
+            if (event == null) {
+                // either empty or a producer claimed the slot but has not stored into it yet
+                break;
+            }
+            target.add(event);
+            slots.lazySet(index, null);
+            position++;
+            drained++;
+        }
+        head.lazySet(position);
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+}
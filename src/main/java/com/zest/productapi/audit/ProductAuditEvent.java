@@ -0,0 +1,16 @@
+package com.zest.productapi.audit;
+
+// ==========file-context==========
+
+import java.time.Instant;
+
+public record ProductAuditEvent(
+        String action,
+        Long productId,
+        String actor,
+        Instant occurredOn
+) {
+    public ProductAuditEvent(String action, Long productId, String actor) {
+        this(action, productId, actor == null ? "system" : actor, Instant.now());
+    }
+}
@@ -0,0 +1,59 @@
+package com.zest.productapi.cache;
+
+// ==========file-context==========
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+public final class CacheLoads {
+
+    private CacheLoads() {
+    }
+
+    public static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        // ==========load-outside-the-map-lock==========
+        // Cache.get(key, loader) runs the loader inside ConcurrentHashMap.compute, which holds a monitor for the
+        // whole database call and pins a virtual thread's carrier; here the compute only installs a placeholder,
+        // the first caller loads on its own thread and concurrent callers wait on the future
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> cached = cache.get(key, (k, executor) -> loading);
+        return cached != loading ? join(cached) : load(loading, key, loader);
+    }
+
+    public static <K, V> V loadAfterMiss(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        // for a caller whose getIfPresent already counted the miss: the map view installs the placeholder
+        // without recording a second one
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> cached = cache.asMap().putIfAbsent(key, loading);
+        return cached != null ? join(cached) : load(loading, key, loader);
+    }
+
+    private static <K, V> V load(CompletableFuture<V> loading, K key, Function<? super K, ? extends V> loader) {
+        try {
+            V value = loader.apply(key);
+            // a null or failed result is dropped from the cache, so it is never served to later callers
+            loading.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            loading.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
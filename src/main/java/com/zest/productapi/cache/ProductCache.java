@@ -0,0 +1,58 @@
+package com.zest.productapi.cache;
+
+// ==========file-context==========
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zest.productapi.dto.ProductResponse;
+import com.zest.productapi.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+@Component
+public class ProductCache {
+
+    private final AsyncCache<Long, ProductResponse> cache;
+    private final Counter invalidations;
+
+    public ProductCache(@Value("${app.products.cache.max-size:10000}") long maxSize,
+                        @Value("${app.products.cache.ttl:5m}") Duration ttl,
+                        MeterRegistry meterRegistry) {
+        // ==========w-tinylfu-with-ttl==========
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", "products")
+                .description("Entries dropped because the product changed")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+    }
+
+    public ProductResponse getIfPresent(Long id) {
+        // counts the hit or miss; a load still running is a miss, so its callers go on to coalesce in front of it
+        CompletableFuture<ProductResponse> cached = cache.getIfPresent(id);
+        return cached != null && cached.isDone() && !cached.isCompletedExceptionally() ? cached.join() : null;
+    }
+
+    public ProductResponse load(Long id, Function<Long, ProductResponse> loader) {
+        // concurrent misses for the same id wait on a single load; a null result is not cached
+        return CacheLoads.loadAfterMiss(cache, id, loader);
+    }
+
+    public void evictAfterCommit(Long id) {
+        TransactionHooks.afterCommit(() -> {
+            cache.synchronous().invalidate(id);
+            invalidations.increment();
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package com.zest.productapi.cache;
+
+// ==========file-context==========
+
+import com.zest.productapi.dto.CursorPageResponse;
+import com.zest.productapi.dto.PageResponse;
+import com.zest.productapi.dto.PageTotals;
+import com.zest.productapi.dto.ProductResponse;
+import com.zest.productapi.util.TransactionHooks;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Identical product reads that overlap in time run one query between them. Keys carry a generation that every
+// committed product write moves on, so a read that starts after a commit never joins a query started before it.
+@Component
+public class ProductReadFlights {
+
+    private final boolean enabled;
+    private final AtomicLong generation = new AtomicLong();
+    private final SingleFlight<IdKey, ProductResponse> products;
+    private final SingleFlight<PageKey, PageResponse<ProductResponse>> pages;
+    private final SingleFlight<CursorKey, CursorPageResponse<ProductResponse>> cursorPages;
+
+    public ProductReadFlights(@Value("${app.products.coalescing.enabled:true}") boolean enabled,
+                              @Value("${app.products.coalescing.max-wait:2s}") Duration maxWait,
+                              MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.products = new SingleFlight<>("product", maxWait, meterRegistry);
+        this.pages = new SingleFlight<>("product-page", maxWait, meterRegistry);
+        this.cursorPages = new SingleFlight<>("product-cursor-page", maxWait, meterRegistry);
+    }
+
+    public ProductResponse product(Long id, Supplier<ProductResponse> loader) {
+        return enabled ? products.execute(new IdKey(generation.get(), id), loader) : loader.get();
+    }
+
+    public PageResponse<ProductResponse> page(String name, Pageable pageable, PageTotals totals, boolean includeItems,
+                                              Supplier<PageResponse<ProductResponse>> loader) {
+        // ==========page-key==========
+        // PageRequest compares page, size and sort by value
+        return enabled
+                ? pages.execute(new PageKey(generation.get(), name, pageable, totals, includeItems), loader)
+                : loader.get();
+    }
+
+    public CursorPageResponse<ProductResponse> cursorPage(String name, String cursor, int size, String sortBy,
+                                                          Sort.Direction direction,
+                                                          Supplier<CursorPageResponse<ProductResponse>> loader) {
+        return enabled
+                ? cursorPages.execute(new CursorKey(generation.get(), name, cursor, size, sortBy, direction), loader)
+                : loader.get();
+    }
+
+    public void newGenerationAfterCommit() {
+        // reads already in flight still finish for their own callers; only new arrivals stop joining them
+        TransactionHooks.afterCommit(generation::incrementAndGet);
+    }
+
+    private record IdKey(long generation, Long id) {
+    }
+
+    private record PageKey(long generation, String name, Pageable pageable, PageTotals totals, boolean includeItems) {
+    }
+
+    private record CursorKey(long generation, String name, String cursor, int size, String sortBy,
+                             Sort.Direction direction) {
+    }
+}
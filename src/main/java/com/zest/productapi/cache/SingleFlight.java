@@ -0,0 +1,122 @@
+package com.zest.productapi.cache;
+
+// ==========file-context==========
+
+import com.zest.productapi.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Concurrent calls with equal keys share one run of the loader: the first caller runs it on its own thread, the
+// others wait up to max-wait for its value or its exception. Nothing is kept once the run ends, so unlike a cache
+// this never serves a result computed before the caller arrived.
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+    private final Duration retryAfter;
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter timeouts;
+    private final DistributionSummary sharedWith;
+
+    public SingleFlight(String name, Duration maxWait, MeterRegistry meterRegistry) {
+        this.maxWaitNanos = maxWait.toNanos();
+        this.retryAfter = Duration.ofSeconds(1);
+
+        // ==========dedup-metrics==========
+        this.leaders = Counter.builder("coalescing.calls")
+                .description("Reads that ran the query (leader) or took the result of an identical one in progress (follower)")
+                .tags("flight", name, "role", "leader")
+                .register(meterRegistry);
+        this.followers = Counter.builder("coalescing.calls")
+                .description("Reads that ran the query (leader) or took the result of an identical one in progress (follower)")
+                .tags("flight", name, "role", "follower")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("coalescing.timeouts")
+                .description("Followers that gave up after max-wait and got 503")
+                .tag("flight", name)
+                .register(meterRegistry);
+        this.sharedWith = DistributionSummary.builder("coalescing.followers")
+                .description("Followers served by one leader's query")
+                .tag("flight", name)
+                .register(meterRegistry);
+        Gauge.builder("coalescing.dedup.ratio", this, SingleFlight::dedupRatio)
+                .description("Share of reads since startup that did not run their own query")
+                .tag("flight", name)
+                .register(meterRegistry);
+        Gauge.builder("coalescing.in.flight", inFlight, ConcurrentHashMap::size)
+                .description("Distinct reads running right now")
+                .tag("flight", name)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        Flight<V> flight = new Flight<>();
+        Flight<V> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            return follow(running);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            // unregister first: a caller arriving from here on starts its own run and sees newer rows
+            inFlight.remove(key, flight);
+            flight.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(key, flight);
+            flight.result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            sharedWith.record(flight.followers.get());
+        }
+    }
+
+    private V follow(Flight<V> flight) {
+        flight.followers.incrementAndGet();
+        followers.increment();
+        try {
+            // ==========bounded-wait==========
+            return flight.result.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // the leader is stuck on the database; one more identical query would not come back sooner
+            timeouts.increment();
+            throw new ServiceUnavailableException("Timed out waiting for an identical read in progress, retry later", retryAfter);
+        } catch (ExecutionException ex) {
+            // the leader's own exception, so every waiter gets the same status the leader did
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Coalesced read failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted waiting for an identical read in progress", retryAfter);
+        }
+    }
+
+    private double dedupRatio() {
+        double shared = followers.count();
+        double total = shared + leaders.count();
+        return total == 0 ? 0 : shared / total;
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicInteger followers = new AtomicInteger();
+    }
+}
@@ -0,0 +1,324 @@
+package com.zest.productapi.changes;
+
+// ==========file-context==========
+
+import com.zest.productapi.config.BackgroundThreads;
+import com.zest.productapi.dto.ProductChangeResponse;
+import com.zest.productapi.dto.ProductChangesResponse;
+import com.zest.productapi.exception.CursorExpiredException;
+import com.zest.productapi.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+@Component
+public class ProductChangeFeed implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductChangeFeed.class);
+    private static final Pattern CURSOR = Pattern.compile("\\d{1,18}");
+    private static final String CHANGES_SQL = "select seq, product_id, change_type, payload, changed_at "
+            + "from product_change where seq > ? order by seq limit ?";
+    private static final String CURSOR_SQL = "select last_seq, purged_through_seq from product_change_cursor where id = 1";
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final int STREAM_BATCHES_PER_ROUND = 10;
+    private static final RowMapper<ProductChangeResponse> ROW_MAPPER = (rs, rowNum) -> new ProductChangeResponse(
+            rs.getLong("seq"),
+            rs.getString("change_type"),
+            rs.getLong("product_id"),
+            rs.getString("payload"),
+            rs.getObject("changed_at", OffsetDateTime.class).toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BackgroundThreads backgroundThreads;
+    private final long pollIntervalNanos;
+    private final long heartbeatIntervalNanos;
+    private final Duration streamTimeout;
+    private final int maxListeners;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final Queue<Subscriber> subscribers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger listeners = new AtomicInteger();
+    private final AtomicBoolean signalled = new AtomicBoolean();
+
+    private volatile boolean running;
+    private Thread feedThread;
+
+    public ProductChangeFeed(JdbcTemplate jdbcTemplate,
+                             MeterRegistry meterRegistry,
+                             BackgroundThreads backgroundThreads,
+                             @Value("${app.products.changes.poll-interval:500ms}") Duration pollInterval,
+                             @Value("${app.products.changes.heartbeat-interval:15s}") Duration heartbeatInterval,
+                             @Value("${app.products.changes.stream-timeout:5m}") Duration streamTimeout,
+                             @Value("${app.products.changes.max-listeners:1000}") int maxListeners) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.backgroundThreads = backgroundThreads;
+        this.pollIntervalNanos = pollInterval.toNanos();
+        this.heartbeatIntervalNanos = heartbeatInterval.toNanos();
+        this.streamTimeout = streamTimeout;
+        this.maxListeners = maxListeners;
+        Gauge.builder("product.changes.waiters", waiters, Queue::size).register(meterRegistry);
+        Gauge.builder("product.changes.subscribers", subscribers, Queue::size).register(meterRegistry);
+    }
+
+    public static long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        if (!CURSOR.matcher(cursor.trim()).matches()) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return Long.parseLong(cursor.trim());
+    }
+
+    public ProductChangesResponse read(long since, int limit) {
+        checkCursor(since);
+        return query(since, limit);
+    }
+
+    public CompletableFuture<ProductChangesResponse> await(long since, int limit, Duration wait) {
+        // ==========answer-now-when-possible==========
+        ProductChangesResponse current = read(since, limit);
+        if (!current.changes().isEmpty() || wait.isZero()) {
+            return CompletableFuture.completedFuture(current);
+        }
+
+        reserveListener();
+        Waiter waiter = new Waiter(since, limit, System.nanoTime() + wait.toNanos(), new CompletableFuture<>());
+        waiters.add(waiter);
+        waiter.result().whenComplete((result, ex) -> {
+            if (waiters.remove(waiter)) {
+                listeners.decrementAndGet();
+            }
+        });
+        // a change may have been sequenced between the read and the registration
+        signal();
+        return waiter.result();
+    }
+
+    public SseEmitter stream(long since) {
+        checkCursor(since);
+        reserveListener();
+
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, since);
+        Runnable release = () -> {
+            if (subscribers.remove(subscriber)) {
+                listeners.decrementAndGet();
+            }
+        };
+        emitter.onCompletion(release);
+        emitter.onTimeout(release);
+        emitter.onError(ex -> release.run());
+        subscribers.add(subscriber);
+        // the backlog is sent from the feed thread, not the request thread
+        signal();
+        return emitter;
+    }
+
+    public void onSequenced(long seq) {
+        signal();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        feedThread = backgroundThreads.newThread("change-feed", this::feedLoop);
+        feedThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(feedThread);
+        try {
+            feedThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        waiters.forEach(waiter -> waiter.result().complete(emptyResponse(waiter.since())));
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void signal() {
+        signalled.set(true);
+        LockSupport.unpark(feedThread);
+    }
+
+    private void feedLoop() {
+        long lastHeartbeat = System.nanoTime();
+        while (running) {
+            if (!signalled.getAndSet(false)) {
+                // other instances sequence changes too, so listeners are also served on a timer
+                LockSupport.parkNanos(pollIntervalNanos);
+                signalled.set(false);
+            }
+            if (waiters.isEmpty() && subscribers.isEmpty()) {
+                continue;
+            }
+            try {
+                dispatch();
+                if (System.nanoTime() - lastHeartbeat >= heartbeatIntervalNanos) {
+                    heartbeat();
+                    lastHeartbeat = System.nanoTime();
+                }
+            } catch (RuntimeException ex) {
+                log.warn("product change feed dispatch failed: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private void dispatch() {
+        long latest = readCursor()[0];
+        long now = System.nanoTime();
+        // ==========one-query-per-cursor-per-round==========
+        Map<Long, ProductChangesResponse> pages = new HashMap<>();
+
+        for (Waiter waiter : waiters) {
+            if (waiter.since() < latest) {
+                ProductChangesResponse page = pages.computeIfAbsent(waiter.since(), since -> query(since, waiter.limit()));
+                waiter.result().complete(trim(page, waiter.limit()));
+            } else if (now >= waiter.deadlineNanos()) {
+                waiter.result().complete(emptyResponse(waiter.since()));
+            }
+        }
+
+        boolean behind = false;
+        for (Iterator<Subscriber> it = subscribers.iterator(); it.hasNext(); ) {
+            Subscriber subscriber = it.next();
+            try {
+                // bounded per round so one far-behind subscriber cannot starve the others
+                for (int batch = 0; batch < STREAM_BATCHES_PER_ROUND && subscriber.cursor() < latest; batch++) {
+                    ProductChangesResponse page = pages.computeIfAbsent(subscriber.cursor(),
+                            since -> query(since, STREAM_BATCH_SIZE));
+                    for (ProductChangeResponse change : page.changes()) {
+                        subscriber.emitter().send(SseEmitter.event()
+                                .id(String.valueOf(change.seq()))
+                                .name("change")
+                                .data(change, MediaType.APPLICATION_JSON));
+                    }
+                    subscriber.setCursor(Long.parseLong(page.nextCursor()));
+                    if (!page.hasMore()) {
+                        break;
+                    }
+                }
+                behind |= subscriber.cursor() < latest;
+            } catch (IOException | IllegalStateException ex) {
+                subscriber.emitter().completeWithError(ex);
+            }
+        }
+        if (behind) {
+            signalled.set(true);
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.emitter().send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException ex) {
+                subscriber.emitter().completeWithError(ex);
+            }
+        }
+    }
+
+    private void checkCursor(long since) {
+        // ==========expired-cursors==========
+        // 0 is a full snapshot and always valid; older cursors may have missed purged tombstones
+        if (since == 0) {
+            return;
+        }
+        long[] cursor = readCursor();
+        if (since < cursor[1] || since > cursor[0]) {
+            throw new CursorExpiredException("Cursor " + since + " is no longer valid; restart the sync from cursor 0");
+        }
+    }
+
+    private long[] readCursor() {
+        List<long[]> rows = jdbcTemplate.query(CURSOR_SQL, (rs, rowNum) ->
+                new long[]{rs.getLong("last_seq"), rs.getLong("purged_through_seq")});
+        return rows.isEmpty() ? new long[]{0, 0} : rows.get(0);
+    }
+
+    private ProductChangesResponse query(long since, int limit) {
+        List<ProductChangeResponse> rows = jdbcTemplate.query(CHANGES_SQL, ROW_MAPPER, since, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<ProductChangeResponse> changes = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = String.valueOf(changes.isEmpty() ? since : changes.get(changes.size() - 1).seq());
+        return new ProductChangesResponse(List.copyOf(changes), nextCursor, hasMore);
+    }
+
+    private ProductChangesResponse trim(ProductChangesResponse page, int limit) {
+        // waiters at the same cursor share one query, which may have used a larger limit
+        if (page.changes().size() <= limit) {
+            return page;
+        }
+        List<ProductChangeResponse> changes = page.changes().subList(0, limit);
+        return new ProductChangesResponse(List.copyOf(changes), String.valueOf(changes.get(limit - 1).seq()), true);
+    }
+
+    private ProductChangesResponse emptyResponse(long since) {
+        return new ProductChangesResponse(List.of(), String.valueOf(since), false);
+    }
+
+    private void reserveListener() {
+        if (listeners.incrementAndGet() > maxListeners) {
+            listeners.decrementAndGet();
+            throw new ServiceUnavailableException("Too many change feed listeners, retry later");
+        }
+    }
+
+    private record Waiter(long since, int limit, long deadlineNanos, CompletableFuture<ProductChangesResponse> result) {
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private long cursor;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        long cursor() {
+            return cursor;
+        }
+
+        void setCursor(long cursor) {
+            this.cursor = cursor;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.zest.productapi.changes;
+
+// ==========file-context==========
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@Component
+public class ProductChangeRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductChangeRetentionJob.class);
+    private static final String LOCK_CURSOR_SQL = "select purged_through_seq from product_change_cursor where id = 1 for update";
+    private static final String EXPIRED_SQL = "select seq from product_change where change_type = 'DELETE' and changed_at < ? "
+            + "order by seq limit ?";
+    private static final String DELETE_SQL = "delete from product_change where seq = ?";
+    private static final String ADVANCE_PURGED_SQL = "update product_change_cursor set purged_through_seq = ? "
+            + "where id = 1 and purged_through_seq < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+
+    public ProductChangeRetentionJob(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.products.changes.tombstone-retention:30d}") Duration retention,
+                                     @Value("${app.products.changes.retention-batch-size:10000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.products.changes.retention-check-interval-ms:3600000}",
+            initialDelayString = "${app.products.changes.retention-check-interval-ms:3600000}")
+    public void purgeExpired() {
+        purgeTombstonesOlderThan(Instant.now().minus(retention));
+    }
+
+    public long purgeTombstonesOlderThan(Instant cutoff) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = purgeBatch(cutoff);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0) {
+            log.info("product change retention removed={} cutoff={}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int purgeBatch(Instant cutoff) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            // ==========purge-under-the-cursor-lock==========
+            // a client whose cursor is older than a purged tombstone would never see that delete,
+            // so the purge watermark moves in the same transaction and such cursors get 410
+            if (jdbcTemplate.queryForList(LOCK_CURSOR_SQL, Long.class).isEmpty()) {
+                return 0;
+            }
+            List<Long> expired = jdbcTemplate.queryForList(EXPIRED_SQL, Long.class, cutoff.atOffset(ZoneOffset.UTC), batchSize);
+            if (expired.isEmpty()) {
+                return 0;
+            }
+            jdbcTemplate.batchUpdate(DELETE_SQL, expired, expired.size(), (statement, seq) -> statement.setLong(1, seq));
+            long purgedThrough = expired.get(expired.size() - 1);
+            jdbcTemplate.update(ADVANCE_PURGED_SQL, purgedThrough, purgedThrough);
+            return expired.size();
+        });
+        return deleted == null ? 0 : deleted;
+    }
+}
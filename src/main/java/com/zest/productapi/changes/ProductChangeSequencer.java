@@ -0,0 +1,216 @@
+package com.zest.productapi.changes;
+
+// ==========file-context==========
+
+import com.zest.productapi.config.BackgroundThreads;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.productapi.entity.Product;
+import com.zest.productapi.mapper.ProductMapper;
+import com.zest.productapi.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class ProductChangeSequencer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductChangeSequencer.class);
+    private static final String INIT_CURSOR_SQL = "insert into product_change_cursor (id, last_seq, purged_through_seq) "
+            + "select 1, 0, 0 where not exists (select 1 from product_change_cursor where id = 1)";
+    private static final String LOCK_CURSOR_SQL = "select last_seq from product_change_cursor where id = 1 for update";
+    private static final String PENDING_SQL = "select id, product_id, change_type from product_change_pending order by id limit ?";
+    private static final String UPDATE_CHANGE_SQL = "update product_change set seq = ?, change_type = ?, payload = ?, changed_at = ? "
+            + "where product_id = ?";
+    private static final String INSERT_CHANGE_SQL = "insert into product_change (seq, change_type, payload, changed_at, product_id) "
+            + "values (?, ?, ?, ?, ?)";
+    private static final String DELETE_PENDING_SQL = "delete from product_change_pending where id = ?";
+    private static final String ADVANCE_CURSOR_SQL = "update product_change_cursor set last_seq = ? where id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BackgroundThreads backgroundThreads;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final ProductChangeFeed changeFeed;
+    private final int batchSize;
+    private final long pollIntervalNanos;
+    private final Counter sequenced;
+    private final Timer batchTimer;
+
+    private volatile boolean running;
+    private Thread sequencerThread;
+
+    public ProductChangeSequencer(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ProductRepository productRepository,
+                                  ProductMapper productMapper,
+                                  ObjectMapper objectMapper,
+                                  ProductChangeFeed changeFeed,
+                                  MeterRegistry meterRegistry,
+                                  BackgroundThreads backgroundThreads,
+                                  @Value("${app.products.changes.batch-size:500}") int batchSize,
+                                  @Value("${app.products.changes.poll-interval:500ms}") Duration pollInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.backgroundThreads = backgroundThreads;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.objectMapper = objectMapper;
+        this.changeFeed = changeFeed;
+        this.batchSize = batchSize;
+        this.pollIntervalNanos = pollInterval.toNanos();
+        this.sequenced = Counter.builder("product.changes.sequenced").register(meterRegistry);
+        this.batchTimer = Timer.builder("product.changes.sequence.batch").register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        initCursor();
+        running = true;
+        sequencerThread = backgroundThreads.newThread("change-sequencer", this::sequenceLoop);
+        sequencerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(sequencerThread);
+        try {
+            sequencerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void wakeUp() {
+        LockSupport.unpark(sequencerThread);
+    }
+
+    private void sequenceLoop() {
+        while (running) {
+            int processed;
+            try {
+                processed = sequenceBatch();
+            } catch (RuntimeException ex) {
+                log.warn("product change sequencing failed: {}", ex.getMessage());
+                processed = 0;
+            }
+            if (processed < batchSize && running) {
+                LockSupport.parkNanos(pollIntervalNanos);
+            }
+        }
+    }
+
+    int sequenceBatch() {
+        long started = System.nanoTime();
+        long[] lastSeq = new long[1];
+        Integer processed = transactionTemplate.execute(status -> {
+            // ==========single-sequencer-per-database==========
+            // the cursor row lock orders every instance's sequencing, so seq values become visible in order
+            List<Long> cursor = jdbcTemplate.queryForList(LOCK_CURSOR_SQL, Long.class);
+            if (cursor.isEmpty()) {
+                initCursor();
+                return 0;
+            }
+            List<PendingChange> pending = jdbcTemplate.query(PENDING_SQL, (rs, rowNum) -> new PendingChange(
+                    rs.getLong("id"), rs.getLong("product_id"), rs.getString("change_type")), batchSize);
+            if (pending.isEmpty()) {
+                return 0;
+            }
+
+            // ==========state-as-of-sequencing==========
+            // only committed rows are visible here, and each product's entry carries its current state;
+            // applying entries in seq order therefore converges even if writers committed out of id order
+            Map<Long, Boolean> created = new LinkedHashMap<>();
+            for (PendingChange change : pending) {
+                created.merge(change.productId(), "CREATE".equals(change.changeType()), Boolean::logicalOr);
+            }
+            Map<Long, Product> products = productRepository.findAllById(created.keySet())
+                    .stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+            long seq = cursor.get(0);
+            OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+            List<Object[]> rows = new ArrayList<>(created.size());
+            for (Map.Entry<Long, Boolean> entry : created.entrySet()) {
+                Product product = products.get(entry.getKey());
+                String type = product == null ? "DELETE" : (entry.getValue() ? "CREATE" : "UPDATE");
+                String payload = product == null ? null : toJson(product);
+                rows.add(new Object[]{++seq, type, payload, now, entry.getKey()});
+            }
+
+            // ==========upsert-latest-per-product==========
+            int[] updated = jdbcTemplate.batchUpdate(UPDATE_CHANGE_SQL, rows);
+            List<Object[]> inserts = new ArrayList<>();
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    inserts.add(rows.get(i));
+                }
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_CHANGE_SQL, inserts);
+            }
+            jdbcTemplate.batchUpdate(DELETE_PENDING_SQL, pending, pending.size(),
+                    (statement, change) -> statement.setLong(1, change.id()));
+            jdbcTemplate.update(ADVANCE_CURSOR_SQL, seq);
+            lastSeq[0] = seq;
+            return pending.size();
+        });
+
+        int count = processed == null ? 0 : processed;
+        if (count > 0) {
+            sequenced.increment(count);
+            batchTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            changeFeed.onSequenced(lastSeq[0]);
+        }
+        return count;
+    }
+
+    private void initCursor() {
+        try {
+            jdbcTemplate.update(INIT_CURSOR_SQL);
+        } catch (DuplicateKeyException ex) {
+            // another instance created it first
+        }
+    }
+
+    private String toJson(Product product) {
+        try {
+            return objectMapper.writeValueAsString(productMapper.toResponse(product));
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private record PendingChange(long id, long productId, String changeType) {
+    }
+}
@@ -2,26 +2,46 @@ package com.zest.productapi.config;
 
 // ==========file-context==========
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executor;
-
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
-    @Bean(name = "auditTaskExecutor")
-    public Executor auditTaskExecutor() {
+    @Bean(name = "importTaskExecutor")
+    public ThreadPoolTaskExecutor importTaskExecutor(@Value("${app.products.import.max-concurrent:2}") int maxConcurrent,
+                                                     BackgroundThreads backgroundThreads) {
+        // one writer thread per running import; no queue, so extra imports are turned away instead of waiting
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(4);
-        executor.setQueueCapacity(200);
-        executor.setThreadNamePrefix("audit-");
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("import-");
+        if (backgroundThreads.isVirtual()) {
+            // the pool still caps running imports; only the threads behind it are virtual
+            executor.setThreadFactory(backgroundThreads.virtualFactory("import-"));
+        }
         executor.initialize();
         return executor;
     }
-}
 
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(@Value("${app.security.password-hashing.threads:0}") int threads,
+                                                          @Value("${app.security.password-hashing.queue-capacity:32}") int queueCapacity) {
+        // BCrypt is pure CPU: a few platform threads bound how much of the machine a login storm can take;
+        // 0 leaves half the cores to everything else
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,42 @@
+package com.zest.productapi.config;
+
+// ==========file-context==========
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+
+@Component
+public class BackgroundThreads {
+
+    private final ThreadFactory virtualThreads;
+
+    public BackgroundThreads(Environment environment) {
+        // ==========follow-spring-threads-virtual==========
+        // active only with spring.threads.virtual.enabled=true on Java 21+, the same switch Tomcat and @Scheduled use
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("background-").getVirtualThreadFactory()
+                : null;
+    }
+
+    public boolean isVirtual() {
+        return virtualThreads != null;
+    }
+
+    public ThreadFactory virtualFactory(String namePrefix) {
+        return new VirtualThreadTaskExecutor(namePrefix).getVirtualThreadFactory();
+    }
+
+    public Thread newThread(String name, Runnable task) {
+        // virtual threads are always daemon threads
+        Thread thread = virtualThreads == null ? new Thread(task) : virtualThreads.newThread(task);
+        thread.setName(name);
+        if (virtualThreads == null) {
+            thread.setDaemon(true);
+        }
+        return thread;
+    }
+}
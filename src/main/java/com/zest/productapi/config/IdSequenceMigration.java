@@ -0,0 +1,92 @@
+package com.zest.productapi.config;
+
+// ==========file-context==========
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+// Moves the pooled id sequences past the ids already in their tables.
+// Tables created while ids were identity columns hold rows the sequence knows nothing about, and ddl-auto=update
+// would create the sequence starting at 1, so the first insert after the switch would hit an existing key.
+public class IdSequenceMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceMigration.class);
+    // matches allocationSize on the entities' @SequenceGenerator
+    private static final long ALLOCATION_SIZE = 50;
+    private static final List<TableSequence> SEQUENCES = List.of(
+            new TableSequence("product", "product_seq"),
+            new TableSequence("item", "item_seq"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void migrate() {
+        for (TableSequence sequence : SEQUENCES) {
+            migrate(sequence);
+        }
+    }
+
+    private void migrate(TableSequence target) {
+        Boolean tableExists = jdbcTemplate.execute(
+                (Connection connection) -> hasTable(connection.getMetaData(), target.table()));
+        if (!Boolean.TRUE.equals(tableExists)) {
+            return;
+        }
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + target.table(), Long.class);
+        if (maxId == null || maxId == 0) {
+            return;
+        }
+
+        // ==========pooled-block-above-max-id==========
+        // the pooled optimizer hands out the block ending at the value the sequence returns,
+        // so the next value must be at least a full block above the highest existing id
+        long restartWith = maxId + ALLOCATION_SIZE;
+        if (!sequenceExists(target.sequence())) {
+            jdbcTemplate.execute("create sequence " + target.sequence()
+                    + " start with " + restartWith + " increment by " + ALLOCATION_SIZE);
+            log.info("Created {} at {}, past the highest {} id {}", target.sequence(), restartWith, target.table(), maxId);
+            return;
+        }
+        // reading the sequence uses up one block; that gap is the price of checking it on every start
+        Long next = jdbcTemplate.queryForObject("select nextval('" + target.sequence() + "')", Long.class);
+        if (next != null && next - ALLOCATION_SIZE + 1 > maxId) {
+            return;
+        }
+        jdbcTemplate.execute("alter sequence " + target.sequence() + " restart with " + restartWith);
+        log.info("Moved {} from {} to {} past the existing {} ids", target.sequence(), next, restartWith, target.table());
+    }
+
+    private boolean sequenceExists(String sequence) {
+        Integer found = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.sequences "
+                        + "where lower(sequence_name) = ? and lower(sequence_schema) = lower(current_schema)",
+                Integer.class, sequence);
+        return found != null && found > 0;
+    }
+
+    private static boolean hasTable(DatabaseMetaData metaData, String table) throws SQLException {
+        // unquoted identifiers are lower case in PostgreSQL and upper case in H2
+        for (String candidate : new String[]{table, table.toUpperCase(Locale.ROOT)}) {
+            try (ResultSet tables = metaData.getTables(null, null, candidate, null)) {
+                if (tables.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private record TableSequence(String table, String sequence) {
+    }
+}
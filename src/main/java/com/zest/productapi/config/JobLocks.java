@@ -0,0 +1,54 @@
+package com.zest.productapi.config;
+
+// ==========file-context==========
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+@Component
+public class JobLocks {
+
+    private static final String INIT_SQL = "insert into job_lock (name, locked_until, locked_by) "
+            + "select ?, ?, '' where not exists (select 1 from job_lock where name = ?)";
+    private static final String ACQUIRE_SQL = "update job_lock set locked_until = ?, locked_by = ? "
+            + "where name = ? and (locked_until <= ? or locked_by = ?)";
+    private static final String RELEASE_SQL = "update job_lock set locked_until = ? where name = ? and locked_by = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner;
+
+    public JobLocks(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        // pid@host plus a per-start suffix, so a restarted instance does not inherit its old lease
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    // ==========lease-not-session-lock==========
+    // a conditional update on a plain row works the same on every database and needs no open transaction;
+    // a node that dies holding the lease only blocks the job until locked_until passes
+    public boolean tryAcquire(String name, Duration lease) {
+        Instant now = Instant.now();
+        try {
+            jdbcTemplate.update(INIT_SQL, name, now.atOffset(ZoneOffset.UTC), name);
+        } catch (DuplicateKeyException ex) {
+            // another node created the row first
+        }
+        return jdbcTemplate.update(ACQUIRE_SQL, now.plus(lease).atOffset(ZoneOffset.UTC), owner,
+                name, now.atOffset(ZoneOffset.UTC), owner) == 1;
+    }
+
+    public void release(String name) {
+        jdbcTemplate.update(RELEASE_SQL, Instant.now().atOffset(ZoneOffset.UTC), name, owner);
+    }
+}
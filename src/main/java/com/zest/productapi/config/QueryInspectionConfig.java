@@ -0,0 +1,30 @@
+package com.zest.productapi.config;
+
+// ==========file-context==========
+
+import com.zest.productapi.jdbc.InspectingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "app.diagnostics.queries.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryInspectionConfig {
+
+    // static: post-processors are created before every other bean, this configuration included
+    @Bean
+    public static BeanPostProcessor inspectingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Hikari stays the target, so pool metrics and health still find it through unwrap()
+                return bean instanceof DataSource dataSource && !(bean instanceof InspectingDataSource)
+                        ? new InspectingDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.zest.productapi.config;
+
+// ==========file-context==========
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+// Moves an existing refresh_token table from the raw 512-char token column to the token_hash digest.
+// Runs before Hibernate, because ddl-auto=update cannot add a NOT NULL column to a table with rows.
+public class RefreshTokenHashMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenHashMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RefreshTokenHashMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void migrate() {
+        Boolean legacy = jdbcTemplate.execute(
+                (Connection connection) -> hasColumn(connection.getMetaData(), "refresh_token", "token"));
+        if (!Boolean.TRUE.equals(legacy)) {
+            return;
+        }
+        String database = jdbcTemplate.execute((Connection connection) -> connection.getMetaData().getDatabaseProductName());
+
+        // ==========postgres-keeps-sessions==========
+        // sha256() is built in from PostgreSQL 11, so outstanding tokens stay valid after the switch;
+        // DDL is transactional there, so a failed migration leaves the old column in place
+        if ("PostgreSQL".equals(database)) {
+            Integer hashed = jdbcTemplate.execute((Connection connection) -> {
+                connection.setAutoCommit(false);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("alter table refresh_token add column token_hash bytea");
+                    int rows = statement.executeUpdate(
+                            "update refresh_token set token_hash = sha256(convert_to(token, 'UTF8'))");
+                    statement.execute("alter table refresh_token alter column token_hash set not null");
+                    // ddl-auto=update does not add unique constraints to existing tables
+                    statement.execute("alter table refresh_token add constraint refresh_token_token_hash_key unique (token_hash)");
+                    statement.execute("alter table refresh_token drop column token");
+                    connection.commit();
+                    return rows;
+                } catch (SQLException ex) {
+                    connection.rollback();
+                    throw ex;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            });
+            log.info("Migrated {} refresh tokens to SHA-256 digests", hashed);
+            return;
+        }
+
+        // other databases: outstanding sessions log in again, Hibernate recreates the table with its constraints
+        jdbcTemplate.execute("drop table refresh_token");
+        log.info("Dropped the refresh_token table to switch to SHA-256 digests; users must log in again");
+    }
+
+    private static boolean hasColumn(DatabaseMetaData metaData, String table, String column) throws SQLException {
+        // unquoted identifiers are lower case in PostgreSQL and upper case in H2
+        for (String candidate : new String[]{table, table.toUpperCase(Locale.ROOT)}) {
+            try (ResultSet columns = metaData.getColumns(null, null, candidate, null)) {
+                while (columns.next()) {
+                    if (column.equalsIgnoreCase(columns.getString("COLUMN_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,11 @@
+package com.zest.productapi.config;
+
+// ==========file-context==========
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,32 @@
+package com.zest.productapi.config;
+
+// ==========file-context==========
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class SchemaMigrationConfig {
+
+    @Bean
+    public RefreshTokenHashMigration refreshTokenHashMigration(JdbcTemplate jdbcTemplate) {
+        RefreshTokenHashMigration migration = new RefreshTokenHashMigration(jdbcTemplate);
+        migration.migrate();
+        return migration;
+    }
+
+    @Bean
+    public IdSequenceMigration idSequenceMigration(JdbcTemplate jdbcTemplate) {
+        IdSequenceMigration migration = new IdSequenceMigration(jdbcTemplate);
+        migration.migrate();
+        return migration;
+    }
+
+    // the persistence unit, and with it ddl-auto=update, waits for the migrations above
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor entityManagerFactoryAfterMigrations() {
+        return new EntityManagerFactoryDependsOnPostProcessor("refreshTokenHashMigration", "idSequenceMigration");
+    }
+}
@@ -0,0 +1,101 @@
+package com.zest.productapi.config;
+
+// ==========file-context==========
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Component
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_REPORTED_SITES = 100;
+    private static final int REPORTED_FRAMES = 8;
+
+    private final BackgroundThreads backgroundThreads;
+    private final Duration threshold;
+    private final Timer pinned;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(BackgroundThreads backgroundThreads,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.threads.pinning-threshold:20ms}") Duration threshold) {
+        this.backgroundThreads = backgroundThreads;
+        this.threshold = threshold;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        // ==========only-in-virtual-mode==========
+        // platform threads cannot pin, and the JFR event only exists on Java 21+
+        if (!backgroundThreads.isVirtual()) {
+            return;
+        }
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+
+        // ==========log-each-site-once==========
+        // a pinned section on a hot path fires constantly; the timer counts it, the log names it once
+        String site = describe(event.getStackTrace());
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(site)) {
+            log.warn("virtual thread pinned for {} ms (threshold {} ms), usually a blocking call inside synchronized:\n{}",
+                    event.getDuration().toMillis(), threshold.toMillis(), site);
+        }
+    }
+
+    private String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "  <no stack trace>";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(REPORTED_FRAMES)
+                .map(this::describe)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private String describe(RecordedFrame frame) {
+        return "  at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
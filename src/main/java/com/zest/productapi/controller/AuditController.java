@@ -0,0 +1,60 @@
+package com.zest.productapi.controller;
+
+// ==========file-context==========
+
+import com.zest.productapi.dto.ApiResponse;
+import com.zest.productapi.dto.AuditEventResponse;
+import com.zest.productapi.dto.PageResponse;
+import com.zest.productapi.service.AuditLogService;
+import com.zest.productapi.util.ResponseUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/audit-events")
+@Tag(name = "Audit", description = "Product audit trail APIs")
+@SecurityRequirement(name = "bearerAuth")
+@Validated
+public class AuditController {
+
+    private final AuditLogService auditLogService;
+
+    public AuditController(AuditLogService auditLogService) {
+        this.auditLogService = auditLogService;
+    }
+
+    @GetMapping
+    @Operation(summary = "List audit events", description = "Requires ROLE_ADMIN. Newest first, without a total count")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Audit events fetched successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid query parameters",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<PageResponse<AuditEventResponse>>> getEvents(
+            @Parameter(description = "Page number (0-based)") @Min(0) @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @Min(1) @Max(100) @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Optional product id filter") @RequestParam(required = false) Long productId,
+            @Parameter(description = "Optional action filter: CREATE, UPDATE or DELETE") @RequestParam(required = false) String action
+    ) {
+        PageResponse<AuditEventResponse> response = auditLogService.getEvents(productId, action, page, size);
+        return ResponseEntity.ok(ResponseUtil.success(HttpStatus.OK, "Audit events fetched successfully", response));
+    }
+}
@@ -6,6 +6,7 @@ import com.zest.productapi.dto.AuthResponse;
 import com.zest.productapi.dto.LoginRequest;
 import com.zest.productapi.dto.RefreshTokenRequest;
 import com.zest.productapi.dto.RegisterRequest;
+import com.zest.productapi.exception.AuthException;
 import com.zest.productapi.service.AuthService;
 import com.zest.productapi.util.ResponseUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,6 +19,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -73,5 +76,20 @@ public class AuthController {
         AuthResponse response = authService.refresh(request);
         return ResponseEntity.ok(ResponseUtil.success(HttpStatus.OK, "Token refreshed successfully", response));
     }
-}
 
+    @PostMapping("/logout")
+    @Operation(summary = "Logout user", description = "Revokes every access and refresh token issued to the caller")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Logged out successfully"),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid access token",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class)))
+    })
+    public ResponseEntity<com.zest.productapi.dto.ApiResponse<Void>> logout(@AuthenticationPrincipal UserDetails principal) {
+        if (principal == null) {
+            throw new AuthException("Authentication required");
+        }
+        authService.logout(principal.getUsername());
+        return ResponseEntity.ok(ResponseUtil.success(HttpStatus.OK, "Logged out successfully", null));
+    }
+}
@@ -3,9 +3,15 @@ package com.zest.productapi.controller;
 // ==========file-context==========
 
 import com.zest.productapi.dto.ApiResponse;
+import com.zest.productapi.dto.BulkOperationResponse;
+import com.zest.productapi.dto.CursorPageResponse;
 import com.zest.productapi.dto.ItemResponse;
 import com.zest.productapi.dto.PageResponse;
+import com.zest.productapi.dto.ProductBulkUpdateRequest;
+import com.zest.productapi.dto.ProductChangesResponse;
 import com.zest.productapi.dto.ProductCreateRequest;
+import com.zest.productapi.dto.ProductFileFormat;
+import com.zest.productapi.dto.ProductImportResponse;
 import com.zest.productapi.dto.ProductResponse;
 import com.zest.productapi.dto.ProductUpdateRequest;
 import com.zest.productapi.service.ProductService;
@@ -20,16 +26,25 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/products")
@@ -60,7 +75,9 @@ public class ProductController {
             @Parameter(description = "Page size") @Min(1) @Max(100) @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort field: id, productName, createdOn, modifiedOn, createdBy, modifiedBy") @RequestParam(defaultValue = "id") String sortBy,
             @Parameter(description = "Sort direction: asc or desc") @RequestParam(defaultValue = "asc") String sortDir,
-            @Parameter(description = "Optional name filter") @RequestParam(required = false) String name
+            @Parameter(description = "Optional name filter") @RequestParam(required = false) String name,
+            @Parameter(description = "Totals: exact, window (same statement), estimate (cached) or none (no count)") @RequestParam(defaultValue = "exact") String totals,
+            @Parameter(description = "Optional related data: items") @RequestParam(required = false) String include
     ) {
         // ==========page-and-sort-normalization==========
         Sort.Direction direction = "desc".equalsIgnoreCase(sortDir)
@@ -68,10 +85,111 @@ public class ProductController {
                 : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, PageableSortUtil.validateProductSortBy(sortBy)));
 
-        PageResponse<ProductResponse> response = productService.getProducts(name, pageable);
+        PageResponse<ProductResponse> response = productService.getProducts(
+                name, pageable, PageableSortUtil.parsePageTotals(totals), PageableSortUtil.includesItems(include));
         return ResponseEntity.ok(ResponseUtil.success(HttpStatus.OK, "Products fetched successfully", response));
     }
 
+    @GetMapping(params = "cursor")
+    @Operation(summary = "List products by cursor",
+            description = "Keyset pagination: pass an empty cursor for the first page, then the returned nextCursor")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Products fetched successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid query parameters or cursor",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<CursorPageResponse<ProductResponse>>> getProductsByCursor(
+            @Parameter(description = "Opaque cursor from a previous nextCursor; empty for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @Min(1) @Max(100) @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort field: id, productName, createdOn, modifiedOn, createdBy, modifiedBy") @RequestParam(defaultValue = "id") String sortBy,
+            @Parameter(description = "Sort direction: asc or desc") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Optional name filter") @RequestParam(required = false) String name
+    ) {
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortDir)
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+
+        CursorPageResponse<ProductResponse> response = productService.getProductsByCursor(
+                name, cursor, size, PageableSortUtil.validateProductSortBy(sortBy), direction);
+        return ResponseEntity.ok(ResponseUtil.success(HttpStatus.OK, "Products fetched successfully", response));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all products",
+            description = "Streams the whole catalog ordered by id as NDJSON or CSV without paging")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Products streamed"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid format",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class)))
+    })
+    public void exportProducts(
+            @Parameter(description = "Export format: ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        // ==========stream-to-response==========
+        ProductFileFormat fileFormat = ProductFileFormat.from(format);
+        response.setContentType(fileFormat.getMediaType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + fileFormat.getExtension() + "\"");
+        productService.exportProducts(fileFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "List product changes",
+            description = "Changes in commit order after the since cursor; deleted products appear as DELETE tombstones. "
+                    + "With waitSeconds the request long-polls until a change arrives or the wait ends")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Product changes fetched successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid query parameters or cursor",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "410", description = "Cursor expired, resync from 0",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Too many change feed listeners",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class)))
+    })
+    public CompletableFuture<ResponseEntity<ApiResponse<ProductChangesResponse>>> getChanges(
+            @Parameter(description = "nextCursor from a previous response; empty or 0 for a full snapshot") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum changes per response") @Min(1) @Max(1000) @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Seconds to wait when there are no changes yet") @Min(0) @Max(25) @RequestParam(defaultValue = "0") int waitSeconds
+    ) {
+        return productService.getChanges(since, limit, Duration.ofSeconds(waitSeconds))
+                .thenApply(response -> ResponseEntity.ok(
+                        ResponseUtil.success(HttpStatus.OK, "Product changes fetched successfully", response)));
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream product changes",
+            description = "Server-sent events in commit order after the since cursor; each event id is the change sequence")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Change stream opened"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "410", description = "Cursor expired, resync from 0",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Too many change feed listeners",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class)))
+    })
+    public SseEmitter streamChanges(
+            @Parameter(description = "Sequence to resume after; empty or 0 for a full snapshot") @RequestParam(required = false) String since,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        // a reconnecting EventSource resumes from the last event id it received
+        String cursor = lastEventId == null || lastEventId.isBlank() ? since : lastEventId;
+        return productService.streamChanges(cursor);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get product by id")
     @ApiResponses(value = {
@@ -142,6 +260,105 @@ public class ProductController {
         return ResponseEntity.ok(ResponseUtil.success(HttpStatus.OK, "Product deleted successfully", null));
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Create products in bulk",
+            description = "Requires ROLE_ADMIN. Writes in chunked transactions and reports a result per item")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Bulk create processed"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Empty or oversized request",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> createProducts(@RequestBody List<ProductCreateRequest> requests) {
+        BulkOperationResponse response = productService.createProducts(requests);
+        return ResponseEntity.ok(ResponseUtil.success(HttpStatus.OK, "Bulk create processed", response));
+    }
+
+    @PutMapping("/bulk")
+    @Operation(summary = "Update products in bulk",
+            description = "Requires ROLE_ADMIN. Writes in chunked transactions and reports a result per item")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Bulk update processed"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Empty or oversized request",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> updateProducts(@RequestBody List<ProductBulkUpdateRequest> requests) {
+        BulkOperationResponse response = productService.updateProducts(requests);
+        return ResponseEntity.ok(ResponseUtil.success(HttpStatus.OK, "Bulk update processed", response));
+    }
+
+    @PostMapping("/bulk/delete")
+    @Operation(summary = "Delete products in bulk",
+            description = "Requires ROLE_ADMIN. Takes a list of product ids and reports a result per id")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Bulk delete processed"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Empty or oversized request",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> deleteProducts(@RequestBody List<Long> ids) {
+        BulkOperationResponse response = productService.deleteProducts(ids);
+        return ResponseEntity.ok(ResponseUtil.success(HttpStatus.OK, "Bulk delete processed", response));
+    }
+
+    @PostMapping("/import")
+    @Operation(summary = "Import products and items",
+            description = "Requires ROLE_ADMIN. Streams an NDJSON or CSV body into batched commits; "
+                    + "re-send the same file with the same importId to resume after an interruption")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Import processed"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid format, importId or CSV header",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Import already running or completed",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Too many imports running",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<ProductImportResponse>> importProducts(
+            @Parameter(description = "Import format: ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Client-chosen id used to resume an interrupted import; imports without one cannot be resumed") @RequestParam(required = false) String importId,
+            HttpServletRequest request
+    ) throws IOException {
+        // ==========stream-from-request==========
+        String id = importId == null || importId.isBlank() ? null : importId;
+        ProductImportResponse response = productService.importProducts(
+                ProductFileFormat.from(format), id, request.getInputStream());
+        return ResponseEntity.ok(ResponseUtil.success(HttpStatus.OK, "Import processed", response));
+    }
+
+    @GetMapping("/items")
+    @Operation(summary = "List items for several products",
+            description = "Returns items grouped by product id for up to 100 products; unknown ids are left out")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Product items fetched successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Missing or too many product ids",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden",
+                    content = @Content(schema = @Schema(implementation = com.zest.productapi.dto.ApiErrorResponse.class)))
+    })
+    public ResponseEntity<ApiResponse<Map<Long, List<ItemResponse>>>> getItemsForProducts(
+            @Parameter(description = "Comma-separated product ids") @RequestParam List<Long> productIds
+    ) {
+        Map<Long, List<ItemResponse>> response = productService.getItemsByProductIds(productIds);
+        return ResponseEntity.ok(ResponseUtil.success(HttpStatus.OK, "Product items fetched successfully", response));
+    }
+
     @GetMapping("/{id}/items")
     @Operation(summary = "List items by product id")
     @ApiResponses(value = {
@@ -0,0 +1,14 @@
+package com.zest.productapi.dto;
+
+// ==========file-context==========
+
+import java.time.Instant;
+
+public record AuditEventResponse(
+        Long id,
+        String action,
+        Long productId,
+        String actor,
+        Instant occurredOn
+) {
+}
@@ -0,0 +1,16 @@
+package com.zest.productapi.dto;
+
+// ==========file-context==========
+
+public record BulkItemResult(
+        int index,
+        Long id,
+        BulkItemStatus status,
+        String error
+) {
+    public boolean succeeded() {
+        return status == BulkItemStatus.CREATED
+                || status == BulkItemStatus.UPDATED
+                || status == BulkItemStatus.DELETED;
+    }
+}
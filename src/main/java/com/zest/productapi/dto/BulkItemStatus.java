@@ -0,0 +1,12 @@
+package com.zest.productapi.dto;
+
+// ==========file-context==========
+
+public enum BulkItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    INVALID,
+    NOT_FOUND,
+    FAILED
+}
@@ -0,0 +1,17 @@
+package com.zest.productapi.dto;
+
+// ==========file-context==========
+
+import java.util.List;
+
+public record BulkOperationResponse(
+        int total,
+        int succeeded,
+        int failed,
+        List<BulkItemResult> results
+) {
+    public static BulkOperationResponse of(List<BulkItemResult> results) {
+        int succeeded = (int) results.stream().filter(BulkItemResult::succeeded).count();
+        return new BulkOperationResponse(results.size(), succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,13 @@
+package com.zest.productapi.dto;
+
+// ==========file-context==========
+
+import java.util.List;
+
+public record CursorPageResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean last
+) {
+}
@@ -0,0 +1,9 @@
+package com.zest.productapi.dto;
+
+// ==========file-context==========
+
+public record ImportRejection(
+        long row,
+        String error
+) {
+}
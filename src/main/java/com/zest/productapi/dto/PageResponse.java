@@ -8,9 +8,9 @@ public record PageResponse<T>(
         List<T> content,
         int page,
         int size,
-        long totalElements,
-        int totalPages,
-        boolean last
+        Long totalElements,
+        Integer totalPages,
+        boolean last,
+        PageTotals totals
 ) {
 }
-
@@ -0,0 +1,10 @@
+package com.zest.productapi.dto;
+
+// ==========file-context==========
+
+public enum PageTotals {
+    EXACT,
+    WINDOW,
+    ESTIMATED,
+    NONE
+}
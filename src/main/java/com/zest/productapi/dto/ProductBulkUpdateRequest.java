@@ -0,0 +1,24 @@
+package com.zest.productapi.dto;
+
+// ==========file-context==========
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record ProductBulkUpdateRequest(
+        @NotNull(message = "id is required")
+        Long id,
+
+        @NotBlank(message = "Product name is required")
+        @Size(max = 255, message = "Product name must be at most 255 characters")
+        String productName,
+
+        @NotBlank(message = "modifiedBy is required")
+        @Size(max = 100, message = "modifiedBy must be at most 100 characters")
+        String modifiedBy
+) {
+    public ProductUpdateRequest toUpdateRequest() {
+        return new ProductUpdateRequest(productName, modifiedBy);
+    }
+}
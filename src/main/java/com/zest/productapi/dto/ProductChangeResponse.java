@@ -0,0 +1,17 @@
+package com.zest.productapi.dto;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+public record ProductChangeResponse(
+        long seq,
+        String type,
+        Long productId,
+        @JsonRawValue
+        String product,
+        Instant changedAt
+) {
+}
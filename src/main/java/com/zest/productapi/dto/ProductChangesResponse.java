@@ -0,0 +1,12 @@
+package com.zest.productapi.dto;
+
+// ==========file-context==========
+
+import java.util.List;
+
+public record ProductChangesResponse(
+        List<ProductChangeResponse> changes,
+        String nextCursor,
+        boolean hasMore
+) {
+}
@@ -0,0 +1,34 @@
+package com.zest.productapi.dto;
+
+// ==========file-context==========
+
+import java.util.Locale;
+
+public enum ProductFileFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ProductFileFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ProductFileFormat from(String format) {
+        return switch (format.toLowerCase(Locale.ROOT)) {
+            case "ndjson" -> NDJSON;
+            case "csv" -> CSV;
+            default -> throw new IllegalArgumentException("Invalid format: " + format);
+        };
+    }
+}
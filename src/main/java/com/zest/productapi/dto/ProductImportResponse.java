@@ -0,0 +1,19 @@
+package com.zest.productapi.dto;
+
+// ==========file-context==========
+
+import java.util.List;
+
+public record ProductImportResponse(
+        String importId,
+        long rowsRead,
+        long rowsSkipped,
+        long rowsImported,
+        long itemsImported,
+        long rowsRejected,
+        long elapsedMs,
+        double rowsPerSecond,
+        List<ImportRejection> rejections,
+        boolean rejectionsTruncated
+) {
+}
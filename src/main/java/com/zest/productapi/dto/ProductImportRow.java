@@ -0,0 +1,15 @@
+package com.zest.productapi.dto;
+
+// ==========file-context==========
+
+import java.util.List;
+
+public record ProductImportRow(
+        String productName,
+        String createdBy,
+        List<Integer> itemQuantities
+) {
+    public ProductCreateRequest toCreateRequest() {
+        return new ProductCreateRequest(productName, createdBy);
+    }
+}
@@ -2,7 +2,10 @@ package com.zest.productapi.dto;
 
 // ==========file-context==========
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.Instant;
+import java.util.List;
 
 public record ProductResponse(
         Long id,
@@ -10,7 +13,11 @@ public record ProductResponse(
         String createdBy,
         Instant createdOn,
         String modifiedBy,
-        Instant modifiedOn
+        Instant modifiedOn,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        List<ItemResponse> items
 ) {
+    public ProductResponse withItems(List<ItemResponse> items) {
+        return new ProductResponse(id, productName, createdBy, createdOn, modifiedBy, modifiedOn, items);
+    }
 }
-
@@ -0,0 +1,77 @@
+package com.zest.productapi.entity;
+
+// ==========file-context==========
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(
+        name = "audit_event",
+        indexes = {
+                @Index(name = "idx_audit_event_occurred_on", columnList = "occurred_on"),
+                @Index(name = "idx_audit_event_product_id", columnList = "product_id, id")
+        }
+)
+public class AuditEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "action", nullable = false, length = 20)
+    private String action;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "actor", nullable = false, length = 100)
+    private String actor;
+
+    @Column(name = "occurred_on", nullable = false)
+    private Instant occurredOn;
+
+    public AuditEvent() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public void setActor(String actor) {
+        this.actor = actor;
+    }
+
+    public Instant getOccurredOn() {
+        return occurredOn;
+    }
+
+    public void setOccurredOn(Instant occurredOn) {
+        this.occurredOn = occurredOn;
+    }
+}
@@ -0,0 +1,38 @@
+package com.zest.productapi.entity;
+
+// ==========file-context==========
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "job_lock")
+public class JobLock {
+
+    // one row per scheduled job; the instance named in locked_by owns the job until locked_until
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    @Column(name = "locked_by", nullable = false, length = 128)
+    private String lockedBy;
+
+    public JobLock() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+}
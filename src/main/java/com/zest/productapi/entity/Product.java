@@ -14,13 +14,19 @@ import java.util.List;
 @Table(
         name = "product",
         indexes = {
-                @Index(name = "idx_product_name", columnList = "product_name")
+                @Index(name = "idx_product_name", columnList = "product_name"),
+                @Index(name = "idx_product_name_id", columnList = "product_name, id"),
+                @Index(name = "idx_product_created_on_id", columnList = "created_on, id"),
+                @Index(name = "idx_product_modified_on_id", columnList = "modified_on, id"),
+                @Index(name = "idx_product_created_by_id", columnList = "created_by, id"),
+                @Index(name = "idx_product_modified_by_id", columnList = "modified_by, id")
         }
 )
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "product_name", nullable = false, length = 255)
@@ -0,0 +1,58 @@
+package com.zest.productapi.entity;
+
+// ==========file-context==========
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(
+        name = "product_change",
+        indexes = {
+                @Index(name = "idx_product_change_seq", columnList = "seq", unique = true),
+                @Index(name = "idx_product_change_type_seq", columnList = "change_type, seq")
+        }
+)
+public class ProductChange {
+
+    // one row per product: a newer change replaces the older one, so the feed stays catalog-sized
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "seq", nullable = false)
+    private Long seq;
+
+    @Column(name = "change_type", nullable = false, length = 20)
+    private String changeType;
+
+    @Column(name = "payload", length = 4000)
+    private String payload;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    public ProductChange() {
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+}
@@ -0,0 +1,36 @@
+package com.zest.productapi.entity;
+
+// ==========file-context==========
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "product_change_cursor")
+public class ProductChangeCursor {
+
+    // single row (id = 1); locking it serializes sequencers across instances
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+
+    @Column(name = "purged_through_seq", nullable = false)
+    private long purgedThroughSeq;
+
+    public ProductChangeCursor() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    public long getPurgedThroughSeq() {
+        return purgedThroughSeq;
+    }
+}
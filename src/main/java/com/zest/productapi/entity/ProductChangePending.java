@@ -0,0 +1,41 @@
+package com.zest.productapi.entity;
+
+// ==========file-context==========
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "product_change_pending")
+public class ProductChangePending {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_change_pending_seq")
+    @SequenceGenerator(name = "product_change_pending_seq", sequenceName = "product_change_pending_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "change_type", nullable = false, length = 20)
+    private String changeType;
+
+    public ProductChangePending() {
+    }
+
+    public ProductChangePending(Long productId, String changeType) {
+        this.productId = productId;
+        this.changeType = changeType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+}
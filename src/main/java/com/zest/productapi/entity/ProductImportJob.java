@@ -0,0 +1,108 @@
+package com.zest.productapi.entity;
+
+// ==========file-context==========
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "product_import_job")
+public class ProductImportJob {
+
+    @Id
+    @Column(name = "import_id", length = 100)
+    private String importId;
+
+    @Column(name = "format", nullable = false, length = 20)
+    private String format;
+
+    @Column(name = "committed_rows", nullable = false)
+    private long committedRows;
+
+    @Column(name = "imported_rows", nullable = false)
+    private long importedRows;
+
+    @Column(name = "imported_items", nullable = false)
+    private long importedItems;
+
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    @CreationTimestamp
+    @Column(name = "created_on", nullable = false, updatable = false)
+    private Instant createdOn;
+
+    @UpdateTimestamp
+    @Column(name = "modified_on")
+    private Instant modifiedOn;
+
+    public ProductImportJob() {
+    }
+
+    public String getImportId() {
+        return importId;
+    }
+
+    public void setImportId(String importId) {
+        this.importId = importId;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public long getCommittedRows() {
+        return committedRows;
+    }
+
+    public void setCommittedRows(long committedRows) {
+        this.committedRows = committedRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public void setImportedRows(long importedRows) {
+        this.importedRows = importedRows;
+    }
+
+    public long getImportedItems() {
+        return importedItems;
+    }
+
+    public void setImportedItems(long importedItems) {
+        this.importedItems = importedItems;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public Instant getCreatedOn() {
+        return createdOn;
+    }
+
+    public void setCreatedOn(Instant createdOn) {
+        this.createdOn = createdOn;
+    }
+
+    public Instant getModifiedOn() {
+        return modifiedOn;
+    }
+
+    public void setModifiedOn(Instant modifiedOn) {
+        this.modifiedOn = modifiedOn;
+    }
+}
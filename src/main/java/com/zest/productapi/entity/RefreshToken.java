@@ -11,7 +11,8 @@ import java.time.Instant;
 @Table(
         name = "refresh_token",
         indexes = {
-                @Index(name = "idx_refresh_token_user_id", columnList = "user_id")
+                @Index(name = "idx_refresh_token_user_id", columnList = "user_id"),
+                @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at")
         }
 )
 public class RefreshToken {
@@ -20,8 +21,9 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "token", nullable = false, unique = true, length = 512)
-    private String token;
+    // SHA-256 of the issued token: a fixed 32-byte unique key instead of the raw secret
+    @Column(name = "token_hash", nullable = false, unique = true, length = 32)
+    private byte[] tokenHash;
 
     @Column(name = "expires_at", nullable = false)
     private Instant expiresAt;
@@ -48,12 +50,12 @@ public class RefreshToken {
         this.id = id;
     }
 
-    public String getToken() {
-        return token;
+    public byte[] getTokenHash() {
+        return tokenHash;
     }
 
-    public void setToken(String token) {
-        this.token = token;
+    public void setTokenHash(byte[] tokenHash) {
+        this.tokenHash = tokenHash;
     }
 
     public Instant getExpiresAt() {
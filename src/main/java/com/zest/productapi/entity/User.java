@@ -3,6 +3,7 @@ package com.zest.productapi.entity;
 // ==========file-context==========
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -35,6 +36,10 @@ public class User {
     @Column(name = "enabled", nullable = false)
     private boolean enabled = true;
 
+    @ColumnDefault("0")
+    @Column(name = "token_epoch", nullable = false)
+    private long tokenEpoch = 0;
+
     @CreationTimestamp
     @Column(name = "created_on", nullable = false, updatable = false)
     private Instant createdOn;
@@ -97,6 +102,14 @@ public class User {
         this.enabled = enabled;
     }
 
+    public long getTokenEpoch() {
+        return tokenEpoch;
+    }
+
+    public void setTokenEpoch(long tokenEpoch) {
+        this.tokenEpoch = tokenEpoch;
+    }
+
     public Instant getCreatedOn() {
         return createdOn;
     }
@@ -0,0 +1,10 @@
+package com.zest.productapi.exception;
+
+// ==========file-context==========
+
+public class CursorExpiredException extends RuntimeException {
+
+    public CursorExpiredException(String message) {
+        super(message);
+    }
+}
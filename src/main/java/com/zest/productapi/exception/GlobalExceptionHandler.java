@@ -6,10 +6,13 @@ import com.zest.productapi.dto.ApiErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -37,6 +40,31 @@ public class GlobalExceptionHandler {
         return buildError(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI());
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiErrorResponse> handleUnavailable(ServiceUnavailableException ex, HttpServletRequest request) {
+        ResponseEntity<ApiErrorResponse> response = buildError(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request.getRequestURI());
+        if (ex.getRetryAfter() == null) {
+            return response;
+        }
+        // Retry-After takes whole seconds; round up so clients never come back early
+        long seconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+                .body(response.getBody());
+    }
+
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<ApiErrorResponse> handleNoConnection(Exception ex, HttpServletRequest request) {
+        // the connection pool, not the thread pool, caps database concurrency; a request that waited
+        // spring.datasource.hikari.connection-timeout for a connection is shed instead of failing as a 500
+        return buildError(HttpStatus.SERVICE_UNAVAILABLE, "Database is busy, retry later", request.getRequestURI());
+    }
+
+    @ExceptionHandler(CursorExpiredException.class)
+    public ResponseEntity<ApiErrorResponse> handleCursorExpired(CursorExpiredException ex, HttpServletRequest request) {
+        return buildError(HttpStatus.GONE, ex.getMessage(), request.getRequestURI());
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ApiErrorResponse> handleBadCredentials(BadCredentialsException ex, HttpServletRequest request) {
         return buildError(HttpStatus.UNAUTHORIZED, "Invalid email or password", request.getRequestURI());
@@ -0,0 +1,24 @@
+package com.zest.productapi.exception;
+
+// ==========file-context==========
+
+import java.time.Duration;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String message) {
+        this(message, null);
+    }
+
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    // null when the caller has no better hint than "later"
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,79 @@
+package com.zest.productapi.jdbc;
+
+// ==========file-context==========
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Names the entity (or collection role) a statement reads or writes, from its first table.
+@Component
+public class EntityTableNames {
+
+    private static final Pattern TABLE = Pattern.compile(
+            "\\b(?:from|into|update)\\s+([\\w.\"]+)", Pattern.CASE_INSENSITIVE);
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private volatile Map<String, String> byTable;
+
+    // resolved on first use; filters are created before the persistence unit
+    public EntityTableNames(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public String describe(String sql) {
+        Matcher matcher = TABLE.matcher(sql);
+        if (!matcher.find()) {
+            return "unknown table";
+        }
+        String table = normalize(matcher.group(1));
+        String entity = tables().get(table);
+        return entity == null ? table : entity + " (" + table + ")";
+    }
+
+    private Map<String, String> tables() {
+        Map<String, String> tables = byTable;
+        if (tables == null) {
+            tables = new HashMap<>();
+            EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+            if (factory != null) {
+                Map<String, String> collected = tables;
+                SessionFactoryImplementor sessionFactory = factory.unwrap(SessionFactoryImplementor.class);
+                sessionFactory.getMappingMetamodel().forEachCollectionDescriptor(collection -> put(collected, collection));
+                // entities win over join tables that share a name
+                sessionFactory.getMappingMetamodel().forEachEntityDescriptor(entity -> put(collected, entity));
+            }
+            byTable = tables;
+        }
+        return tables;
+    }
+
+    private static void put(Map<String, String> tables, EntityPersister persister) {
+        String name = persister.getEntityName();
+        tables.put(normalize(persister.getMappedTableDetails().getTableName()), name.substring(name.lastIndexOf('.') + 1));
+    }
+
+    private static void put(Map<String, String> tables, CollectionPersister persister) {
+        // the mappedBy side shares the owner's join table; name the owner. A collection kept in its element's
+        // table has no table of its own, and that table already names the entity
+        String table = persister.getAttributeMapping().getSeparateCollectionTable();
+        if (table != null && !persister.isInverse()) {
+            String role = persister.getRole();
+            tables.put(normalize(table), role.substring(role.lastIndexOf('.', role.lastIndexOf('.') - 1) + 1));
+        }
+    }
+
+    private static String normalize(String table) {
+        String name = table.replace("\"", "");
+        return name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+}
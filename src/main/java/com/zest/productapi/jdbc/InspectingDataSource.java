@@ -0,0 +1,151 @@
+package com.zest.productapi.jdbc;
+
+// ==========file-context==========
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+// Wraps connections so statements report into the current request's QueryStats.
+// With no request bound to the thread every call goes straight to the driver apart from the proxy hop.
+public class InspectingDataSource extends DelegatingDataSource {
+
+    public InspectingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    private static <T> T wrap(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(InspectingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    // ==========connection==========
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InspectingDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> wrap(PreparedStatement.class, new StatementHandler(result, (String) args[0]));
+                case "prepareCall" -> wrap(CallableStatement.class, new StatementHandler(result, (String) args[0]));
+                case "createStatement" -> wrap(Statement.class, new StatementHandler(result, null));
+                default -> result;
+            };
+        }
+    }
+
+    // ==========statement==========
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Object target;
+        private final String sql;
+        private Object[] binds = new Object[8];
+
+        private StatementHandler(Object target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+                return InspectingDataSource.invoke(target, method, args);
+            }
+            if (name.equals("clearParameters")) {
+                Arrays.fill(binds, null);
+                return InspectingDataSource.invoke(target, method, args);
+            }
+            QueryStats stats = QueryStatsContext.current();
+            if (stats == null || !name.startsWith("execute")) {
+                Object result = InspectingDataSource.invoke(target, method, args);
+                return stats != null && name.equals("getResultSet") && result != null
+                        ? wrap(ResultSet.class, new ResultSetHandler(result, stats))
+                        : result;
+            }
+
+            // ==========timed-execution==========
+            String statementSql = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            // a JDBC batch is one round trip, so it counts once whatever its size
+            int bindHash = name.startsWith("executeBatch") || name.startsWith("executeLargeBatch") ? 0 : Arrays.deepHashCode(binds);
+            long started = System.nanoTime();
+            Object result = InspectingDataSource.invoke(target, method, args);
+            stats.onExecute(statementSql == null ? "<batch>" : statementSql, bindHash, System.nanoTime() - started);
+
+            if (result instanceof ResultSet) {
+                return wrap(ResultSet.class, new ResultSetHandler(result, stats));
+            }
+            if (result instanceof Integer updated && name.startsWith("executeUpdate") && updated > 0) {
+                stats.onRows(updated);
+            } else if (result instanceof Long updated && updated > 0) {
+                stats.onRows(updated);
+            } else if (result instanceof int[] counts) {
+                stats.onRows(Arrays.stream(counts).filter(count -> count > 0).sum());
+            }
+            return result;
+        }
+
+        private void bind(int index, Object value) {
+            if (index >= binds.length) {
+                binds = Arrays.copyOf(binds, Math.max(index + 1, binds.length * 2));
+            }
+            binds[index] = value;
+        }
+    }
+
+    // ==========result-set==========
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final Object target;
+        private final QueryStats stats;
+
+        private ResultSetHandler(Object target, QueryStats stats) {
+            this.target = target;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InspectingDataSource.invoke(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                stats.onRows(1);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.zest.productapi.jdbc;
+
+// ==========file-context==========
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// JDBC work done by one request. Only the request thread touches it, so no synchronization.
+public final class QueryStats {
+
+    // enough to tell "same values again" from "different values"; beyond this a statement is already suspicious
+    private static final int MAX_TRACKED_BINDS = 64;
+    private static final int MAX_TRACKED_STATEMENTS = 500;
+
+    private final Map<String, Shape> statements = new HashMap<>();
+    private int queries;
+    private long rows;
+    private long dbNanos;
+
+    public void onExecute(String sql, int bindHash, long nanos) {
+        queries++;
+        dbNanos += nanos;
+        Shape shape = statements.get(sql);
+        if (shape == null) {
+            if (statements.size() >= MAX_TRACKED_STATEMENTS) {
+                return;
+            }
+            shape = new Shape();
+            statements.put(sql, shape);
+        }
+        shape.executions++;
+        if (shape.binds.size() < MAX_TRACKED_BINDS) {
+            shape.binds.add(bindHash);
+        }
+    }
+
+    public void onRows(long count) {
+        rows += count;
+    }
+
+    public int queries() {
+        return queries;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long dbNanos() {
+        return dbNanos;
+    }
+
+    // ==========probable-n-plus-one==========
+    // the same statement text run again and again with different bind values is one lazy load per parent row
+    public List<RepeatedStatement> repeatedStatements(int minExecutions) {
+        List<RepeatedStatement> repeated = new ArrayList<>();
+        statements.forEach((sql, shape) -> {
+            if (shape.executions >= minExecutions && shape.binds.size() > 1) {
+                repeated.add(new RepeatedStatement(sql, shape.executions, shape.binds.size()));
+            }
+        });
+        repeated.sort(Comparator.comparingInt(RepeatedStatement::executions).reversed());
+        return repeated;
+    }
+
+    public record RepeatedStatement(String sql, int executions, int distinctBinds) {
+    }
+
+    private static final class Shape {
+        private int executions;
+        private final Set<Integer> binds = new HashSet<>();
+    }
+}
@@ -0,0 +1,26 @@
+package com.zest.productapi.jdbc;
+
+// ==========file-context==========
+
+// Binds QueryStats to the request thread; JDBC calls made without one (background workers) are not counted.
+public final class QueryStatsContext {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryStatsContext() {
+    }
+
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,76 @@
+package com.zest.productapi.jdbc;
+
+// ==========file-context==========
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+// Runs ahead of Spring Security so the user lookup of the JWT filter is counted too.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "app.diagnostics.queries.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatsFilter.class);
+
+    private final EntityTableNames entityTableNames;
+    private final int logQueries;
+    private final long logDbNanos;
+    private final int nPlusOneExecutions;
+
+    public QueryStatsFilter(EntityTableNames entityTableNames,
+                            @Value("${app.diagnostics.queries.log-threshold-queries:20}") int logQueries,
+                            @Value("${app.diagnostics.queries.log-threshold-db-time:200ms}") Duration logDbTime,
+                            @Value("${app.diagnostics.queries.n-plus-one-executions:5}") int nPlusOneExecutions) {
+        this.entityTableNames = entityTableNames;
+        this.logQueries = logQueries;
+        this.logDbNanos = logDbTime.toNanos();
+        this.nPlusOneExecutions = nPlusOneExecutions;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryStats stats = QueryStatsContext.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryStatsContext.end();
+            report(request, response, stats);
+        }
+    }
+
+    // ==========threshold-log==========
+    private void report(HttpServletRequest request, HttpServletResponse response, QueryStats stats) {
+        List<QueryStats.RepeatedStatement> repeated = stats.repeatedStatements(nPlusOneExecutions);
+        if (repeated.isEmpty() && stats.queries() < logQueries && stats.dbNanos() < logDbNanos) {
+            return;
+        }
+        // the route template keeps ids out of the log line, as with the metrics
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        log.warn("{} {} -> {}: {} queries, {} rows, {} ms in the database",
+                request.getMethod(), route != null ? route : request.getRequestURI(), response.getStatus(),
+                stats.queries(), stats.rows(), stats.dbNanos() / 1_000_000);
+        for (QueryStats.RepeatedStatement statement : repeated) {
+            log.warn("Probable N+1 on {}: same statement run {} times with {} different parameter sets: {}",
+                    entityTableNames.describe(statement.sql()), statement.executions(), statement.distinctBinds(),
+                    statement.sql());
+        }
+    }
+}
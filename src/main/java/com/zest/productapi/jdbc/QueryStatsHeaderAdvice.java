@@ -0,0 +1,58 @@
+package com.zest.productapi.jdbc;
+
+// ==========file-context==========
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Adds the request's query counts to JSON responses for admins. Headers must be set before the body is
+// written, so this runs just ahead of serialization; streamed exports and async results carry no header.
+@ControllerAdvice
+@ConditionalOnProperty(name = "app.diagnostics.queries.header-enabled", havingValue = "true")
+public class QueryStatsHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-Query-Stats";
+
+    private final int nPlusOneExecutions;
+
+    public QueryStatsHeaderAdvice(@Value("${app.diagnostics.queries.n-plus-one-executions:5}") int nPlusOneExecutions) {
+        this.nPlusOneExecutions = nPlusOneExecutions;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        QueryStats stats = QueryStatsContext.current();
+        if (stats != null && isAdmin()) {
+            response.getHeaders().set(HEADER, "queries=" + stats.queries()
+                    + ";rows=" + stats.rows()
+                    + ";db-ms=" + stats.dbNanos() / 1_000_000
+                    + ";n-plus-one=" + stats.repeatedStatements(nPlusOneExecutions).size());
+        }
+        return body;
+    }
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+}
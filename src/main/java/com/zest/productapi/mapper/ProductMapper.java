@@ -24,7 +24,8 @@ public class ProductMapper {
                 product.getCreatedBy(),
                 product.getCreatedOn(),
                 product.getModifiedBy(),
-                product.getModifiedOn()
+                product.getModifiedOn(),
+                null
         );
     }
 
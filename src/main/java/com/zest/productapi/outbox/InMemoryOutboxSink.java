@@ -0,0 +1,46 @@
+package com.zest.productapi.outbox;
+
+// ==========file-context==========
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<OutboxMessage> delivered = new ArrayList<>();
+
+    @Override
+    public void deliver(List<OutboxMessage> messages) {
+        lock.lock();
+        try {
+            delivered.addAll(messages);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<OutboxMessage> getDelivered() {
+        lock.lock();
+        try {
+            return List.copyOf(delivered);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            delivered.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
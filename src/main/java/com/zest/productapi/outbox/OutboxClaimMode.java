@@ -0,0 +1,20 @@
+package com.zest.productapi.outbox;
+
+// ==========file-context==========
+
+import java.util.Locale;
+
+public enum OutboxClaimMode {
+    AUTO,
+    SKIP_LOCKED,
+    PARTITIONED;
+
+    public static OutboxClaimMode from(String mode) {
+        return switch (mode.trim().toLowerCase(Locale.ROOT)) {
+            case "auto" -> AUTO;
+            case "skip-locked" -> SKIP_LOCKED;
+            case "partitioned" -> PARTITIONED;
+            default -> throw new IllegalArgumentException("Invalid outbox claim mode: " + mode);
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.zest.productapi.outbox;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+public record OutboxMessage(
+        Long id,
+        Long productId,
+        String eventType,
+        @JsonRawValue
+        String payload,
+        Instant createdAt,
+        int attempts
+) {
+}
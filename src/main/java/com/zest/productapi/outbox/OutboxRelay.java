@@ -0,0 +1,238 @@
+package com.zest.productapi.outbox;
+
+// ==========file-context==========
+
+import com.zest.productapi.config.BackgroundThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@Component
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final String COLUMNS = "select id, aggregate_id, event_type, payload, created_at, attempts from product_outbox ";
+    private static final String CLAIM_SKIP_LOCKED_SQL = COLUMNS
+            + "where available_at <= ? order by id limit ? for update skip locked";
+    private static final String CLAIM_PARTITION_SQL = COLUMNS
+            + "where available_at <= ? and mod(aggregate_id, ?) = ? order by id limit ? for update";
+    private static final String DELETE_SQL = "delete from product_outbox where id = ?";
+    private static final String RETRY_SQL = "update product_outbox set attempts = attempts + 1, available_at = ? where id = ?";
+    private static final RowMapper<OutboxMessage> ROW_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getLong("aggregate_id"),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getObject("created_at", OffsetDateTime.class).toInstant(),
+            rs.getInt("attempts"));
+
+    private final OutboxSink sink;
+    private final JdbcTemplate jdbcTemplate;
+    private final BackgroundThreads backgroundThreads;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int threadCount;
+    private final int batchSize;
+    private final long pollIntervalNanos;
+    private final Duration retryBackoff;
+    private final Duration maxBackoff;
+    private final OutboxClaimMode configuredMode;
+    private final Counter delivered;
+    private final Counter deliveryFailures;
+    private final Timer batchTimer;
+    private final Timer lag;
+
+    private volatile boolean running;
+    private volatile OutboxClaimMode claimMode;
+    private final List<Thread> relayThreads = new ArrayList<>();
+
+    public OutboxRelay(OutboxSink sink,
+                       JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       BackgroundThreads backgroundThreads,
+                       @Value("${app.outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${app.outbox.relay.threads:2}") int threadCount,
+                       @Value("${app.outbox.batch-size:200}") int batchSize,
+                       @Value("${app.outbox.poll-interval:500ms}") Duration pollInterval,
+                       @Value("${app.outbox.retry-backoff:1s}") Duration retryBackoff,
+                       @Value("${app.outbox.max-backoff:5m}") Duration maxBackoff,
+                       @Value("${app.outbox.claim-mode:auto}") String claimMode) {
+        this.sink = sink;
+        this.jdbcTemplate = jdbcTemplate;
+        this.backgroundThreads = backgroundThreads;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.threadCount = threadCount;
+        this.batchSize = batchSize;
+        this.pollIntervalNanos = pollInterval.toNanos();
+        this.retryBackoff = retryBackoff;
+        this.maxBackoff = maxBackoff;
+        this.configuredMode = OutboxClaimMode.from(claimMode);
+
+        // ==========relay-metrics==========
+        this.delivered = Counter.builder("outbox.messages.delivered").register(meterRegistry);
+        this.deliveryFailures = Counter.builder("outbox.delivery.failures")
+                .description("Messages put back for a later attempt after the sink failed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch").register(meterRegistry);
+        this.lag = Timer.builder("outbox.delivery.lag")
+                .description("Time from the product change being recorded to its delivery")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        claimMode = configuredMode == OutboxClaimMode.AUTO ? detectClaimMode() : configuredMode;
+        log.info("outbox relay starting threads={} claimMode={}", threadCount, claimMode);
+
+        running = true;
+        for (int slot = 0; slot < threadCount; slot++) {
+            int partition = slot;
+            Thread thread = backgroundThreads.newThread("outbox-relay-" + slot, () -> relayLoop(partition));
+            relayThreads.add(thread);
+            thread.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        relayThreads.forEach(LockSupport::unpark);
+        for (Thread thread : relayThreads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        relayThreads.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void wakeUp() {
+        // called after a commit that wrote outbox rows, so delivery does not wait for the next poll
+        for (Thread thread : relayThreads) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    public OutboxClaimMode getClaimMode() {
+        return claimMode;
+    }
+
+    private void relayLoop(int partition) {
+        while (running) {
+            int relayed;
+            try {
+                relayed = relayBatch(partition);
+            } catch (RuntimeException ex) {
+                log.warn("outbox relay batch failed: {}", ex.getMessage());
+                relayed = 0;
+            }
+            // a full batch means there is probably more waiting, so go again straight away
+            if (relayed < batchSize && running) {
+                LockSupport.parkNanos(pollIntervalNanos);
+            }
+        }
+    }
+
+    int relayBatch(int partition) {
+        long started = System.nanoTime();
+        Integer relayed = transactionTemplate.execute(status -> {
+            // ==========claim-deliver-delete==========
+            // claimed rows stay locked until this transaction ends, so other relay threads and nodes skip them
+            List<OutboxMessage> claimed = claim(partition);
+            if (claimed.isEmpty()) {
+                return 0;
+            }
+            try {
+                sink.deliver(claimed);
+            } catch (Exception ex) {
+                log.warn("outbox sink failed for {} messages, will retry: {}", claimed.size(), ex.getMessage());
+                scheduleRetry(claimed);
+                deliveryFailures.increment(claimed.size());
+                return 0;
+            }
+
+            // a crash between delivery and this commit redelivers the batch: at-least-once
+            jdbcTemplate.batchUpdate(DELETE_SQL, claimed, claimed.size(),
+                    (statement, message) -> statement.setLong(1, message.id()));
+            Instant now = Instant.now();
+            for (OutboxMessage message : claimed) {
+                lag.record(Duration.between(message.createdAt(), now));
+            }
+            delivered.increment(claimed.size());
+            return claimed.size();
+        });
+        if (relayed != null && relayed > 0) {
+            batchTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        return relayed == null ? 0 : relayed;
+    }
+
+    private List<OutboxMessage> claim(int partition) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        if (claimMode == OutboxClaimMode.SKIP_LOCKED) {
+            return jdbcTemplate.query(CLAIM_SKIP_LOCKED_SQL, ROW_MAPPER, now, batchSize);
+        }
+        // ==========partitioned-fallback==========
+        // each thread owns the products whose id falls in its slot, so plain row locks never contend
+        return jdbcTemplate.query(CLAIM_PARTITION_SQL, ROW_MAPPER, now, threadCount, partition, batchSize);
+    }
+
+    private void scheduleRetry(List<OutboxMessage> messages) {
+        Instant now = Instant.now();
+        jdbcTemplate.batchUpdate(RETRY_SQL, messages, messages.size(), (statement, message) -> {
+            statement.setObject(1, now.plus(backoff(message.attempts())).atOffset(ZoneOffset.UTC));
+            statement.setLong(2, message.id());
+        });
+    }
+
+    private Duration backoff(int attempts) {
+        // exponential, capped; the shift is bounded so it cannot overflow
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private OutboxClaimMode detectClaimMode() {
+        // ==========skip-locked-support==========
+        // postgresql 9.5+ and h2 2.2+ both skip rows locked by another claimer
+        return jdbcTemplate.execute((ConnectionCallback<OutboxClaimMode>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String product = metaData.getDatabaseProductName();
+            int major = metaData.getDatabaseMajorVersion();
+            int minor = metaData.getDatabaseMinorVersion();
+            boolean skipLocked = ("PostgreSQL".equals(product) && (major > 9 || (major == 9 && minor >= 5)))
+                    || ("H2".equals(product) && (major > 2 || (major == 2 && minor >= 2)));
+            return skipLocked ? OutboxClaimMode.SKIP_LOCKED : OutboxClaimMode.PARTITIONED;
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package com.zest.productapi.outbox;
+
+// ==========file-context==========
+
+import java.util.List;
+
+public interface OutboxSink {
+
+    // throwing leaves the whole batch in the outbox for a later attempt, so sinks must tolerate redelivery
+    void deliver(List<OutboxMessage> messages) throws Exception;
+}
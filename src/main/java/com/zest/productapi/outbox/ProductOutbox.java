@@ -0,0 +1,112 @@
+package com.zest.productapi.outbox;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.productapi.changes.ProductChangeSequencer;
+import com.zest.productapi.entity.OutboxEvent;
+import com.zest.productapi.entity.Product;
+import com.zest.productapi.entity.ProductChangePending;
+import com.zest.productapi.mapper.ProductMapper;
+import com.zest.productapi.repository.OutboxEventRepository;
+import com.zest.productapi.repository.ProductChangePendingRepository;
+import com.zest.productapi.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class ProductOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ProductChangePendingRepository changePendingRepository;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay outboxRelay;
+    private final ProductChangeSequencer changeSequencer;
+    private final Counter recorded;
+
+    public ProductOutbox(OutboxEventRepository outboxEventRepository,
+                         ProductChangePendingRepository changePendingRepository,
+                         ProductMapper productMapper,
+                         ObjectMapper objectMapper,
+                         OutboxRelay outboxRelay,
+                         ProductChangeSequencer changeSequencer,
+                         MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.changePendingRepository = changePendingRepository;
+        this.productMapper = productMapper;
+        this.objectMapper = objectMapper;
+        this.outboxRelay = outboxRelay;
+        this.changeSequencer = changeSequencer;
+        this.recorded = Counter.builder("outbox.messages.recorded").register(meterRegistry);
+    }
+
+    // ==========same-transaction-as-the-write==========
+    // mandatory propagation: an outbox row must commit or roll back together with the product change
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSaved(String eventType, Product product) {
+        recordSaved(eventType, List.of(product));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSaved(String eventType, Collection<Product> products) {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = new ArrayList<>(products.size());
+        for (Product product : products) {
+            events.add(new OutboxEvent(product.getId(), eventType, toJson(productMapper.toResponse(product)), now));
+        }
+        save(events);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long id) {
+        recordDeleted(List.of(id));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Collection<Long> ids) {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            events.add(new OutboxEvent(id, "DELETE", toJson(Map.of("id", id)), now));
+        }
+        save(events);
+    }
+
+    private void save(List<OutboxEvent> events) {
+        // pooled sequence ids, so a chunk of rows goes out as one jdbc batch
+        if (!events.isEmpty()) {
+            outboxEventRepository.saveAll(events);
+            recorded.increment(events.size());
+            TransactionHooks.afterCommit(outboxRelay::wakeUp);
+
+            // ==========change-feed-marker==========
+            // the sequencer turns committed markers into feed entries, so feed order is commit order
+            List<ProductChangePending> pending = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                pending.add(new ProductChangePending(event.getAggregateId(), event.getEventType()));
+            }
+            changePendingRepository.saveAll(pending);
+            TransactionHooks.afterCommit(changeSequencer::wakeUp);
+        }
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
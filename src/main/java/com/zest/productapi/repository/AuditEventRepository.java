@@ -0,0 +1,20 @@
+package com.zest.productapi.repository;
+
+// ==========file-context==========
+
+import com.zest.productapi.entity.AuditEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AuditEventRepository extends JpaRepository<AuditEvent, Long> {
+
+    @Query("select e from AuditEvent e "
+            + "where (:productId is null or e.productId = :productId) "
+            + "and (:action is null or e.action = :action)")
+    Slice<AuditEvent> findEvents(@Param("productId") Long productId,
+                                 @Param("action") String action,
+                                 Pageable pageable);
+}
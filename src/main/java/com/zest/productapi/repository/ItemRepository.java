@@ -4,10 +4,21 @@ package com.zest.productapi.repository;
 
 import com.zest.productapi.entity.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByProductId(Long productId);
+
+    @Query("select i from Item i where i.product.id in :productIds order by i.product.id, i.id")
+    List<Item> findByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    @Modifying
+    @Query("delete from Item i where i.product.id in :productIds")
+    int deleteByProductIdIn(@Param("productIds") Collection<Long> productIds);
 }
 
@@ -0,0 +1,9 @@
+package com.zest.productapi.repository;
+
+// ==========file-context==========
+
+import com.zest.productapi.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+}
@@ -0,0 +1,9 @@
+package com.zest.productapi.repository;
+
+// ==========file-context==========
+
+import com.zest.productapi.entity.ProductChangePending;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProductChangePendingRepository extends JpaRepository<ProductChangePending, Long> {
+}
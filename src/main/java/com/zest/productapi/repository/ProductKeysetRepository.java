@@ -0,0 +1,13 @@
+package com.zest.productapi.repository;
+
+// ==========file-context==========
+
+import com.zest.productapi.entity.Product;
+import com.zest.productapi.util.ProductCursor;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public interface ProductKeysetRepository {
+    List<Product> findNextPage(String name, ProductCursor after, String sortBy, Sort.Direction direction, int limit);
+}
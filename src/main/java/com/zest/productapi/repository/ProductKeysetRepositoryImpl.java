@@ -0,0 +1,90 @@
+package com.zest.productapi.repository;
+
+// ==========file-context==========
+
+import com.zest.productapi.entity.Product;
+import com.zest.productapi.util.ProductCursor;
+import com.zest.productapi.util.QueryPatternUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductKeysetRepositoryImpl implements ProductKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Product> findNextPage(String name, ProductCursor after, String sortBy, Sort.Direction direction, int limit) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+
+        // ==========filter-and-seek==========
+        List<Predicate> predicates = new ArrayList<>();
+        if (name != null && !name.isBlank()) {
+            predicates.add(cb.like(cb.lower(root.get("productName")),
+                    QueryPatternUtil.containsIgnoreCase(name), QueryPatternUtil.LIKE_ESCAPE));
+        }
+        if (after != null) {
+            predicates.add(seekPredicate(cb, root, after, sortBy, direction));
+        }
+        query.select(root).where(predicates.toArray(Predicate[]::new));
+
+        // ==========deterministic-order==========
+        // Nulls sort as the greatest value (PostgreSQL default), so (key, id) indexes serve both directions.
+        boolean asc = direction.isAscending();
+        List<Order> orders = new ArrayList<>();
+        if (!"id".equals(sortBy)) {
+            Expression<?> key = root.get(sortBy);
+            orders.add(asc ? cb.asc(key, false) : cb.desc(key, true));
+        }
+        orders.add(asc ? cb.asc(root.get("id")) : cb.desc(root.get("id")));
+        query.orderBy(orders);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate seekPredicate(HibernateCriteriaBuilder cb,
+                                    Root<Product> root,
+                                    ProductCursor after,
+                                    String sortBy,
+                                    Sort.Direction direction) {
+        boolean asc = direction.isAscending();
+        Path<Long> id = root.get("id");
+        Predicate idAfter = asc ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id());
+        if ("id".equals(sortBy)) {
+            return idAfter;
+        }
+
+        Path<Comparable> key = root.get(sortBy);
+        Comparable lastKey = (Comparable) after.key();
+        boolean nullable = ProductCursor.isNullableSort(sortBy);
+
+        if (lastKey == null) {
+            // last row was in the null block: ascending only has the rest of that block left
+            Predicate restOfNullBlock = cb.and(cb.isNull(key), idAfter);
+            return asc ? restOfNullBlock : cb.or(restOfNullBlock, cb.isNotNull(key));
+        }
+
+        // ==========index-friendly-row-comparison==========
+        // (key, id) > (k, i) expanded, with a redundant range bound so the planner can seek on the index
+        Predicate bound = asc ? cb.greaterThanOrEqualTo(key, lastKey) : cb.lessThanOrEqualTo(key, lastKey);
+        Predicate strictlyAfter = asc ? cb.greaterThan(key, lastKey) : cb.lessThan(key, lastKey);
+        Predicate seek = cb.and(bound, cb.or(strictlyAfter, cb.and(cb.equal(key, lastKey), idAfter)));
+        return (asc && nullable) ? cb.or(seek, cb.isNull(key)) : seek;
+    }
+}
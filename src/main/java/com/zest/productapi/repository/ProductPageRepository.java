@@ -0,0 +1,11 @@
+package com.zest.productapi.repository;
+
+// ==========file-context==========
+
+import com.zest.productapi.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface ProductPageRepository {
+    Page<Product> findPageWithWindowCount(String name, Pageable pageable);
+}
@@ -0,0 +1,73 @@
+package com.zest.productapi.repository;
+
+// ==========file-context==========
+
+import com.zest.productapi.entity.Product;
+import com.zest.productapi.util.PageableSortUtil;
+import com.zest.productapi.util.QueryPatternUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ProductPageRepositoryImpl implements ProductPageRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Product> findPageWithWindowCount(String name, Pageable pageable) {
+        boolean filtered = name != null && !name.isBlank();
+        String where = filtered
+                ? " where lower(p.productName) like :pattern escape '" + QueryPatternUtil.LIKE_ESCAPE + "'"
+                : "";
+
+        // ==========rows-and-total-in-one-statement==========
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "select p, count(*) over () from Product p" + where + orderBy(pageable.getSort()),
+                Object[].class);
+        if (filtered) {
+            query.setParameter("pattern", QueryPatternUtil.containsIgnoreCase(name));
+        }
+
+        List<Object[]> rows = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        if (rows.isEmpty()) {
+            // past the last page the window has no row to ride on, so fall back to a plain count
+            return new PageImpl<>(List.of(), pageable, pageable.getOffset() == 0 ? 0 : count(filtered, where, name));
+        }
+
+        List<Product> content = rows.stream()
+                .map(row -> (Product) row[0])
+                .toList();
+        long total = ((Number) rows.get(0)[1]).longValue();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private long count(boolean filtered, String where, String name) {
+        TypedQuery<Long> query = entityManager.createQuery("select count(p) from Product p" + where, Long.class);
+        if (filtered) {
+            query.setParameter("pattern", QueryPatternUtil.containsIgnoreCase(name));
+        }
+        return query.getSingleResult();
+    }
+
+    private String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        // sort properties are whitelisted, so they are safe to inline
+        return sort.stream()
+                .map(order -> "p." + PageableSortUtil.validateProductSortBy(order.getProperty()) + " " + order.getDirection().name())
+                .collect(Collectors.joining(", ", " order by ", ""));
+    }
+}
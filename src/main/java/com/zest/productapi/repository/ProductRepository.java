@@ -3,11 +3,45 @@ package com.zest.productapi.repository;
 // ==========file-context==========
 
 import com.zest.productapi.entity.Product;
+import com.zest.productapi.search.ProductNameEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductKeysetRepository, ProductPageRepository {
     Page<Product> findByProductNameContainingIgnoreCase(String productName, Pageable pageable);
-}
 
+    Slice<Product> findSliceBy(Pageable pageable);
+
+    Slice<Product> findSliceByProductNameContainingIgnoreCase(String productName, Pageable pageable);
+
+    long countByProductNameContainingIgnoreCase(String productName);
+
+    List<Product> findByIdIn(Collection<Long> ids, Pageable pageable);
+
+    @Query("select new com.zest.productapi.search.ProductNameEntry(p.id, p.productName) "
+            + "from Product p where p.id > :afterId order by p.id")
+    List<ProductNameEntry> findNameEntriesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // forward-only cursor for exports; callers must consume it inside a read-only transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select p from Product p order by p.id")
+    Stream<Product> streamAllOrderById();
+
+    @Query("select p.id from Product p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
@@ -3,12 +3,19 @@ package com.zest.productapi.repository;
 // ==========file-context==========
 
 import com.zest.productapi.entity.User;
+import com.zest.productapi.security.TokenEpochState;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("select new com.zest.productapi.security.TokenEpochState(u.email, u.tokenEpoch, u.enabled) "
+            + "from User u where u.tokenEpoch > 0 or u.enabled = false")
+    List<TokenEpochState> findTokenEpochStates();
 }
 
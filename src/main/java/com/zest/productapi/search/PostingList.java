@@ -0,0 +1,74 @@
+package com.zest.productapi.search;
+
+// ==========file-context==========
+
+import java.util.Arrays;
+
+final class PostingList {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void add(long id) {
+        // ==========append-fast-path==========
+        // ids are mostly generated in increasing order, so new postings usually land at the tail
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertAt = -position - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    int retainAll(long[] candidates, int count) {
+        // candidates are sorted too, so each lookup can start where the previous one ended
+        int kept = 0;
+        int from = 0;
+        for (int c = 0; c < count && from < size; c++) {
+            int position = Arrays.binarySearch(ids, from, size, candidates[c]);
+            if (position >= 0) {
+                candidates[kept++] = candidates[c];
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+        }
+        return kept;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1) + 1);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.zest.productapi.search;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Keeps the name index in step with writes committed on other instances by reading the change feed.
+// Local writes still reach the index straight after commit and are replayed from the feed later. An entry sequenced
+// before a newer local write can briefly undo it in the index, until that write is sequenced and replayed as well.
+@Component
+public class ProductNameCatchUp {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductNameCatchUp.class);
+    private static final String CURSOR_SQL = "select last_seq, purged_through_seq from product_change_cursor where id = 1";
+    private static final String CHANGES_SQL = "select seq, product_id, change_type, payload "
+            + "from product_change where seq > ? order by seq limit ?";
+
+    private final ProductNameIndex productNameIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    // feed position the index reflects; -1 until the first build
+    private long appliedSeq = -1;
+
+    public ProductNameCatchUp(ProductNameIndex productNameIndex,
+                              JdbcTemplate jdbcTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${app.products.name-index.catch-up-batch-size:1000}") int batchSize) {
+        this.productNameIndex = productNameIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void buildOnStartup() {
+        if (productNameIndex.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.products.name-index.catch-up-interval-ms:1000}",
+            initialDelayString = "${app.products.name-index.catch-up-interval-ms:1000}")
+    public synchronized void catchUp() {
+        if (!productNameIndex.isEnabled() || appliedSeq < 0) {
+            return;
+        }
+        long[] cursor = readCursor();
+        // ==========fell-behind-the-tombstone-purge==========
+        // deletes older than the purge watermark are gone from the feed, so only a full reload is exact
+        if (appliedSeq < cursor[1]) {
+            log.warn("product name index is behind the purged change feed (applied={} purged={}), rebuilding",
+                    appliedSeq, cursor[1]);
+            rebuild();
+            return;
+        }
+
+        int applied = 0;
+        List<FeedEntry> page;
+        do {
+            page = jdbcTemplate.query(CHANGES_SQL, (rs, rowNum) -> new FeedEntry(
+                    rs.getLong("seq"), rs.getLong("product_id"), rs.getString("change_type"), rs.getString("payload")),
+                    appliedSeq, batchSize);
+            for (FeedEntry entry : page) {
+                apply(entry);
+                appliedSeq = entry.seq();
+            }
+            applied += page.size();
+        } while (page.size() == batchSize);
+
+        if (applied > 0) {
+            log.debug("product name index caught up entries={} seq={}", applied, appliedSeq);
+        }
+    }
+
+    private void rebuild() {
+        // ==========feed-position-before-the-snapshot==========
+        // anything sequenced while the snapshot loads is replayed on the next catch-up
+        long seq = readCursor()[0];
+        productNameIndex.rebuild();
+        appliedSeq = seq;
+    }
+
+    private void apply(FeedEntry entry) {
+        if ("DELETE".equals(entry.changeType()) || entry.payload() == null) {
+            productNameIndex.remove(entry.productId());
+            return;
+        }
+        try {
+            String productName = objectMapper.readTree(entry.payload()).path("productName").asText(null);
+            if (productName != null) {
+                productNameIndex.index(entry.productId(), productName);
+            }
+        } catch (JsonProcessingException ex) {
+            log.warn("skipping unreadable change feed entry seq={}: {}", entry.seq(), ex.getMessage());
+        }
+    }
+
+    private long[] readCursor() {
+        List<long[]> rows = jdbcTemplate.query(CURSOR_SQL, (rs, rowNum) ->
+                new long[]{rs.getLong("last_seq"), rs.getLong("purged_through_seq")});
+        return rows.isEmpty() ? new long[]{0, 0} : rows.get(0);
+    }
+
+    private record FeedEntry(long seq, long productId, String changeType, String payload) {
+    }
+}
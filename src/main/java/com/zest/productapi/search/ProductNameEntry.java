@@ -0,0 +1,6 @@
+package com.zest.productapi.search;
+
+// ==========file-context==========
+
+public record ProductNameEntry(Long id, String productName) {
+}
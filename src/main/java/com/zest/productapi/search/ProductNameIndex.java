@@ -0,0 +1,208 @@
+package com.zest.productapi.search;
+
+// ==========file-context==========
+
+import com.zest.productapi.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class ProductNameIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductNameIndex.class);
+    private static final int GRAM = 3;
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final int buildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Long, String> names = new HashMap<>();
+    private final Set<Long> touchedDuringBuild = new HashSet<>();
+    private volatile boolean ready;
+    private boolean building;
+
+    public ProductNameIndex(ProductRepository productRepository,
+                            @Value("${app.products.name-index.enabled:true}") boolean enabled,
+                            @Value("${app.products.name-index.build-batch-size:10000}") int buildBatchSize) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+        this.buildBatchSize = buildBatchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void rebuild() {
+        long started = System.nanoTime();
+        write(() -> {
+            ready = false;
+            building = true;
+            postings.clear();
+            names.clear();
+            touchedDuringBuild.clear();
+        });
+
+        // ==========chunked-keyset-load==========
+        // live writes keep flowing while we load; anything they touched wins over the bulk snapshot
+        long afterId = 0;
+        int loaded = 0;
+        List<ProductNameEntry> batch;
+        do {
+            batch = productRepository.findNameEntriesAfter(afterId, PageRequest.of(0, buildBatchSize));
+            List<ProductNameEntry> chunk = batch;
+            write(() -> chunk.stream()
+                    .filter(entry -> !touchedDuringBuild.contains(entry.id()))
+                    .forEach(entry -> put(entry.id(), entry.productName())));
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).id();
+                loaded += batch.size();
+            }
+        } while (batch.size() == buildBatchSize);
+
+        write(() -> {
+            building = false;
+            touchedDuringBuild.clear();
+            ready = true;
+        });
+        log.info("product name index built entries={} tookMs={}", loaded, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(Long id, String productName) {
+        write(() -> {
+            if (building) {
+                touchedDuringBuild.add(id);
+            }
+            put(id, productName);
+        });
+    }
+
+    public void remove(Long id) {
+        write(() -> {
+            if (building) {
+                touchedDuringBuild.add(id);
+            }
+            drop(id);
+        });
+    }
+
+    public Optional<long[]> findMatchingIds(String query) {
+        // ==========index-not-applicable==========
+        if (!enabled || !ready || query == null) {
+            return Optional.empty();
+        }
+        String needle = normalize(query);
+        if (needle.length() < GRAM) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            // ==========intersect-smallest-first==========
+            List<PostingList> lists = new ArrayList<>();
+            for (long gram : grams(needle)) {
+                PostingList list = postings.get(gram);
+                if (list == null) {
+                    return Optional.of(new long[0]);
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            long[] candidates = lists.get(0).toArray();
+            int count = candidates.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = lists.get(i).retainAll(candidates, count);
+            }
+
+            // ==========verify-substring==========
+            // trigram overlap is necessary but not sufficient, so confirm against the stored name
+            int matched = 0;
+            for (int c = 0; c < count; c++) {
+                if (names.get(candidates[c]).contains(needle)) {
+                    candidates[matched++] = candidates[c];
+                }
+            }
+            return Optional.of(Arrays.copyOf(candidates, matched));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Long id, String productName) {
+        drop(id);
+        String normalized = normalize(productName);
+        names.put(id, normalized);
+        for (long gram : grams(normalized)) {
+            postings.computeIfAbsent(gram, g -> new PostingList()).add(id);
+        }
+    }
+
+    private void drop(Long id) {
+        String previous = names.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (long gram : grams(previous)) {
+            PostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private void write(Runnable mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    static Set<Long> grams(String value) {
+        // three UTF-16 units packed into one long key
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,89 @@
+package com.zest.productapi.search;
+
+// ==========file-context==========
+
+import com.zest.productapi.entity.Product;
+import com.zest.productapi.repository.ProductRepository;
+import com.zest.productapi.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class ProductNameSearch {
+
+    private final ProductNameIndex productNameIndex;
+    private final ProductRepository productRepository;
+    private final int maxSortCandidates;
+
+    public ProductNameSearch(ProductNameIndex productNameIndex,
+                             ProductRepository productRepository,
+                             @Value("${app.products.name-index.max-sort-candidates:5000}") int maxSortCandidates) {
+        this.productNameIndex = productNameIndex;
+        this.productRepository = productRepository;
+        this.maxSortCandidates = maxSortCandidates;
+    }
+
+    public Optional<Page<Product>> search(String name, Pageable pageable) {
+        Optional<long[]> matches = productNameIndex.findMatchingIds(name);
+        if (matches.isEmpty()) {
+            return Optional.empty();
+        }
+
+        long[] ids = matches.get();
+        if (ids.length == 0) {
+            return Optional.of(new PageImpl<>(List.of(), pageable, 0));
+        }
+
+        // ==========id-order-paged-in-memory==========
+        Sort sort = pageable.getSort();
+        Sort.Order idOrder = sort.getOrderFor("id");
+        if (sort.isUnsorted() || (idOrder != null && sort.stream().count() == 1)) {
+            boolean descending = idOrder != null && idOrder.isDescending();
+            int from = (int) Math.min(pageable.getOffset(), ids.length);
+            int to = Math.min(from + pageable.getPageSize(), ids.length);
+            List<Long> pageIds = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                pageIds.add(descending ? ids[ids.length - 1 - i] : ids[i]);
+            }
+
+            Map<Long, Product> rows = productRepository.findAllById(pageIds)
+                    .stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            List<Product> content = pageIds.stream()
+                    .map(rows::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            return Optional.of(new PageImpl<>(content, pageable, ids.length));
+        }
+
+        // ==========other-orders-sorted-by-database==========
+        if (ids.length > maxSortCandidates) {
+            return Optional.empty();
+        }
+        List<Product> content = productRepository.findByIdIn(Arrays.stream(ids).boxed().toList(), pageable);
+        return Optional.of(new PageImpl<>(content, pageable, ids.length));
+    }
+
+    public void onSaved(Product product) {
+        Long id = product.getId();
+        String productName = product.getProductName();
+        TransactionHooks.afterCommit(() -> productNameIndex.index(id, productName));
+    }
+
+    public void onDeleted(Long id) {
+        TransactionHooks.afterCommit(() -> productNameIndex.remove(id));
+    }
+}
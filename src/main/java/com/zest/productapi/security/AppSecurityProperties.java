@@ -10,6 +10,7 @@ import org.springframework.stereotype.Component;
 public class AppSecurityProperties {
 
     private boolean requireHttps = false;
+    private boolean statelessAuth = false;
 
     public boolean isRequireHttps() {
         return requireHttps;
@@ -18,5 +19,12 @@ public class AppSecurityProperties {
     public void setRequireHttps(boolean requireHttps) {
         this.requireHttps = requireHttps;
     }
-}
 
+    public boolean isStatelessAuth() {
+        return statelessAuth;
+    }
+
+    public void setStatelessAuth(boolean statelessAuth) {
+        this.statelessAuth = statelessAuth;
+    }
+}
@@ -0,0 +1,130 @@
+package com.zest.productapi.security;
+
+// ==========file-context==========
+
+import com.zest.productapi.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Runs every hash and hash check on the bounded password-hashing pool. A caller waits at most
+// max-queue-wait for a hashing thread plus one hash; beyond that, or with the queue full, it gets a 503.
+public class BulkheadPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolTaskExecutor executor;
+    private final long maxQueueWaitNanos;
+    private final Duration retryAfter;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWait;
+    private final Counter queueFull;
+    private final Counter deadlineExceeded;
+
+    public BulkheadPasswordEncoder(PasswordEncoder delegate,
+                                   ThreadPoolTaskExecutor executor,
+                                   MeterRegistry meterRegistry,
+                                   Duration maxQueueWait,
+                                   Duration retryAfter) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+        this.retryAfter = retryAfter;
+
+        // ==========bulkhead-metrics==========
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash").tag("operation", "matches").register(meterRegistry);
+        this.queueWait = Timer.builder("auth.password.queue.wait")
+                .description("Time from submission until a hashing thread picked the work up")
+                .register(meterRegistry);
+        this.queueFull = Counter.builder("auth.password.rejected")
+                .description("Password hashing requests turned away with 503")
+                .tag("reason", "queue-full")
+                .register(meterRegistry);
+        this.deadlineExceeded = Counter.builder("auth.password.rejected")
+                .description("Password hashing requests turned away with 503")
+                .tag("reason", "queue-wait")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.size", executor, ThreadPoolTaskExecutor::getQueueSize).register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // parses the hash prefix only
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T hash(Timer timer, Supplier<T> work) {
+        long submitted = System.nanoTime();
+        // whoever flips this first decides: the hashing thread runs the work, or the caller gives up on it
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+                long started = System.nanoTime();
+                queueWait.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return work.get();
+                } finally {
+                    timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            queueFull.increment();
+            throw unavailable();
+        }
+
+        try {
+            // ==========queue-time-deadline==========
+            try {
+                return result.get(maxQueueWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                if (claimed.compareAndSet(false, true)) {
+                    // still queued: the hashing thread will skip it
+                    deadlineExceeded.increment();
+                    throw unavailable();
+                }
+                // already hashing, which takes a bounded time
+                return result.get();
+            }
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            claimed.set(true);
+            throw unavailable();
+        }
+    }
+
+    private ServiceUnavailableException unavailable() {
+        return new ServiceUnavailableException("Too many sign-in attempts in progress, retry later", retryAfter);
+    }
+}
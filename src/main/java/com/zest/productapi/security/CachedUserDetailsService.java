@@ -0,0 +1,72 @@
+package com.zest.productapi.security;
+
+// ==========file-context==========
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zest.productapi.cache.CacheLoads;
+import com.zest.productapi.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@Service
+@Primary
+public class CachedUserDetailsService implements UserDetailsService {
+
+    private final CustomUserDetailsService delegate;
+    private final AsyncCache<String, UserDetails> cache;
+    private final Counter invalidations;
+
+    public CachedUserDetailsService(CustomUserDetailsService delegate,
+                                    @Value("${app.security.user-details-cache.max-size:10000}") long maxSize,
+                                    @Value("${app.security.user-details-cache.ttl:30s}") Duration ttl,
+                                    MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", "userDetails")
+                .description("Entries dropped because the user changed")
+                .register(meterRegistry);
+        // hit/miss counts and cache.load.duration come from the Caffeine stats
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        // ==========read-through==========
+        // unknown users throw out of the loader, so they are never cached
+        return CacheLoads.getOrLoad(cache, email, this::loadWithoutPassword);
+    }
+
+    public void evictAfterCommit(String email) {
+        TransactionHooks.afterCommit(() -> {
+            cache.synchronous().invalidate(email);
+            invalidations.increment();
+        });
+    }
+
+    private UserDetails loadWithoutPassword(String email) {
+        // ==========no-password-hash-in-cache==========
+        // the bearer-token path never checks the password; login keeps using the uncached delegate
+        UserDetails loaded = delegate.loadUserByUsername(email);
+        return User.withUsername(loaded.getUsername())
+                .password("")
+                .authorities(loaded.getAuthorities())
+                .disabled(!loaded.isEnabled())
+                .build();
+    }
+}
@@ -5,7 +5,6 @@ package com.zest.productapi.security;
 import com.zest.productapi.entity.User;
 import com.zest.productapi.repository.UserRepository;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -30,7 +29,7 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         Set<GrantedAuthority> authorities = user.getRoles()
                 .stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName().name()))
+                .map(role -> RoleAuthorities.of(role.getName()))
                 .collect(Collectors.toSet());
 
         return org.springframework.security.core.userdetails.User.builder()
@@ -25,10 +25,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final AppSecurityProperties appSecurityProperties;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   UserDetailsService userDetailsService,
+                                   TokenEpochRegistry tokenEpochRegistry,
+                                   AppSecurityProperties appSecurityProperties) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.tokenEpochRegistry = tokenEpochRegistry;
+        this.appSecurityProperties = appSecurityProperties;
     }
 
     @Override
@@ -44,12 +51,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
 
             String jwt = authHeader.substring(7);
-            String userEmail = jwtUtil.extractUsername(jwt);
+            VerifiedToken token = jwtUtil.verify(jwt);
 
             // ==========token-validation-and-context==========
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-                if (jwtUtil.isTokenValid(jwt, userDetails)) {
+            if (token.subject() != null
+                    && tokenEpochRegistry.accepts(token)
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = appSecurityProperties.isStatelessAuth()
+                        ? toStatelessPrincipal(token)
+                        : userDetailsService.loadUserByUsername(token.subject());
+                if (jwtUtil.isTokenValid(token, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -66,4 +77,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails toStatelessPrincipal(VerifiedToken token) {
+        // ==========authorities-from-roles-claim==========
+        return org.springframework.security.core.userdetails.User.withUsername(token.subject())
+                .password("")
+                .authorities(RoleAuthorities.fromNames(token.roles()))
+                .build();
+    }
 }
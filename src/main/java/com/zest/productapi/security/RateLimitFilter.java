@@ -0,0 +1,161 @@
+package com.zest.productapi.security;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.productapi.dto.ApiErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Runs right after JwtAuthenticationFilter: authenticated requests are limited per token subject, anonymous ones
+// (login, register, refresh) per client address. Only the routes under app.rate-limit.routes are limited.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final List<LimitedRoute> routes;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.routes = !properties.isEnabled() ? List.of() : properties.getRoutes().stream()
+                .map(route -> new LimitedRoute(
+                        PathPatternParser.defaultInstance.parse(route.getPath()),
+                        literalPart(route.getPath()),
+                        route.getPath().endsWith("/**"),
+                        route.getMethods().stream().map(method -> method.toUpperCase(Locale.ROOT)).collect(Collectors.toSet()),
+                        route.getQueryParam(),
+                        new TokenBuckets(route.getName(), route.getLimit(), route.getPeriod(),
+                                route.getBurst() > 0 ? route.getBurst() : route.getLimit(),
+                                properties.getIdleTimeout(), properties.getMaxBuckets(), meterRegistry)))
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        for (LimitedRoute route : routes) {
+            route.buckets().evictIdle();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        TokenBuckets buckets = match(request);
+        if (buckets == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // ==========rate-limit-headers==========
+        TokenBuckets.Decision decision = buckets.tryAcquire(client(request));
+        response.setHeader(LIMIT_HEADER, Long.toString(decision.limit()));
+        response.setHeader(REMAINING_HEADER, Long.toString(decision.remaining()));
+        response.setHeader(RESET_HEADER, Long.toString(decision.resetSeconds()));
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(decision.retryAfterSeconds()));
+        ApiErrorResponse errorResponse = new ApiErrorResponse(
+                Instant.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                "Rate limit exceeded, retry in " + decision.retryAfterSeconds() + "s",
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private TokenBuckets match(HttpServletRequest request) {
+        // ==========route-match==========
+        String uri = request.getRequestURI();
+        // without escapes or path parameters the URI reads the same decoded, so literal routes compare strings;
+        // anything else goes through the parsed pattern, so encoding a path cannot slip past its limit
+        boolean plain = uri.indexOf('%') < 0 && uri.indexOf(';') < 0;
+        PathContainer path = null;
+        for (LimitedRoute route : routes) {
+            if (!route.methods().isEmpty() && !route.methods().contains(request.getMethod())) {
+                continue;
+            }
+            if (route.queryParam() != null && request.getParameter(route.queryParam()) == null) {
+                continue;
+            }
+            boolean matches;
+            if (plain && route.literal() != null) {
+                matches = route.matchesLiteral(uri);
+            } else {
+                if (path == null) {
+                    path = PathContainer.parsePath(uri);
+                }
+                matches = route.pattern().matches(path);
+            }
+            if (matches) {
+                return route.buckets();
+            }
+        }
+        return null;
+    }
+
+    // "/a/b" and "/a/b/**" without wildcards or variables before the tail; null for any other pattern
+    private static String literalPart(String pattern) {
+        String literal = pattern.endsWith("/**") ? pattern.substring(0, pattern.length() - 3) : pattern;
+        return literal.chars().anyMatch(c -> c == '*' || c == '?' || c == '{') ? null : literal;
+    }
+
+    private static String client(HttpServletRequest request) {
+        // ==========bucket-key==========
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "sub:" + authentication.getName();
+        }
+        // behind a proxy this is the proxy unless server.forward-headers-strategy is set
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private record LimitedRoute(PathPattern pattern, String literal, boolean subtree,
+                                Set<String> methods, String queryParam, TokenBuckets buckets) {
+
+        boolean matchesLiteral(String uri) {
+            if (uri.equals(literal)) {
+                return true;
+            }
+            return subtree && uri.length() > literal.length() && uri.startsWith(literal) && uri.charAt(literal.length()) == '/';
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.zest.productapi.security;
+
+// ==========file-context==========
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Optional;
+
+// Token digest -> refresh_token row id for recently issued tokens. A hit turns the refresh lookup into
+// a primary-key read; the caller still compares the row's digest, so a stale entry only costs a fallback.
+@Component
+public class RecentRefreshTokens {
+
+    private final Cache<ByteBuffer, Long> cache;
+
+    public RecentRefreshTokens(@Value("${app.jwt.refresh-cache.max-size:100000}") long maxSize,
+                               @Value("${app.jwt.refresh-cache.ttl:30m}") Duration ttl,
+                               MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "refresh-tokens");
+    }
+
+    public Optional<Long> find(byte[] tokenHash) {
+        return Optional.ofNullable(cache.getIfPresent(ByteBuffer.wrap(tokenHash)));
+    }
+
+    public void remember(byte[] tokenHash, Long tokenId) {
+        cache.put(ByteBuffer.wrap(tokenHash.clone()), tokenId);
+    }
+
+    public void forget(byte[] tokenHash) {
+        cache.invalidate(ByteBuffer.wrap(tokenHash));
+    }
+}
@@ -0,0 +1,122 @@
+package com.zest.productapi.security;
+
+// ==========file-context==========
+
+import com.zest.productapi.config.JobLocks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class RefreshTokenReaper {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenReaper.class);
+    private static final String LOCK_NAME = "refresh-token-reaper";
+    // revocation also pulls expires_at forward, so one range scan on idx_refresh_token_expires_at finds both;
+    // the outer predicate is re-checked against a row a concurrent login has just rotated
+    private static final String DELETE_EXPIRED_SQL = "delete from refresh_token where expires_at < ? and id in "
+            + "(select id from refresh_token where expires_at < ? order by expires_at limit ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLocks jobLocks;
+    private final boolean enabled;
+    private final Duration grace;
+    private final int batchSize;
+    private final long rowsPerSecond;
+    private final Duration maxRunTime;
+    private final Counter reaped;
+    private final Counter lockSkips;
+    private final Timer runTimer;
+
+    public RefreshTokenReaper(JdbcTemplate jdbcTemplate,
+                              JobLocks jobLocks,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.jwt.reaper.enabled:true}") boolean enabled,
+                              @Value("${app.jwt.reaper.grace:1h}") Duration grace,
+                              @Value("${app.jwt.reaper.batch-size:500}") int batchSize,
+                              @Value("${app.jwt.reaper.rows-per-second:5000}") long rowsPerSecond,
+                              @Value("${app.jwt.reaper.max-run-time:2m}") Duration maxRunTime) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobLocks = jobLocks;
+        this.enabled = enabled;
+        this.grace = grace;
+        this.batchSize = batchSize;
+        this.rowsPerSecond = rowsPerSecond;
+        this.maxRunTime = maxRunTime;
+
+        // ==========reaper-metrics==========
+        this.reaped = Counter.builder("refresh.tokens.reaped")
+                .description("Expired or revoked refresh tokens deleted")
+                .register(meterRegistry);
+        this.lockSkips = Counter.builder("refresh.tokens.reaper.skipped")
+                .description("Scheduled runs skipped because another instance held the lock")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("refresh.tokens.reaper.run").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.reaper.interval-ms:600000}",
+            initialDelayString = "${app.jwt.reaper.interval-ms:600000}")
+    public void reapExpired() {
+        if (enabled) {
+            reap(Instant.now().minus(grace));
+        }
+    }
+
+    public long reap(Instant cutoff) {
+        // ==========single-node==========
+        // the lease outlives the longest run, so it cannot lapse while this node is still deleting
+        if (!jobLocks.tryAcquire(LOCK_NAME, maxRunTime.plusMinutes(1))) {
+            lockSkips.increment();
+            return 0;
+        }
+        long started = System.nanoTime();
+        long total = 0;
+        try {
+            total = deleteInBatches(cutoff, started);
+        } finally {
+            jobLocks.release(LOCK_NAME);
+            runTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        if (total > 0) {
+            log.info("refresh token reaper removed={} cutoff={} tookMs={}",
+                    total, cutoff, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+        return total;
+    }
+
+    private long deleteInBatches(Instant cutoff, long started) {
+        long deadline = started + maxRunTime.toNanos();
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(DELETE_EXPIRED_SQL,
+                    cutoff.atOffset(ZoneOffset.UTC), cutoff.atOffset(ZoneOffset.UTC), batchSize);
+            total += deleted;
+            reaped.increment(deleted);
+
+            // ==========rate-limit==========
+            // pace batches so the run averages at most rows-per-second; the rest of the backlog waits for the next run
+            long pauseNanos = started + TimeUnit.SECONDS.toNanos(total) / rowsPerSecond - System.nanoTime();
+            if (deleted == batchSize && pauseNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(pauseNanos);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } while (deleted == batchSize && System.nanoTime() < deadline);
+        return total;
+    }
+}
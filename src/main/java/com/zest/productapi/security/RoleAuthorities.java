@@ -0,0 +1,38 @@
+package com.zest.productapi.security;
+
+// ==========file-context==========
+
+import com.zest.productapi.entity.RoleName;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public final class RoleAuthorities {
+
+    // ==========one-shared-instance-per-role==========
+    private static final Map<String, GrantedAuthority> INTERNED = Arrays.stream(RoleName.values())
+            .collect(Collectors.toUnmodifiableMap(RoleName::name, role -> new SimpleGrantedAuthority(role.name())));
+
+    private RoleAuthorities() {
+    }
+
+    public static GrantedAuthority of(RoleName roleName) {
+        return INTERNED.get(roleName.name());
+    }
+
+    public static GrantedAuthority of(String authority) {
+        GrantedAuthority interned = INTERNED.get(authority);
+        return interned != null ? interned : new SimpleGrantedAuthority(authority);
+    }
+
+    public static Set<GrantedAuthority> fromNames(Collection<String> authorities) {
+        return authorities.stream()
+                .map(RoleAuthorities::of)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
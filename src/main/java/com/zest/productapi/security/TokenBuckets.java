@@ -0,0 +1,130 @@
+package com.zest.productapi.security;
+
+// ==========file-context==========
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// One token bucket per client for a single route. A bucket is one AtomicLong: the nanoTime at which it is full
+// again (the GCRA form of a token bucket). Taking a token moves that time one interval forward with a CAS, and
+// a request that would push it more than burst intervals ahead is refused, so no bucket ever needs a lock.
+public class TokenBuckets {
+
+    private static final int EVICTION_SCAN = 32;
+
+    private final long burst;
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final long idleNanos;
+    private final long maxBuckets;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Counter rejected;
+    private final Counter untracked;
+
+    public TokenBuckets(String route, long limit, Duration period, long burst,
+                        Duration idleTimeout, long maxBuckets, MeterRegistry meterRegistry) {
+        if (limit <= 0 || burst <= 0 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Invalid rate limit for route " + route);
+        }
+        this.burst = burst;
+        this.intervalNanos = Math.max(1, period.toNanos() / limit);
+        this.capacityNanos = intervalNanos * burst;
+        this.idleNanos = idleTimeout.toNanos();
+        this.maxBuckets = maxBuckets;
+
+        this.rejected = Counter.builder("rate.limit.rejected")
+                .description("Requests refused with 429")
+                .tag("route", route)
+                .register(meterRegistry);
+        this.untracked = Counter.builder("rate.limit.untracked")
+                .description("Requests let through without a bucket because max-buckets were all in use")
+                .tag("route", route)
+                .register(meterRegistry);
+        Gauge.builder("rate.limit.buckets", buckets, Map::size).tag("route", route).register(meterRegistry);
+    }
+
+    public Decision tryAcquire(String client) {
+        return tryAcquire(client, System.nanoTime());
+    }
+
+    Decision tryAcquire(String client, long now) {
+        AtomicLong bucket = buckets.get(client);
+        if (bucket == null) {
+            // ==========admit-new-clients-past-max-buckets==========
+            // a full bucket makes room; when none is found, the client goes through uncounted rather than sharing
+            // one bucket with every other newcomer, which an address-rotating client could keep empty for everyone
+            if (buckets.size() >= maxBuckets && !evictOneFull(now)) {
+                untracked.increment();
+                return new Decision(true, burst, burst - 1, seconds(intervalNanos), 0);
+            }
+            bucket = buckets.computeIfAbsent(client, key -> new AtomicLong(now));
+        }
+
+        // ==========take-one-token==========
+        while (true) {
+            long fullAt = bucket.get();
+            // relative to now, so nanoTime wrapping around does not matter
+            long ahead = Math.max(fullAt - now, 0) + intervalNanos;
+            if (ahead > capacityNanos) {
+                rejected.increment();
+                return new Decision(false, burst, 0, seconds(ahead - intervalNanos), seconds(ahead - capacityNanos));
+            }
+            if (bucket.compareAndSet(fullAt, now + ahead)) {
+                return new Decision(true, burst, (capacityNanos - ahead) / intervalNanos, seconds(ahead), 0);
+            }
+        }
+    }
+
+    public int evictIdle() {
+        return evictIdle(System.nanoTime());
+    }
+
+    int evictIdle(long now) {
+        // ==========idle-eviction==========
+        // a bucket whose full time has passed holds burst tokens, exactly like a new one, so dropping it loses
+        // nothing; a request racing the removal takes its token from the dropped bucket at most once
+        int evicted = 0;
+        for (Iterator<AtomicLong> it = buckets.values().iterator(); it.hasNext(); ) {
+            if (now - it.next().get() >= idleNanos) {
+                it.remove();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private boolean evictOneFull(long now) {
+        // bounded, so a map full of busy buckets costs a new client a few reads, not a sweep
+        int scanned = 0;
+        for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            if (now - entry.getValue().get() >= 0 && buckets.remove(entry.getKey(), entry.getValue())) {
+                return true;
+            }
+            if (++scanned == EVICTION_SCAN) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private static long seconds(long nanos) {
+        // headers take whole seconds; round up so clients never come back early
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    // resetSeconds: until the bucket is full again; retryAfterSeconds: until the next token, refused requests only
+    public record Decision(boolean allowed, long limit, long remaining, long resetSeconds, long retryAfterSeconds) {
+    }
+}
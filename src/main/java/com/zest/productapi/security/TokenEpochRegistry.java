@@ -0,0 +1,51 @@
+package com.zest.productapi.security;
+
+// ==========file-context==========
+
+import com.zest.productapi.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TokenEpochRegistry implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenEpochRegistry.class);
+
+    private final UserRepository userRepository;
+    private final Map<String, Long> epochs = new ConcurrentHashMap<>();
+    private final Set<String> disabled = ConcurrentHashMap.newKeySet();
+
+    public TokenEpochRegistry(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // ==========load-before-web-server-starts==========
+        // only users that ever revoked tokens or were disabled need an entry
+        userRepository.findTokenEpochStates().forEach(this::update);
+        log.info("token epoch registry loaded revoked={} disabled={}", epochs.size(), disabled.size());
+    }
+
+    public boolean accepts(VerifiedToken token) {
+        String subject = token.subject();
+        return !disabled.contains(subject) && token.tokenEpoch() >= epochs.getOrDefault(subject, 0L);
+    }
+
+    public void update(TokenEpochState state) {
+        if (state.tokenEpoch() > 0) {
+            epochs.merge(state.email(), state.tokenEpoch(), Math::max);
+        }
+        if (state.enabled()) {
+            disabled.remove(state.email());
+        } else {
+            disabled.add(state.email());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.zest.productapi.security;
+
+// ==========file-context==========
+
+public record TokenEpochState(
+        String email,
+        long tokenEpoch,
+        boolean enabled
+) {
+}
@@ -0,0 +1,18 @@
+package com.zest.productapi.security;
+
+// ==========file-context==========
+
+import java.time.Instant;
+import java.util.List;
+
+public record VerifiedToken(
+        String subject,
+        List<String> roles,
+        long tokenEpoch,
+        Instant expiresAt
+) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -2,7 +2,16 @@ package com.zest.productapi.service;
 
 // ==========file-context==========
 
+import com.zest.productapi.audit.ProductAuditEvent;
+import com.zest.productapi.dto.AuditEventResponse;
+import com.zest.productapi.dto.PageResponse;
+
+import java.util.List;
+
 public interface AuditLogService {
     void logProductEvent(String action, Long productId, String actor);
-}
 
+    void logProductEvents(List<ProductAuditEvent> events);
+
+    PageResponse<AuditEventResponse> getEvents(Long productId, String action, int page, int size);
+}
@@ -13,5 +13,7 @@ public interface AuthService {
     AuthResponse login(LoginRequest request);
 
     AuthResponse refresh(RefreshTokenRequest request);
+
+    void logout(String email);
 }
 
@@ -2,18 +2,39 @@ package com.zest.productapi.service;
 
 // ==========file-context==========
 
+import com.zest.productapi.dto.BulkOperationResponse;
+import com.zest.productapi.dto.CursorPageResponse;
 import com.zest.productapi.dto.ItemResponse;
 import com.zest.productapi.dto.PageResponse;
+import com.zest.productapi.dto.PageTotals;
+import com.zest.productapi.dto.ProductBulkUpdateRequest;
+import com.zest.productapi.dto.ProductChangesResponse;
 import com.zest.productapi.dto.ProductCreateRequest;
+import com.zest.productapi.dto.ProductFileFormat;
+import com.zest.productapi.dto.ProductImportResponse;
 import com.zest.productapi.dto.ProductResponse;
 import com.zest.productapi.dto.ProductUpdateRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface ProductService {
     PageResponse<ProductResponse> getProducts(String name, Pageable pageable);
 
+    PageResponse<ProductResponse> getProducts(String name, Pageable pageable, PageTotals totals);
+
+    PageResponse<ProductResponse> getProducts(String name, Pageable pageable, PageTotals totals, boolean includeItems);
+
+    CursorPageResponse<ProductResponse> getProductsByCursor(String name, String cursor, int size, String sortBy, Sort.Direction direction);
+
     ProductResponse getProductById(Long id);
 
     ProductResponse createProduct(ProductCreateRequest request);
@@ -22,6 +43,22 @@ public interface ProductService {
 
     void deleteProduct(Long id);
 
+    BulkOperationResponse createProducts(List<ProductCreateRequest> requests);
+
+    BulkOperationResponse updateProducts(List<ProductBulkUpdateRequest> requests);
+
+    BulkOperationResponse deleteProducts(List<Long> ids);
+
+    long exportProducts(ProductFileFormat format, OutputStream out) throws IOException;
+
+    ProductImportResponse importProducts(ProductFileFormat format, String importId, InputStream body) throws IOException;
+
+    CompletableFuture<ProductChangesResponse> getChanges(String since, int limit, Duration wait);
+
+    SseEmitter streamChanges(String since);
+
     List<ItemResponse> getItemsByProductId(Long productId);
+
+    Map<Long, List<ItemResponse>> getItemsByProductIds(List<Long> productIds);
 }
 
@@ -2,21 +2,62 @@ package com.zest.productapi.service.impl;
 
 // ==========file-context==========
 
+import com.zest.productapi.audit.AuditDispatcher;
+import com.zest.productapi.audit.ProductAuditEvent;
+import com.zest.productapi.dto.AuditEventResponse;
+import com.zest.productapi.dto.PageResponse;
+import com.zest.productapi.dto.PageTotals;
+import com.zest.productapi.entity.AuditEvent;
+import com.zest.productapi.repository.AuditEventRepository;
 import com.zest.productapi.service.AuditLogService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
 
 @Service
 public class AuditLogServiceImpl implements AuditLogService {
 
-    private static final Logger log = LoggerFactory.getLogger(AuditLogServiceImpl.class);
+    private final AuditDispatcher auditDispatcher;
+    private final AuditEventRepository auditEventRepository;
+
+    public AuditLogServiceImpl(AuditDispatcher auditDispatcher, AuditEventRepository auditEventRepository) {
+        this.auditDispatcher = auditDispatcher;
+        this.auditEventRepository = auditEventRepository;
+    }
 
     @Override
-    @Async("auditTaskExecutor")
     public void logProductEvent(String action, Long productId, String actor) {
-        log.info("audit action={} productId={} actor={}", action, productId, actor == null ? "system" : actor);
+        // ==========hand-off-to-ring-buffer==========
+        // the caller only pays for one CAS unless the buffer is full; the writer thread does the insert
+        auditDispatcher.dispatch(new ProductAuditEvent(action, productId, actor));
     }
-}
 
+    @Override
+    public void logProductEvents(List<ProductAuditEvent> events) {
+        for (ProductAuditEvent event : events) {
+            auditDispatcher.dispatch(event);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<AuditEventResponse> getEvents(Long productId, String action, int page, int size) {
+        // ==========newest-first-without-count==========
+        Slice<AuditEvent> events = auditEventRepository.findEvents(
+                productId,
+                action == null || action.isBlank() ? null : action.toUpperCase(Locale.ROOT),
+                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id")));
+
+        List<AuditEventResponse> content = events.stream()
+                .map(event -> new AuditEventResponse(event.getId(), event.getAction(), event.getProductId(),
+                        event.getActor(), event.getOccurredOn()))
+                .toList();
+        return new PageResponse<>(content, events.getNumber(), events.getSize(),
+                null, null, events.isLast(), PageTotals.NONE);
+    }
+}
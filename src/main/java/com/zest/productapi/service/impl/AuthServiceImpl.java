@@ -15,8 +15,16 @@ import com.zest.productapi.exception.ConflictException;
 import com.zest.productapi.repository.RefreshTokenRepository;
 import com.zest.productapi.repository.RoleRepository;
 import com.zest.productapi.repository.UserRepository;
+import com.zest.productapi.security.CachedUserDetailsService;
 import com.zest.productapi.security.JwtUtil;
+import com.zest.productapi.security.RecentRefreshTokens;
+import com.zest.productapi.security.RefreshTokens;
+import com.zest.productapi.security.RoleAuthorities;
+import com.zest.productapi.security.TokenEpochRegistry;
+import com.zest.productapi.security.TokenEpochState;
 import com.zest.productapi.service.AuthService;
+import com.zest.productapi.util.TransactionHooks;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -24,13 +32,16 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.security.MessageDigest;
 import java.time.Instant;
 import java.util.Set;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
+@Timed(value = "service.invocations", histogram = true)
 @Service
 public class AuthServiceImpl implements AuthService {
 
@@ -40,6 +51,10 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final CachedUserDetailsService cachedUserDetailsService;
+    private final RecentRefreshTokens recentRefreshTokens;
+    private final TransactionTemplate transactionTemplate;
     private final long accessTokenExpirationMs;
     private final long refreshTokenExpirationMs;
 
@@ -49,6 +64,10 @@ public class AuthServiceImpl implements AuthService {
                            PasswordEncoder passwordEncoder,
                            AuthenticationManager authenticationManager,
                            JwtUtil jwtUtil,
+                           TokenEpochRegistry tokenEpochRegistry,
+                           CachedUserDetailsService cachedUserDetailsService,
+                           RecentRefreshTokens recentRefreshTokens,
+                           PlatformTransactionManager transactionManager,
                            @Value("${app.jwt.access-token-expiration-ms}") long accessTokenExpirationMs,
                            @Value("${app.jwt.refresh-token-expiration-ms}") long refreshTokenExpirationMs) {
         this.userRepository = userRepository;
@@ -57,72 +76,116 @@ public class AuthServiceImpl implements AuthService {
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
+        this.tokenEpochRegistry = tokenEpochRegistry;
+        this.cachedUserDetailsService = cachedUserDetailsService;
+        this.recentRefreshTokens = recentRefreshTokens;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
         this.accessTokenExpirationMs = accessTokenExpirationMs;
         this.refreshTokenExpirationMs = refreshTokenExpirationMs;
     }
 
     @Override
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
         // ==========register-validation==========
         if (userRepository.existsByEmail(request.email())) {
             throw new ConflictException("Email already registered");
         }
 
-        Role userRole = roleRepository.findByName(RoleName.ROLE_USER)
-                .orElseThrow(() -> new AuthException("Default role ROLE_USER is not configured"));
-
-        User user = new User();
-        user.setFullName(request.fullName());
-        user.setEmail(request.email());
-        user.setPassword(passwordEncoder.encode(request.password()));
-        user.setEnabled(true);
-        user.getRoles().add(userRole);
-
-        User savedUser = userRepository.save(user);
-        return createAuthPayload(savedUser);
+        // ==========hash-outside-transaction==========
+        // password hashing waits on the bounded hashing pool, so it must not hold a database connection meanwhile
+        String encodedPassword = passwordEncoder.encode(request.password());
+
+        return transactionTemplate.execute(status -> {
+            Role userRole = roleRepository.findByName(RoleName.ROLE_USER)
+                    .orElseThrow(() -> new AuthException("Default role ROLE_USER is not configured"));
+
+            User user = new User();
+            user.setFullName(request.fullName());
+            user.setEmail(request.email());
+            user.setPassword(encodedPassword);
+            user.setEnabled(true);
+            user.getRoles().add(userRole);
+
+            User savedUser = userRepository.save(user);
+            cachedUserDetailsService.evictAfterCommit(savedUser.getEmail());
+            return createAuthPayload(savedUser);
+        });
     }
 
     @Override
-    @Transactional
     public AuthResponse login(LoginRequest request) {
         // ==========credential-check==========
+        // runs before the transaction for the same reason as in register
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.email(), request.password())
         );
 
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new AuthException("User not found"));
-
-        return createAuthPayload(user);
+        return transactionTemplate.execute(status -> {
+            User user = userRepository.findByEmail(userDetails.getUsername())
+                    .orElseThrow(() -> new AuthException("User not found"));
+            return createAuthPayload(user);
+        });
     }
 
     @Override
     @Transactional
     public AuthResponse refresh(RefreshTokenRequest request) {
         // ==========refresh-token-lookup==========
-        RefreshToken token = refreshTokenRepository.findByToken(request.refreshToken())
+        // recently issued tokens resolve by primary key; everything else goes through the 32-byte digest index
+        byte[] tokenHash = RefreshTokens.hash(request.refreshToken());
+        RefreshToken token = recentRefreshTokens.find(tokenHash)
+                .flatMap(refreshTokenRepository::findById)
+                .filter(candidate -> MessageDigest.isEqual(candidate.getTokenHash(), tokenHash))
+                .or(() -> refreshTokenRepository.findByTokenHash(tokenHash))
                 .orElseThrow(() -> new AuthException("Invalid refresh token"));
 
         if (token.isRevoked() || token.getExpiresAt().isBefore(Instant.now())) {
-            token.setRevoked(true);
+            revoke(token);
             refreshTokenRepository.save(token);
             throw new AuthException("Refresh token is expired or revoked");
         }
 
-        User user = token.getUser();
-        token.setRevoked(true);
-        refreshTokenRepository.save(token);
+        // rotating the loaded row in place replaces the old digest, so the presented token stops working
+        return createAuthPayload(token.getUser(), token);
+    }
 
-        return createAuthPayload(user);
+    @Override
+    @Transactional
+    public void logout(String email) {
+        // ==========revoke-issued-tokens==========
+        // bumping the epoch invalidates every access token issued so far without a per-request lookup
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new AuthException("User not found"));
+        user.setTokenEpoch(user.getTokenEpoch() + 1);
+        userRepository.save(user);
+
+        refreshTokenRepository.findByUserId(user.getId()).ifPresent(token -> {
+            revoke(token);
+            refreshTokenRepository.save(token);
+        });
+
+        TokenEpochState state = new TokenEpochState(user.getEmail(), user.getTokenEpoch(), user.isEnabled());
+        TransactionHooks.afterCommit(() -> tokenEpochRegistry.update(state));
+        cachedUserDetailsService.evictAfterCommit(user.getEmail());
     }
 
     private AuthResponse createAuthPayload(User user) {
+        // ==========single-refresh-token-per-user==========
+        RefreshToken token = refreshTokenRepository.findByUserId(user.getId())
+                .orElseGet(() -> {
+                    RefreshToken created = new RefreshToken();
+                    created.setUser(user);
+                    return created;
+                });
+        return createAuthPayload(user, token);
+    }
+
+    private AuthResponse createAuthPayload(User user, RefreshToken token) {
         // ==========access-token-creation==========
-        String accessToken = jwtUtil.generateAccessToken(toUserDetails(user));
+        String accessToken = jwtUtil.generateAccessToken(toUserDetails(user), user.getTokenEpoch());
 
-        RefreshToken newRefreshToken = rotateRefreshToken(user);
+        String refreshToken = rotateRefreshToken(token);
 
         Set<String> roles = user.getRoles()
                 .stream()
@@ -131,33 +194,44 @@ public class AuthServiceImpl implements AuthService {
 
         return new AuthResponse(
                 accessToken,
-                newRefreshToken.getToken(),
+                refreshToken,
                 "Bearer",
                 accessTokenExpirationMs / 1000,
                 roles
         );
     }
 
-    private RefreshToken rotateRefreshToken(User user) {
-        // ==========single-refresh-token-per-user==========
-        RefreshToken token = refreshTokenRepository.findByUserId(user.getId())
-                .orElseGet(() -> {
-                    RefreshToken created = new RefreshToken();
-                    created.setUser(user);
-                    return created;
-                });
-
-        token.setToken(UUID.randomUUID().toString());
+    private String rotateRefreshToken(RefreshToken token) {
+        // ==========digest-only-storage==========
+        String refreshToken = RefreshTokens.generate();
+        byte[] previousHash = token.getTokenHash();
+        byte[] tokenHash = RefreshTokens.hash(refreshToken);
+        token.setTokenHash(tokenHash);
         token.setExpiresAt(Instant.now().plusMillis(refreshTokenExpirationMs));
         token.setRevoked(false);
-        return refreshTokenRepository.save(token);
+        Long tokenId = refreshTokenRepository.save(token).getId();
+
+        if (previousHash != null) {
+            recentRefreshTokens.forget(previousHash);
+        }
+        TransactionHooks.afterCommit(() -> recentRefreshTokens.remember(tokenHash, tokenId));
+        return refreshToken;
+    }
+
+    private void revoke(RefreshToken token) {
+        // a revoked token is also expired from now on, so the reaper finds it through the expires_at index
+        Instant now = Instant.now();
+        token.setRevoked(true);
+        if (token.getExpiresAt().isAfter(now)) {
+            token.setExpiresAt(now);
+        }
     }
 
     private UserDetails toUserDetails(User user) {
         return org.springframework.security.core.userdetails.User.builder()
                 .username(user.getEmail())
                 .password(user.getPassword())
-                .authorities(user.getRoles().stream().map(r -> r.getName().name()).toArray(String[]::new))
+                .authorities(user.getRoles().stream().map(r -> RoleAuthorities.of(r.getName())).toList())
                 .disabled(!user.isEnabled())
                 .build();
     }
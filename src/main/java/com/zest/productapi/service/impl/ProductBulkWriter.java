@@ -0,0 +1,265 @@
+package com.zest.productapi.service.impl;
+
+// ==========file-context==========
+
+import com.zest.productapi.audit.ProductAuditEvent;
+import com.zest.productapi.cache.ProductCache;
+import com.zest.productapi.cache.ProductReadFlights;
+import com.zest.productapi.dto.BulkItemResult;
+import com.zest.productapi.dto.BulkItemStatus;
+import com.zest.productapi.dto.BulkOperationResponse;
+import com.zest.productapi.dto.ProductBulkUpdateRequest;
+import com.zest.productapi.dto.ProductCreateRequest;
+import com.zest.productapi.entity.Product;
+import com.zest.productapi.mapper.ProductMapper;
+import com.zest.productapi.outbox.ProductOutbox;
+import com.zest.productapi.repository.ItemRepository;
+import com.zest.productapi.repository.ProductRepository;
+import com.zest.productapi.search.ProductNameSearch;
+import com.zest.productapi.service.AuditLogService;
+import com.zest.productapi.util.TransactionHooks;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+@Component
+public class ProductBulkWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductBulkWriter.class);
+
+    private final ProductRepository productRepository;
+    private final ItemRepository itemRepository;
+    private final ProductMapper productMapper;
+    private final AuditLogService auditLogService;
+    private final ProductNameSearch productNameSearch;
+    private final ProductCache productCache;
+    private final ProductReadFlights productReadFlights;
+    private final ProductOutbox productOutbox;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public ProductBulkWriter(ProductRepository productRepository,
+                             ItemRepository itemRepository,
+                             ProductMapper productMapper,
+                             AuditLogService auditLogService,
+                             ProductNameSearch productNameSearch,
+                             ProductCache productCache,
+                             ProductReadFlights productReadFlights,
+                             ProductOutbox productOutbox,
+                             Validator validator,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.products.bulk.chunk-size:500}") int chunkSize,
+                             @Value("${app.products.bulk.max-items:10000}") int maxItems) {
+        this.productRepository = productRepository;
+        this.itemRepository = itemRepository;
+        this.productMapper = productMapper;
+        this.auditLogService = auditLogService;
+        this.productNameSearch = productNameSearch;
+        this.productCache = productCache;
+        this.productReadFlights = productReadFlights;
+        this.productOutbox = productOutbox;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    public BulkOperationResponse create(List<ProductCreateRequest> requests) {
+        BulkItemResult[] results = new BulkItemResult[checkSize(requests)];
+        List<Integer> valid = validate(requests, results, index -> null);
+
+        writeInChunks(valid, results, index -> null, chunk -> {
+            // ==========batched-inserts==========
+            // pooled sequence ids let hibernate group these into jdbc batches
+            List<Product> products = chunk.stream()
+                    .map(index -> {
+                        ProductCreateRequest request = requests.get(index);
+                        Product product = new Product();
+                        product.setProductName(request.productName());
+                        product.setCreatedBy(request.createdBy());
+                        return product;
+                    })
+                    .toList();
+            List<Product> saved = productRepository.saveAll(products);
+
+            List<ProductAuditEvent> events = new ArrayList<>(saved.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Product product = saved.get(i);
+                productNameSearch.onSaved(product);
+                events.add(new ProductAuditEvent("CREATE", product.getId(), requests.get(chunk.get(i)).createdBy()));
+                results[chunk.get(i)] = new BulkItemResult(chunk.get(i), product.getId(), BulkItemStatus.CREATED, null);
+            }
+            productReadFlights.newGenerationAfterCommit();
+            productOutbox.recordSaved("CREATE", saved);
+            auditAfterCommit(events);
+        });
+        return BulkOperationResponse.of(Arrays.asList(results));
+    }
+
+    public BulkOperationResponse update(List<ProductBulkUpdateRequest> requests) {
+        BulkItemResult[] results = new BulkItemResult[checkSize(requests)];
+        IntFunction<Long> idOf = index -> requests.get(index) == null ? null : requests.get(index).id();
+        List<Integer> valid = validate(requests, results, idOf);
+
+        writeInChunks(valid, results, idOf, chunk -> {
+            // ==========one-select-per-chunk==========
+            Set<Long> ids = chunk.stream().map(index -> requests.get(index).id()).collect(Collectors.toSet());
+            Map<Long, Product> found = productRepository.findAllById(ids)
+                    .stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+            List<ProductAuditEvent> events = new ArrayList<>(chunk.size());
+            Map<Long, Product> updated = new LinkedHashMap<>();
+            for (Integer index : chunk) {
+                ProductBulkUpdateRequest request = requests.get(index);
+                Product product = found.get(request.id());
+                if (product == null) {
+                    results[index] = new BulkItemResult(index, request.id(), BulkItemStatus.NOT_FOUND,
+                            "Product not found with id: " + request.id());
+                    continue;
+                }
+                productMapper.applyUpdates(product, request.toUpdateRequest());
+                productNameSearch.onSaved(product);
+                productCache.evictAfterCommit(product.getId());
+                events.add(new ProductAuditEvent("UPDATE", product.getId(), request.modifiedBy()));
+                updated.put(product.getId(), product);
+                results[index] = new BulkItemResult(index, product.getId(), BulkItemStatus.UPDATED, null);
+            }
+            // dirty checking flushes the managed rows as one update batch at commit
+            productRepository.saveAll(found.values());
+            if (!updated.isEmpty()) {
+                productReadFlights.newGenerationAfterCommit();
+            }
+            productOutbox.recordSaved("UPDATE", updated.values());
+            auditAfterCommit(events);
+        });
+        return BulkOperationResponse.of(Arrays.asList(results));
+    }
+
+    public BulkOperationResponse delete(List<Long> ids) {
+        BulkItemResult[] results = new BulkItemResult[checkSize(ids)];
+        List<Integer> valid = new ArrayList<>(ids.size());
+        for (int index = 0; index < ids.size(); index++) {
+            if (ids.get(index) == null) {
+                results[index] = new BulkItemResult(index, null, BulkItemStatus.INVALID, "id is required");
+            } else {
+                valid.add(index);
+            }
+        }
+
+        writeInChunks(valid, results, ids::get, chunk -> {
+            // ==========set-based-delete==========
+            Set<Long> requested = chunk.stream().map(ids::get).collect(Collectors.toSet());
+            Set<Long> existing = new HashSet<>(productRepository.findExistingIds(requested));
+            if (!existing.isEmpty()) {
+                itemRepository.deleteByProductIdIn(existing);
+                productRepository.deleteAllByIdInBatch(existing);
+            }
+
+            List<ProductAuditEvent> events = new ArrayList<>(existing.size());
+            Set<Long> deleted = new HashSet<>();
+            for (Integer index : chunk) {
+                Long id = ids.get(index);
+                if (!existing.contains(id)) {
+                    results[index] = new BulkItemResult(index, id, BulkItemStatus.NOT_FOUND, "Product not found with id: " + id);
+                    continue;
+                }
+                if (deleted.add(id)) {
+                    productNameSearch.onDeleted(id);
+                    productCache.evictAfterCommit(id);
+                    events.add(new ProductAuditEvent("DELETE", id, "system"));
+                }
+                results[index] = new BulkItemResult(index, id, BulkItemStatus.DELETED, null);
+            }
+            if (!deleted.isEmpty()) {
+                productReadFlights.newGenerationAfterCommit();
+            }
+            productOutbox.recordDeleted(deleted);
+            auditAfterCommit(events);
+        });
+        return BulkOperationResponse.of(Arrays.asList(results));
+    }
+
+    private int checkSize(List<?> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one item is required");
+        }
+        if (requests.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " items are allowed per request");
+        }
+        return requests.size();
+    }
+
+    private <T> List<Integer> validate(List<T> requests, BulkItemResult[] results, IntFunction<Long> idOf) {
+        // ==========per-item-validation==========
+        // same constraints as the single-item endpoints, reported per item instead of failing the request
+        List<Integer> valid = new ArrayList<>(requests.size());
+        for (int index = 0; index < requests.size(); index++) {
+            T request = requests.get(index);
+            if (request == null) {
+                results[index] = new BulkItemResult(index, null, BulkItemStatus.INVALID, "Item is required");
+                continue;
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(request);
+            if (violations.isEmpty()) {
+                valid.add(index);
+            } else {
+                String error = violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                results[index] = new BulkItemResult(index, idOf.apply(index), BulkItemStatus.INVALID, error);
+            }
+        }
+        return valid;
+    }
+
+    private void writeInChunks(List<Integer> indices, BulkItemResult[] results, IntFunction<Long> idOf, ChunkWriter writer) {
+        for (int from = 0; from < indices.size(); from += chunkSize) {
+            List<Integer> chunk = indices.subList(from, Math.min(from + chunkSize, indices.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> writer.write(chunk));
+            } catch (RuntimeException ex) {
+                // ==========isolate-failing-items==========
+                // one bad row rolls back its chunk, so replay the chunk item by item to keep the good ones
+                log.warn("bulk chunk of {} items failed, retrying individually: {}", chunk.size(), ex.getMessage());
+                for (Integer index : chunk) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> writer.write(List.of(index)));
+                    } catch (RuntimeException itemEx) {
+                        results[index] = new BulkItemResult(index, idOf.apply(index), BulkItemStatus.FAILED, "Item could not be written");
+                    }
+                }
+            }
+        }
+    }
+
+    private void auditAfterCommit(List<ProductAuditEvent> events) {
+        if (!events.isEmpty()) {
+            TransactionHooks.afterCommit(() -> auditLogService.logProductEvents(events));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(List<Integer> chunk);
+    }
+}
@@ -0,0 +1,40 @@
+package com.zest.productapi.service.impl;
+
+// ==========file-context==========
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zest.productapi.cache.CacheLoads;
+import com.zest.productapi.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+@Component
+public class ProductCountEstimator {
+
+    private static final String ALL_PRODUCTS = "";
+
+    private final ProductRepository productRepository;
+    private final AsyncCache<String, Long> counts;
+
+    public ProductCountEstimator(ProductRepository productRepository,
+                                 @Value("${app.products.count-estimate.ttl:30s}") Duration ttl,
+                                 @Value("${app.products.count-estimate.max-entries:1000}") long maxEntries) {
+        this.productRepository = productRepository;
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .buildAsync();
+    }
+
+    public long estimate(String name) {
+        // ==========cached-count-per-filter==========
+        String key = (name == null || name.isBlank()) ? ALL_PRODUCTS : name.toLowerCase(Locale.ROOT);
+        return CacheLoads.getOrLoad(counts, key, k -> ALL_PRODUCTS.equals(k)
+                ? productRepository.count()
+                : productRepository.countByProductNameContainingIgnoreCase(k));
+    }
+}
@@ -0,0 +1,87 @@
+package com.zest.productapi.service.impl;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zest.productapi.dto.ProductFileFormat;
+import com.zest.productapi.dto.ProductResponse;
+import com.zest.productapi.entity.Product;
+import com.zest.productapi.mapper.ProductMapper;
+import com.zest.productapi.repository.ProductRepository;
+import com.zest.productapi.util.CsvUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+@Component
+public class ProductExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductExporter.class);
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ObjectWriter jsonLineWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ProductExporter(ProductRepository productRepository,
+                           ProductMapper productMapper,
+                           ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        // the response stream belongs to the servlet container, so jackson must not close it
+        this.jsonLineWriter = objectMapper.writerFor(ProductResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public long export(ProductFileFormat format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ProductFileFormat.CSV) {
+            writer.write(CsvUtil.row("id", "productName", "createdBy", "createdOn", "modifiedBy", "modifiedOn"));
+        }
+
+        // ==========forward-only-cursor==========
+        // each row is written and detached before the next is read, so the persistence context stays empty
+        long rows = 0;
+        try (Stream<Product> products = productRepository.streamAllOrderById()) {
+            for (Product product : (Iterable<Product>) products::iterator) {
+                ProductResponse response = productMapper.toResponse(product);
+                entityManager.detach(product);
+                writeRow(format, writer, response);
+                rows++;
+            }
+        }
+        writer.flush();
+
+        log.info("product export format={} rows={} tookMs={}", format, rows, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    private void writeRow(ProductFileFormat format, Writer writer, ProductResponse product) throws IOException {
+        if (format == ProductFileFormat.CSV) {
+            writer.write(CsvUtil.row(product.id(), product.productName(), product.createdBy(),
+                    product.createdOn(), product.modifiedBy(), product.modifiedOn()));
+        } else {
+            jsonLineWriter.writeValue(writer, product);
+            writer.write('\n');
+        }
+    }
+}
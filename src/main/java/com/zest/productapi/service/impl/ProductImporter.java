@@ -0,0 +1,447 @@
+package com.zest.productapi.service.impl;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.productapi.audit.ProductAuditEvent;
+import com.zest.productapi.cache.ProductReadFlights;
+import com.zest.productapi.dto.ImportRejection;
+import com.zest.productapi.dto.ProductCreateRequest;
+import com.zest.productapi.dto.ProductFileFormat;
+import com.zest.productapi.dto.ProductImportResponse;
+import com.zest.productapi.dto.ProductImportRow;
+import com.zest.productapi.entity.Item;
+import com.zest.productapi.entity.Product;
+import com.zest.productapi.entity.ProductImportJob;
+import com.zest.productapi.exception.ConflictException;
+import com.zest.productapi.exception.ServiceUnavailableException;
+import com.zest.productapi.outbox.ProductOutbox;
+import com.zest.productapi.repository.ItemRepository;
+import com.zest.productapi.repository.ProductImportJobRepository;
+import com.zest.productapi.repository.ProductRepository;
+import com.zest.productapi.search.ProductNameSearch;
+import com.zest.productapi.service.AuditLogService;
+import com.zest.productapi.util.CsvUtil;
+import com.zest.productapi.util.TransactionHooks;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Component
+public class ProductImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImporter.class);
+    private static final Pattern IMPORT_ID = Pattern.compile("[A-Za-z0-9._-]{1,100}");
+    private static final PendingRow END = new PendingRow(-1, null, List.of());
+    private static final ProductImportRow BLANK = new ProductImportRow(null, null, null);
+
+    private final ProductRepository productRepository;
+    private final ItemRepository itemRepository;
+    private final ProductImportJobRepository productImportJobRepository;
+    private final AuditLogService auditLogService;
+    private final ProductNameSearch productNameSearch;
+    private final ProductReadFlights productReadFlights;
+    private final ProductOutbox productOutbox;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor importTaskExecutor;
+    private final int chunkSize;
+    private final int queueCapacity;
+    private final int maxRejectionsReported;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public ProductImporter(ProductRepository productRepository,
+                           ItemRepository itemRepository,
+                           ProductImportJobRepository productImportJobRepository,
+                           AuditLogService auditLogService,
+                           ProductNameSearch productNameSearch,
+                           ProductReadFlights productReadFlights,
+                           ProductOutbox productOutbox,
+                           Validator validator,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Qualifier("importTaskExecutor") ThreadPoolTaskExecutor importTaskExecutor,
+                           @Value("${app.products.import.chunk-size:1000}") int chunkSize,
+                           @Value("${app.products.import.queue-capacity:2000}") int queueCapacity,
+                           @Value("${app.products.import.max-rejections-reported:1000}") int maxRejectionsReported) {
+        this.productRepository = productRepository;
+        this.itemRepository = itemRepository;
+        this.productImportJobRepository = productImportJobRepository;
+        this.auditLogService = auditLogService;
+        this.productNameSearch = productNameSearch;
+        this.productReadFlights = productReadFlights;
+        this.productOutbox = productOutbox;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importTaskExecutor = importTaskExecutor;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.maxRejectionsReported = maxRejectionsReported;
+    }
+
+    public ProductImportResponse importProducts(ProductFileFormat format, String importId, InputStream body) throws IOException {
+        if (importId == null) {
+            // ==========one-shot-import==========
+            // nobody can resume an id they were never given, so no job row is kept for it
+            return run(format, UUID.randomUUID().toString(), false, body);
+        }
+        if (!IMPORT_ID.matcher(importId).matches()) {
+            throw new IllegalArgumentException("Invalid importId: use 1-100 letters, digits, '.', '_' or '-'");
+        }
+        if (!running.add(importId)) {
+            throw new ConflictException("Import " + importId + " is already running");
+        }
+        try {
+            return run(format, importId, true, body);
+        } finally {
+            running.remove(importId);
+        }
+    }
+
+    private ProductImportResponse run(ProductFileFormat format, String importId, boolean resumable, InputStream body)
+            throws IOException {
+        long started = System.nanoTime();
+
+        // ==========resume-point==========
+        long resumeAfter = 0;
+        if (resumable) {
+            ProductImportJob job = transactionTemplate.execute(status -> productImportJobRepository.findById(importId)
+                    .orElseGet(() -> {
+                        ProductImportJob created = new ProductImportJob();
+                        created.setImportId(importId);
+                        created.setFormat(format.name());
+                        return productImportJobRepository.save(created);
+                    }));
+            if (job.isCompleted()) {
+                throw new ConflictException("Import " + importId + " has already completed");
+            }
+            resumeAfter = job.getCommittedRows();
+        }
+
+        // ==========bounded-handoff==========
+        // the parser blocks once the queue is full, which stops reading the request body until the writer catches up
+        BlockingQueue<PendingRow> queue = new ArrayBlockingQueue<>(queueCapacity);
+        ChunkWriter writer = new ChunkWriter(importId, resumable, queue);
+        Future<?> writing;
+        try {
+            writing = importTaskExecutor.submit(writer);
+        } catch (TaskRejectedException ex) {
+            throw new ServiceUnavailableException("Too many imports are running, retry later");
+        }
+
+        long rowsRead = 0;
+        long rowsSkipped = 0;
+        long rowsRejected = 0;
+        List<ImportRejection> rejections = new ArrayList<>();
+        IOException readFailure = null;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        try {
+            CsvColumns columns = format == ProductFileFormat.CSV ? CsvColumns.fromHeader(CsvUtil.readRecord(reader)) : null;
+            while (!writer.failed()) {
+                ProductImportRow row;
+                long rowNumber = rowsRead + 1;
+                try {
+                    row = columns != null ? columns.read(reader) : readJsonLine(reader);
+                } catch (IllegalArgumentException ex) {
+                    rowsRead++;
+                    if (rowNumber > resumeAfter) {
+                        rowsRejected++;
+                        reject(rejections, rowNumber, ex.getMessage());
+                    } else {
+                        rowsSkipped++;
+                    }
+                    continue;
+                }
+                if (row == null) {
+                    break;
+                }
+                rowsRead++;
+
+                if (rowNumber <= resumeAfter) {
+                    rowsSkipped++;
+                    continue;
+                }
+                if (row == BLANK) {
+                    continue;
+                }
+
+                String error = validate(row);
+                if (error != null) {
+                    rowsRejected++;
+                    reject(rejections, rowNumber, error);
+                    continue;
+                }
+                handOff(queue, writer, new PendingRow(rowNumber, row.toCreateRequest(), quantities(row)));
+            }
+        } catch (IOException ex) {
+            // the client went away mid-upload; let the writer commit what is already queued so a retry can resume
+            readFailure = ex;
+        } finally {
+            handOff(queue, writer, END);
+        }
+
+        awaitWriter(writing);
+        if (readFailure != null) {
+            throw readFailure;
+        }
+
+        if (resumable) {
+            long committedRows = rowsRead;
+            transactionTemplate.executeWithoutResult(status -> {
+                ProductImportJob current = productImportJobRepository.findById(importId).orElseThrow();
+                current.setCommittedRows(Math.max(current.getCommittedRows(), committedRows));
+                current.setCompleted(true);
+                productImportJobRepository.save(current);
+            });
+        }
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        double rowsPerSecond = writer.importedRows * 1000.0 / elapsedMs;
+        log.info("product import id={} read={} skipped={} imported={} rejected={} tookMs={}",
+                importId, rowsRead, rowsSkipped, writer.importedRows, rowsRejected, elapsedMs);
+        return new ProductImportResponse(
+                importId,
+                rowsRead,
+                rowsSkipped,
+                writer.importedRows,
+                writer.importedItems,
+                rowsRejected,
+                elapsedMs,
+                Math.round(rowsPerSecond * 10) / 10.0,
+                rejections,
+                rowsRejected > rejections.size()
+        );
+    }
+
+    private ProductImportRow readJsonLine(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        if (line.isBlank()) {
+            return BLANK;
+        }
+        try {
+            return objectMapper.readValue(line, ProductImportRow.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+    }
+
+    private String validate(ProductImportRow row) {
+        // ==========same-constraints-as-create==========
+        Set<ConstraintViolation<ProductCreateRequest>> violations = validator.validate(row.toCreateRequest());
+        List<String> errors = violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (row.itemQuantities() != null && row.itemQuantities().stream().anyMatch(q -> q == null || q < 0)) {
+            errors.add("itemQuantities: Item quantity must be zero or more");
+        }
+        return errors.isEmpty() ? null : String.join(", ", errors);
+    }
+
+    private void reject(List<ImportRejection> rejections, long rowNumber, String error) {
+        if (rejections.size() < maxRejectionsReported) {
+            rejections.add(new ImportRejection(rowNumber, error));
+        }
+    }
+
+    private static List<Integer> quantities(ProductImportRow row) {
+        return row.itemQuantities() == null ? List.of() : row.itemQuantities();
+    }
+
+    private static void handOff(BlockingQueue<PendingRow> queue, ChunkWriter writer, PendingRow row) {
+        try {
+            while (!queue.offer(row, 100, TimeUnit.MILLISECONDS)) {
+                if (writer.failed()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", ex);
+        }
+    }
+
+    private static void awaitWriter(Future<?> writing) {
+        try {
+            writing.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Import failed", ex.getCause());
+        }
+    }
+
+    private record PendingRow(long rowNumber, ProductCreateRequest product, List<Integer> quantities) {
+    }
+
+    private record CsvColumns(int productName, int createdBy, int itemQuantities) {
+
+        static CsvColumns fromHeader(List<String> header) {
+            if (header == null) {
+                throw new IllegalArgumentException("CSV header is required");
+            }
+            List<String> names = header.stream().map(String::trim).toList();
+            int productName = names.indexOf("productName");
+            int createdBy = names.indexOf("createdBy");
+            if (productName < 0 || createdBy < 0) {
+                throw new IllegalArgumentException("CSV header must contain productName and createdBy");
+            }
+            return new CsvColumns(productName, createdBy, names.indexOf("itemQuantities"));
+        }
+
+        ProductImportRow read(BufferedReader reader) throws IOException {
+            List<String> fields = CsvUtil.readRecord(reader);
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                return BLANK;
+            }
+            return new ProductImportRow(field(fields, productName), field(fields, createdBy), parseQuantities(field(fields, itemQuantities)));
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index >= 0 && index < fields.size() ? fields.get(index) : null;
+        }
+
+        private static List<Integer> parseQuantities(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            try {
+                return Arrays.stream(value.split("\\|"))
+                        .map(String::trim)
+                        .map(Integer::valueOf)
+                        .toList();
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("itemQuantities must be integers separated by |");
+            }
+        }
+    }
+
+    private final class ChunkWriter implements Runnable {
+
+        private final String importId;
+        private final boolean resumable;
+        private final BlockingQueue<PendingRow> queue;
+        private volatile boolean failed;
+        private volatile long importedRows;
+        private volatile long importedItems;
+
+        private ChunkWriter(String importId, boolean resumable, BlockingQueue<PendingRow> queue) {
+            this.importId = importId;
+            this.resumable = resumable;
+            this.queue = queue;
+        }
+
+        boolean failed() {
+            return failed;
+        }
+
+        @Override
+        public void run() {
+            try {
+                List<PendingRow> chunk = new ArrayList<>(chunkSize);
+                while (true) {
+                    PendingRow row = queue.take();
+                    if (row != END) {
+                        chunk.add(row);
+                    }
+                    if (chunk.size() == chunkSize || (row == END && !chunk.isEmpty())) {
+                        commit(chunk);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                    if (row == END) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException ex) {
+                failed = true;
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException ex) {
+                failed = true;
+                log.warn("product import id={} stopped after {} rows: {}", importId, importedRows, ex.getMessage());
+                throw ex;
+            }
+        }
+
+        private void commit(List<PendingRow> chunk) {
+            // ==========chunk-and-resume-point-in-one-transaction==========
+            int items = transactionTemplate.execute(status -> {
+                List<Product> products = new ArrayList<>(chunk.size());
+                List<Item> productItems = new ArrayList<>();
+                for (PendingRow row : chunk) {
+                    Product product = new Product();
+                    product.setProductName(row.product().productName());
+                    product.setCreatedBy(row.product().createdBy());
+                    products.add(product);
+                    for (Integer quantity : row.quantities()) {
+                        Item item = new Item();
+                        item.setProduct(product);
+                        item.setQuantity(quantity);
+                        productItems.add(item);
+                    }
+                }
+                List<Product> saved = productRepository.saveAll(products);
+                itemRepository.saveAll(productItems);
+
+                if (resumable) {
+                    ProductImportJob job = productImportJobRepository.findById(importId).orElseThrow();
+                    job.setCommittedRows(chunk.get(chunk.size() - 1).rowNumber());
+                    job.setImportedRows(job.getImportedRows() + saved.size());
+                    job.setImportedItems(job.getImportedItems() + productItems.size());
+                }
+
+                List<ProductAuditEvent> events = new ArrayList<>(saved.size());
+                for (Product product : saved) {
+                    productNameSearch.onSaved(product);
+                    events.add(new ProductAuditEvent("CREATE", product.getId(), product.getCreatedBy()));
+                }
+                productReadFlights.newGenerationAfterCommit();
+                productOutbox.recordSaved("CREATE", saved);
+                TransactionHooks.afterCommit(() -> auditLogService.logProductEvents(events));
+                return productItems.size();
+            });
+            importedRows += chunk.size();
+            importedItems += items;
+        }
+    }
+}
@@ -2,71 +2,151 @@ package com.zest.productapi.service.impl;
 
 // ==========file-context==========
 
+import com.zest.productapi.cache.ProductCache;
+import com.zest.productapi.cache.ProductReadFlights;
+import com.zest.productapi.changes.ProductChangeFeed;
+import com.zest.productapi.dto.BulkOperationResponse;
+import com.zest.productapi.dto.CursorPageResponse;
 import com.zest.productapi.dto.ItemResponse;
 import com.zest.productapi.dto.PageResponse;
+import com.zest.productapi.dto.PageTotals;
+import com.zest.productapi.dto.ProductChangesResponse;
+import com.zest.productapi.dto.ProductBulkUpdateRequest;
 import com.zest.productapi.dto.ProductCreateRequest;
+import com.zest.productapi.dto.ProductFileFormat;
+import com.zest.productapi.dto.ProductImportResponse;
 import com.zest.productapi.dto.ProductResponse;
 import com.zest.productapi.dto.ProductUpdateRequest;
 import com.zest.productapi.entity.Product;
 import com.zest.productapi.exception.ResourceNotFoundException;
 import com.zest.productapi.mapper.ProductMapper;
+import com.zest.productapi.outbox.ProductOutbox;
 import com.zest.productapi.repository.ItemRepository;
 import com.zest.productapi.repository.ProductRepository;
+import com.zest.productapi.search.ProductNameSearch;
 import com.zest.productapi.service.AuditLogService;
 import com.zest.productapi.service.ProductService;
+import com.zest.productapi.util.ProductCursor;
+import com.zest.productapi.util.TransactionHooks;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
+// every public method: service.invocations{class,method,exception} with a percentile histogram
+@Timed(value = "service.invocations", histogram = true)
 @Service
 public class ProductServiceImpl implements ProductService {
 
+    private static final int MAX_ITEMS_LOOKUP_IDS = 100;
+
     private final ProductRepository productRepository;
     private final ItemRepository itemRepository;
     private final ProductMapper productMapper;
     private final AuditLogService auditLogService;
+    private final ProductCountEstimator productCountEstimator;
+    private final ProductNameSearch productNameSearch;
+    private final ProductCache productCache;
+    private final ProductBulkWriter productBulkWriter;
+    private final ProductExporter productExporter;
+    private final ProductImporter productImporter;
+    private final ProductOutbox productOutbox;
+    private final ProductChangeFeed productChangeFeed;
+    private final ProductReadFlights productReadFlights;
+    private final TransactionTemplate readOnlyTransaction;
 
     public ProductServiceImpl(ProductRepository productRepository,
                               ItemRepository itemRepository,
                               ProductMapper productMapper,
-                              AuditLogService auditLogService) {
+                              AuditLogService auditLogService,
+                              ProductCountEstimator productCountEstimator,
+                              ProductNameSearch productNameSearch,
+                              ProductCache productCache,
+                              ProductBulkWriter productBulkWriter,
+                              ProductExporter productExporter,
+                              ProductImporter productImporter,
+                              ProductOutbox productOutbox,
+                              ProductChangeFeed productChangeFeed,
+                              ProductReadFlights productReadFlights,
+                              PlatformTransactionManager transactionManager) {
         this.productRepository = productRepository;
         this.itemRepository = itemRepository;
         this.productMapper = productMapper;
         this.auditLogService = auditLogService;
+        this.productCountEstimator = productCountEstimator;
+        this.productNameSearch = productNameSearch;
+        this.productCache = productCache;
+        this.productBulkWriter = productBulkWriter;
+        this.productExporter = productExporter;
+        this.productImporter = productImporter;
+        this.productOutbox = productOutbox;
+        this.productChangeFeed = productChangeFeed;
+        this.productReadFlights = productReadFlights;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public PageResponse<ProductResponse> getProducts(String name, Pageable pageable) {
-        // ==========filtered-or-full-list==========
-        Page<Product> products = (name == null || name.isBlank())
-                ? productRepository.findAll(pageable)
-                : productRepository.findByProductNameContainingIgnoreCase(name, pageable);
+        return getProducts(name, pageable, PageTotals.EXACT);
+    }
 
-        List<ProductResponse> content = products.stream()
-                .map(productMapper::toResponse)
-                .toList();
+    @Override
+    public PageResponse<ProductResponse> getProducts(String name, Pageable pageable, PageTotals totals) {
+        return getProducts(name, pageable, totals, false);
+    }
 
-        return new PageResponse<>(
-                content,
-                products.getNumber(),
-                products.getSize(),
-                products.getTotalElements(),
-                products.getTotalPages(),
-                products.isLast()
-        );
+    @Override
+    public PageResponse<ProductResponse> getProducts(String name, Pageable pageable, PageTotals totals, boolean includeItems) {
+        // ==========coalesced-reads==========
+        // the transaction opens inside the flight, so callers waiting on an identical read hold no connection
+        return productReadFlights.page(name, pageable, totals, includeItems,
+                () -> readOnlyTransaction.execute(status -> loadPage(name, pageable, totals, includeItems)));
+    }
+
+    @Override
+    public CursorPageResponse<ProductResponse> getProductsByCursor(String name,
+                                                                   String cursor,
+                                                                   int size,
+                                                                   String sortBy,
+                                                                   Sort.Direction direction) {
+        return productReadFlights.cursorPage(name, cursor, size, sortBy, direction,
+                () -> readOnlyTransaction.execute(status -> loadCursorPage(name, cursor, size, sortBy, direction)));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public ProductResponse getProductById(Long id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-        return productMapper.toResponse(product);
+        // ==========read-through-cache==========
+        // no surrounding transaction, so a hit never borrows a connection
+        ProductResponse product = productCache.getIfPresent(id);
+        if (product == null) {
+            product = productReadFlights.product(id, () -> productCache.load(id, key -> productRepository.findById(key)
+                    .map(productMapper::toResponse)
+                    .orElse(null)));
+        }
+        if (product == null) {
+            throw new ResourceNotFoundException("Product not found with id: " + id);
+        }
+        return product;
     }
 
     @Override
@@ -78,7 +158,11 @@ public class ProductServiceImpl implements ProductService {
         product.setCreatedBy(request.createdBy());
 
         Product saved = productRepository.save(product);
-        auditLogService.logProductEvent("CREATE", saved.getId(), request.createdBy());
+        productNameSearch.onSaved(saved);
+        productReadFlights.newGenerationAfterCommit();
+        productOutbox.recordSaved("CREATE", saved);
+        // the writer thread commits on its own, so a rolled-back change must not reach it
+        TransactionHooks.afterCommit(() -> auditLogService.logProductEvent("CREATE", saved.getId(), request.createdBy()));
         return productMapper.toResponse(saved);
     }
 
@@ -91,7 +175,11 @@ public class ProductServiceImpl implements ProductService {
 
         productMapper.applyUpdates(product, request);
         Product saved = productRepository.save(product);
-        auditLogService.logProductEvent("UPDATE", saved.getId(), request.modifiedBy());
+        productNameSearch.onSaved(saved);
+        productCache.evictAfterCommit(saved.getId());
+        productReadFlights.newGenerationAfterCommit();
+        productOutbox.recordSaved("UPDATE", saved);
+        TransactionHooks.afterCommit(() -> auditLogService.logProductEvent("UPDATE", saved.getId(), request.modifiedBy()));
         return productMapper.toResponse(saved);
     }
 
@@ -103,7 +191,47 @@ public class ProductServiceImpl implements ProductService {
             throw new ResourceNotFoundException("Product not found with id: " + id);
         }
         productRepository.deleteById(id);
-        auditLogService.logProductEvent("DELETE", id, "system");
+        productNameSearch.onDeleted(id);
+        productCache.evictAfterCommit(id);
+        productReadFlights.newGenerationAfterCommit();
+        productOutbox.recordDeleted(id);
+        TransactionHooks.afterCommit(() -> auditLogService.logProductEvent("DELETE", id, "system"));
+    }
+
+    @Override
+    public BulkOperationResponse createProducts(List<ProductCreateRequest> requests) {
+        // each chunk commits on its own, so there is no surrounding transaction here
+        return productBulkWriter.create(requests);
+    }
+
+    @Override
+    public BulkOperationResponse updateProducts(List<ProductBulkUpdateRequest> requests) {
+        return productBulkWriter.update(requests);
+    }
+
+    @Override
+    public BulkOperationResponse deleteProducts(List<Long> ids) {
+        return productBulkWriter.delete(ids);
+    }
+
+    @Override
+    public long exportProducts(ProductFileFormat format, OutputStream out) throws IOException {
+        return productExporter.export(format, out);
+    }
+
+    @Override
+    public ProductImportResponse importProducts(ProductFileFormat format, String importId, InputStream body) throws IOException {
+        return productImporter.importProducts(format, importId, body);
+    }
+
+    @Override
+    public CompletableFuture<ProductChangesResponse> getChanges(String since, int limit, Duration wait) {
+        return productChangeFeed.await(ProductChangeFeed.parseCursor(since), limit, wait);
+    }
+
+    @Override
+    public SseEmitter streamChanges(String since) {
+        return productChangeFeed.stream(ProductChangeFeed.parseCursor(since));
     }
 
     @Override
@@ -118,4 +246,142 @@ public class ProductServiceImpl implements ProductService {
                 .map(productMapper::toResponse)
                 .toList();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<ItemResponse>> getItemsByProductIds(List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one productId is required");
+        }
+        if (productIds.size() > MAX_ITEMS_LOOKUP_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_ITEMS_LOOKUP_IDS + " productIds are allowed");
+        }
+
+        // ==========unknown-ids-are-left-out==========
+        Set<Long> existing = new HashSet<>(productRepository.findExistingIds(productIds));
+        List<Long> requested = productIds.stream().distinct().filter(existing::contains).toList();
+        Map<Long, List<ItemResponse>> items = findItemsGrouped(requested);
+
+        Map<Long, List<ItemResponse>> response = new LinkedHashMap<>();
+        for (Long productId : requested) {
+            response.put(productId, items.getOrDefault(productId, List.of()));
+        }
+        return response;
+    }
+
+    private PageResponse<ProductResponse> loadPage(String name, Pageable pageable, PageTotals totals, boolean includeItems) {
+        PageResponse<ProductResponse> page = loadPage(name, pageable, totals);
+        if (!includeItems || page.content().isEmpty()) {
+            return page;
+        }
+
+        // ==========items-for-the-whole-page==========
+        Map<Long, List<ItemResponse>> items = findItemsGrouped(page.content().stream().map(ProductResponse::id).toList());
+        List<ProductResponse> content = page.content().stream()
+                .map(product -> product.withItems(items.getOrDefault(product.id(), List.of())))
+                .toList();
+        return new PageResponse<>(content, page.page(), page.size(), page.totalElements(),
+                page.totalPages(), page.last(), page.totals());
+    }
+
+    private PageResponse<ProductResponse> loadPage(String name, Pageable pageable, PageTotals totals) {
+        boolean filtered = name != null && !name.isBlank();
+
+        // ==========trigram-index-candidates==========
+        // the index yields the exact match set, so its totals are exact without a count query
+        if (filtered) {
+            Optional<Page<Product>> indexed = productNameSearch.search(name, pageable);
+            if (indexed.isPresent()) {
+                return toPageResponse(indexed.get(), PageTotals.EXACT);
+            }
+        }
+
+        return switch (totals) {
+            // ==========filtered-or-full-list==========
+            case EXACT -> toPageResponse(filtered
+                    ? productRepository.findByProductNameContainingIgnoreCase(name, pageable)
+                    : productRepository.findAll(pageable), PageTotals.EXACT);
+            // ==========single-statement-window-count==========
+            case WINDOW -> toPageResponse(productRepository.findPageWithWindowCount(name, pageable), PageTotals.WINDOW);
+            // ==========count-free-slices==========
+            case NONE -> toSliceResponse(findSlice(name, filtered, pageable), null);
+            case ESTIMATED -> toSliceResponse(findSlice(name, filtered, pageable), productCountEstimator.estimate(name));
+        };
+    }
+
+    private CursorPageResponse<ProductResponse> loadCursorPage(String name,
+                                                               String cursor,
+                                                               int size,
+                                                               String sortBy,
+                                                               Sort.Direction direction) {
+        // ==========keyset-seek==========
+        ProductCursor after = (cursor == null || cursor.isBlank())
+                ? null
+                : ProductCursor.decode(cursor, sortBy, direction);
+
+        List<Product> rows = productRepository.findNextPage(name, after, sortBy, direction, size + 1);
+        boolean last = rows.size() <= size;
+        List<Product> pageRows = last ? rows : rows.subList(0, size);
+
+        String nextCursor = last
+                ? null
+                : ProductCursor.from(pageRows.get(pageRows.size() - 1), sortBy, direction).encode();
+
+        List<ProductResponse> content = pageRows.stream()
+                .map(productMapper::toResponse)
+                .toList();
+
+        return new CursorPageResponse<>(content, size, nextCursor, last);
+    }
+
+    private Map<Long, List<ItemResponse>> findItemsGrouped(List<Long> productIds) {
+        // one IN query for every product, grouped here instead of one query per product
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return itemRepository.findByProductIdIn(productIds)
+                .stream()
+                .map(productMapper::toResponse)
+                .collect(Collectors.groupingBy(ItemResponse::productId));
+    }
+
+    private Slice<Product> findSlice(String name, boolean filtered, Pageable pageable) {
+        return filtered
+                ? productRepository.findSliceByProductNameContainingIgnoreCase(name, pageable)
+                : productRepository.findSliceBy(pageable);
+    }
+
+    private PageResponse<ProductResponse> toPageResponse(Page<Product> products, PageTotals totals) {
+        List<ProductResponse> content = products.stream()
+                .map(productMapper::toResponse)
+                .toList();
+
+        return new PageResponse<>(
+                content,
+                products.getNumber(),
+                products.getSize(),
+                products.getTotalElements(),
+                products.getTotalPages(),
+                products.isLast(),
+                totals
+        );
+    }
+
+    private PageResponse<ProductResponse> toSliceResponse(Slice<Product> products, Long estimatedTotal) {
+        List<ProductResponse> content = products.stream()
+                .map(productMapper::toResponse)
+                .toList();
+
+        if (estimatedTotal == null) {
+            return new PageResponse<>(content, products.getNumber(), products.getSize(),
+                    null, null, products.isLast(), PageTotals.NONE);
+        }
+
+        // ==========estimate-never-contradicts-the-slice==========
+        long seen = products.getPageable().getOffset() + content.size() + (products.hasNext() ? 1 : 0);
+        long total = Math.max(estimatedTotal, seen);
+        int totalPages = (int) ((total + products.getSize() - 1) / products.getSize());
+        return new PageResponse<>(content, products.getNumber(), products.getSize(),
+                total, totalPages, products.isLast(), PageTotals.ESTIMATED);
+    }
 }
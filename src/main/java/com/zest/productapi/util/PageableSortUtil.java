@@ -2,6 +2,9 @@ package com.zest.productapi.util;
 
 // ==========file-context==========
 
+import com.zest.productapi.dto.PageTotals;
+
+import java.util.Locale;
 import java.util.Set;
 
 public final class PageableSortUtil {
@@ -24,5 +27,24 @@ public final class PageableSortUtil {
         }
         return sortBy;
     }
-}
 
+    public static PageTotals parsePageTotals(String totals) {
+        return switch (totals.toLowerCase(Locale.ROOT)) {
+            case "exact" -> PageTotals.EXACT;
+            case "window" -> PageTotals.WINDOW;
+            case "estimate" -> PageTotals.ESTIMATED;
+            case "none" -> PageTotals.NONE;
+            default -> throw new IllegalArgumentException("Invalid totals: " + totals);
+        };
+    }
+
+    public static boolean includesItems(String include) {
+        if (include == null || include.isBlank()) {
+            return false;
+        }
+        if (!"items".equalsIgnoreCase(include.trim())) {
+            throw new IllegalArgumentException("Invalid include: " + include);
+        }
+        return true;
+    }
+}
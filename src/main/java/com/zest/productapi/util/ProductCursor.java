@@ -0,0 +1,94 @@
+package com.zest.productapi.util;
+
+// ==========file-context==========
+
+import com.zest.productapi.entity.Product;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Set;
+
+public record ProductCursor(String sortBy, Sort.Direction direction, Object key, Long id) {
+
+    private static final String VERSION = "v1";
+    private static final String NULL_KEY = "N";
+    private static final String VALUE_KEY = "V";
+    private static final Set<String> NULLABLE_SORTS = Set.of("modifiedOn", "modifiedBy");
+
+    public static ProductCursor from(Product product, String sortBy, Sort.Direction direction) {
+        return new ProductCursor(sortBy, direction, sortKey(product, sortBy), product.getId());
+    }
+
+    public static boolean isNullableSort(String sortBy) {
+        return NULLABLE_SORTS.contains(sortBy);
+    }
+
+    public String encode() {
+        // ==========opaque-token-layout==========
+        // version:sortBy:direction:id:(N|V:<key>) - the key goes last so it may contain ':'
+        String keyPart = key == null ? NULL_KEY : VALUE_KEY + ":" + key;
+        String raw = String.join(":", VERSION, sortBy, direction.name(), String.valueOf(id), keyPart);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token, String sortBy, Sort.Direction direction) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        String[] parts = raw.split(":", 6);
+        if (parts.length < 5 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        // ==========cursor-must-match-requested-order==========
+        if (!parts[1].equals(sortBy) || !parts[2].equals(direction.name())) {
+            throw new IllegalArgumentException("Cursor does not match sortBy/sortDir");
+        }
+
+        try {
+            Long id = Long.valueOf(parts[3]);
+            Object key;
+            if (NULL_KEY.equals(parts[4]) && parts.length == 5) {
+                key = null;
+            } else if (VALUE_KEY.equals(parts[4]) && parts.length == 6) {
+                key = parseKey(sortBy, parts[5]);
+            } else {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            if (key == null && !"id".equals(sortBy) && !isNullableSort(sortBy)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ProductCursor(sortBy, direction, key, id);
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static Object sortKey(Product product, String sortBy) {
+        return switch (sortBy) {
+            case "id" -> product.getId();
+            case "productName" -> product.getProductName();
+            case "createdOn" -> product.getCreatedOn();
+            case "modifiedOn" -> product.getModifiedOn();
+            case "createdBy" -> product.getCreatedBy();
+            case "modifiedBy" -> product.getModifiedBy();
+            default -> throw new IllegalArgumentException("Invalid sortBy: " + sortBy);
+        };
+    }
+
+    private static Object parseKey(String sortBy, String value) {
+        return switch (sortBy) {
+            case "id" -> Long.valueOf(value);
+            case "createdOn", "modifiedOn" -> Instant.parse(value);
+            case "productName", "createdBy", "modifiedBy" -> value;
+            default -> throw new IllegalArgumentException("Invalid sortBy: " + sortBy);
+        };
+    }
+}
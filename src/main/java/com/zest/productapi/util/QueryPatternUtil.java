@@ -0,0 +1,21 @@
+package com.zest.productapi.util;
+
+// ==========file-context==========
+
+import java.util.Locale;
+
+public final class QueryPatternUtil {
+
+    public static final char LIKE_ESCAPE = '\\';
+
+    private QueryPatternUtil() {
+    }
+
+    public static String containsIgnoreCase(String value) {
+        String escaped = value.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,87 @@
+package com.zest.productapi.audit;
+
+// ==========file-context==========
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditDispatcherTest {
+
+    @Mock
+    private AuditEventWriter auditEventWriter;
+
+    @Mock
+    private AuditOverflowStore overflowStore;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void dispatch_shouldUseBufferWhenThereIsRoom() {
+        when(auditEventWriter.offer(any())).thenReturn(true);
+        AuditDispatcher dispatcher = dispatcher("spill", Duration.ofMillis(50));
+
+        assertTrue(dispatcher.dispatch(new ProductAuditEvent("CREATE", 1L, "admin")));
+        assertEquals(1.0, registry.get("audit.events.published").counter().count());
+        verifyNoInteractions(overflowStore);
+    }
+
+    @Test
+    void dispatch_shouldCountDropWhenBufferIsFull() {
+        when(auditEventWriter.offer(any())).thenReturn(false);
+        AuditDispatcher dispatcher = dispatcher("drop", Duration.ofMillis(50));
+
+        assertFalse(dispatcher.dispatch(new ProductAuditEvent("CREATE", 1L, "admin")));
+        assertEquals(1.0, registry.get("audit.events.rejected").tag("policy", "drop").counter().count());
+    }
+
+    @Test
+    void dispatch_shouldHandOverflowToConfiguredStore() {
+        when(auditEventWriter.offer(any())).thenReturn(false);
+        when(overflowStore.spill(any())).thenReturn(true);
+        AuditDispatcher dispatcher = dispatcher("SPILL", Duration.ofMillis(50));
+
+        assertTrue(dispatcher.dispatch(new ProductAuditEvent("UPDATE", 1L, "admin")));
+        verify(overflowStore).spill(any());
+        assertEquals(1.0, registry.get("audit.events.overflowed").tag("policy", "spill").counter().count());
+    }
+
+    @Test
+    void dispatch_shouldWaitForRoomUnderBlockPolicy() {
+        when(auditEventWriter.offer(any())).thenReturn(false, false, true);
+        AuditDispatcher dispatcher = dispatcher("block", Duration.ofSeconds(5));
+
+        assertTrue(dispatcher.dispatch(new ProductAuditEvent("UPDATE", 1L, "admin")));
+        verify(auditEventWriter, times(3)).offer(any());
+        assertEquals(1, registry.get("audit.dispatch.wait").timer().count());
+    }
+
+    @Test
+    void dispatch_shouldGiveUpAtBlockDeadline() {
+        when(auditEventWriter.offer(any())).thenReturn(false);
+        AuditDispatcher dispatcher = dispatcher("block", Duration.ofMillis(20));
+
+        long started = System.nanoTime();
+        assertFalse(dispatcher.dispatch(new ProductAuditEvent("UPDATE", 1L, "admin")));
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() >= 20);
+        assertEquals(1.0, registry.get("audit.events.rejected").tag("policy", "block").counter().count());
+    }
+
+    @Test
+    void constructor_shouldRejectUnknownPolicy() {
+        assertThrows(IllegalArgumentException.class, () -> dispatcher("queue", Duration.ofMillis(50)));
+    }
+
+    private AuditDispatcher dispatcher(String policy, Duration blockTimeout) {
+        return new AuditDispatcher(auditEventWriter, overflowStore, registry, policy, blockTimeout);
+    }
+}
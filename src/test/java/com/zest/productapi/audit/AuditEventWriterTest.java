@@ -0,0 +1,70 @@
+package com.zest.productapi.audit;
+
+// ==========file-context==========
+
+import com.zest.productapi.config.BackgroundThreads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuditEventWriterTest {
+
+    @TempDir
+    Path spillDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private AuditOverflowStore overflowStore;
+    private AuditEventWriter writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        overflowStore = new AuditOverflowStore(meterRegistry, 10, spillDir, DataSize.ofMegabytes(1));
+        writer = new AuditEventWriter(overflowStore, jdbcTemplate, mock(PlatformTransactionManager.class), meterRegistry,
+                new BackgroundThreads(new MockEnvironment()), 16, 100, Duration.ofMillis(10));
+    }
+
+    @Test
+    void flush_shouldSpillBatchOnceRetriesAreExhausted() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+
+        writer.start();
+        assertTrue(writer.offer(new ProductAuditEvent("UPDATE", 1L, "admin")));
+        assertTrue(writer.offer(new ProductAuditEvent("DELETE", 2L, "admin")));
+        writer.stop();
+
+        assertEquals(0.0, meterRegistry.get("audit.events.write.failures").counter().count());
+        List<ProductAuditEvent> spilled = new ArrayList<>();
+        assertEquals(2, overflowStore.replaySpilled(spilled, 10));
+        assertEquals(List.of(1L, 2L), spilled.stream().map(ProductAuditEvent::productId).toList());
+    }
+
+    @Test
+    void offer_shouldBeRefusedOnceStopped() {
+        writer.start();
+        writer.stop();
+
+        assertFalse(writer.offer(new ProductAuditEvent("UPDATE", 1L, "admin")));
+    }
+}
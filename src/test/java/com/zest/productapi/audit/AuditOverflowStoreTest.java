@@ -0,0 +1,114 @@
+package com.zest.productapi.audit;
+
+// ==========file-context==========
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditOverflowStoreTest {
+
+    @TempDir
+    Path spillDir;
+
+    @Test
+    void coalesce_shouldKeepLatestEventPerProductAndAction() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AuditOverflowStore store = new AuditOverflowStore(registry, 10, spillDir, DataSize.ofMegabytes(1));
+
+        assertTrue(store.coalesce(new ProductAuditEvent("UPDATE", 1L, "first")));
+        assertTrue(store.coalesce(new ProductAuditEvent("UPDATE", 1L, "second")));
+        assertTrue(store.coalesce(new ProductAuditEvent("DELETE", 1L, "admin")));
+
+        List<ProductAuditEvent> drained = new ArrayList<>();
+        assertEquals(2, store.drainCoalesced(drained, 10));
+        assertTrue(drained.stream().anyMatch(event -> "second".equals(event.actor())));
+        assertEquals(1.0, registry.get("audit.events.coalesced").counter().count());
+        assertFalse(store.hasPending());
+    }
+
+    @Test
+    void coalesce_shouldRefuseNewKeysOnceFull() throws Exception {
+        AuditOverflowStore store = new AuditOverflowStore(new SimpleMeterRegistry(), 2, spillDir, DataSize.ofMegabytes(1));
+
+        assertTrue(store.coalesce(new ProductAuditEvent("UPDATE", 1L, "admin")));
+        assertTrue(store.coalesce(new ProductAuditEvent("UPDATE", 2L, "admin")));
+        assertFalse(store.coalesce(new ProductAuditEvent("UPDATE", 3L, "admin")));
+        assertTrue(store.coalesce(new ProductAuditEvent("UPDATE", 2L, "other")));
+    }
+
+    @Test
+    void spill_shouldReplayEventsInOrderAndDeleteFile() throws Exception {
+        AuditOverflowStore store = new AuditOverflowStore(new SimpleMeterRegistry(), 10, spillDir, DataSize.ofMegabytes(1));
+        Instant occurredOn = Instant.parse("2026-01-01T10:15:30.123456Z");
+        assertTrue(store.spill(new ProductAuditEvent("CREATE", 1L, "a,\"quoted\" actor", occurredOn)));
+        assertTrue(store.spill(new ProductAuditEvent("UPDATE", null, "admin", occurredOn)));
+        assertTrue(store.spill(new ProductAuditEvent("DELETE", 3L, "admin", occurredOn)));
+
+        List<ProductAuditEvent> drained = new ArrayList<>();
+        assertEquals(2, store.replaySpilled(drained, 2));
+        // appends during a replay go to a fresh file and are read after it
+        assertTrue(store.spill(new ProductAuditEvent("UPDATE", 4L, "admin", occurredOn)));
+        assertEquals(1, store.replaySpilled(drained, 10));
+        // the replayed file stays until the writer has flushed what it read
+        assertEquals(0, store.replaySpilled(drained, 10));
+        store.commitReplay();
+        assertEquals(1, store.replaySpilled(drained, 10));
+        store.commitReplay();
+
+        assertEquals(new ProductAuditEvent("CREATE", 1L, "a,\"quoted\" actor", occurredOn), drained.get(0));
+        assertNull(drained.get(1).productId());
+        assertEquals(List.of("CREATE", "UPDATE", "DELETE", "UPDATE"), drained.stream().map(ProductAuditEvent::action).toList());
+        assertEquals(0, store.spilledBytes());
+        try (var files = Files.list(spillDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void replaySpilled_shouldKeepFileUntilCommitted() throws Exception {
+        AuditOverflowStore first = new AuditOverflowStore(new SimpleMeterRegistry(), 10, spillDir, DataSize.ofMegabytes(1));
+        first.spill(new ProductAuditEvent("UPDATE", 7L, "admin"));
+        assertEquals(1, first.replaySpilled(new ArrayList<>(), 10));
+        // the process dies before the batch is flushed
+        first.destroy();
+
+        AuditOverflowStore second = new AuditOverflowStore(new SimpleMeterRegistry(), 10, spillDir, DataSize.ofMegabytes(1));
+        List<ProductAuditEvent> drained = new ArrayList<>();
+        assertEquals(1, second.replaySpilled(drained, 10));
+        assertEquals(7L, drained.get(0).productId());
+        second.commitReplay();
+        assertFalse(second.hasPending());
+    }
+
+    @Test
+    void spill_shouldRefuseEventsBeyondMaxSize() throws Exception {
+        AuditOverflowStore store = new AuditOverflowStore(new SimpleMeterRegistry(), 10, spillDir, DataSize.ofBytes(60));
+
+        assertTrue(store.spill(new ProductAuditEvent("UPDATE", 1L, "admin")));
+        assertFalse(store.spill(new ProductAuditEvent("UPDATE", 2L, "admin")));
+    }
+
+    @Test
+    void constructor_shouldPickUpSpillLeftByPreviousRun() throws Exception {
+        AuditOverflowStore first = new AuditOverflowStore(new SimpleMeterRegistry(), 10, spillDir, DataSize.ofMegabytes(1));
+        first.spill(new ProductAuditEvent("UPDATE", 7L, "admin"));
+        first.destroy();
+
+        AuditOverflowStore second = new AuditOverflowStore(new SimpleMeterRegistry(), 10, spillDir, DataSize.ofMegabytes(1));
+        assertTrue(second.hasPending());
+
+        List<ProductAuditEvent> drained = new ArrayList<>();
+        assertEquals(1, second.replaySpilled(drained, 10));
+        assertEquals(7L, drained.get(0).productId());
+    }
+}
@@ -0,0 +1,70 @@
+package com.zest.productapi.audit;
+
+// ==========file-context==========
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// End-to-end audit throughput (publish -> ring buffer -> batched inserts):
+// mvn test -Dtest=AuditPipelineBenchmark -Dbenchmark.audit.events=1000000 -Dsurefire.failIfNoSpecifiedTests=false
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark.audit.events", matches = "\\d+")
+class AuditPipelineBenchmark {
+
+    private static final int PRODUCERS = 8;
+
+    @Autowired
+    private AuditEventWriter auditEventWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void publishAndPersist() throws Exception {
+        long events = Long.getLong("benchmark.audit.events");
+        long perProducer = events / PRODUCERS;
+        long before = jdbcTemplate.queryForObject("select count(*) from audit_event", Long.class);
+
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch done = new CountDownLatch(PRODUCERS);
+        long started = System.nanoTime();
+        for (int p = 0; p < PRODUCERS; p++) {
+            executor.submit(() -> {
+                for (long i = 0; i < perProducer; i++) {
+                    while (!auditEventWriter.offer(new ProductAuditEvent("UPDATE", i, "bench"))) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        long published = System.nanoTime() - started;
+
+        long expected = before + perProducer * PRODUCERS;
+        while (jdbcTemplate.queryForObject("select count(*) from audit_event", Long.class) < expected) {
+            Thread.sleep(10);
+        }
+        long persisted = System.nanoTime() - started;
+        executor.shutdown();
+
+        System.out.printf("audit events=%d publish=%.0f/s persisted=%.0f/s%n",
+                perProducer * PRODUCERS,
+                perProducer * PRODUCERS / (published / 1e9),
+                perProducer * PRODUCERS / (persisted / 1e9));
+        assertEquals(expected, jdbcTemplate.queryForObject("select count(*) from audit_event", Long.class));
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,85 @@
+package com.zest.productapi.audit;
+
+// ==========file-context==========
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void offer_shouldRefuseWhenFullAndAcceptAfterDrain() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (long i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(event(i)));
+        }
+        assertFalse(buffer.offer(event(4)));
+
+        List<ProductAuditEvent> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 2));
+        assertTrue(buffer.offer(event(5)));
+        assertEquals(3, buffer.drainTo(drained, 10));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 5L), drained.stream().map(ProductAuditEvent::productId).toList());
+    }
+
+    @Test
+    void constructor_shouldRequirePowerOfTwoCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(1000));
+    }
+
+    @Test
+    void concurrentProducers_shouldDeliverEveryEventInPerProducerOrder() throws Exception {
+        AuditRingBuffer buffer = new AuditRingBuffer(1024);
+        int producers = 4;
+        int perProducer = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            String actor = "producer-" + p;
+            executor.submit(() -> {
+                start.await();
+                for (long i = 0; i < perProducer; i++) {
+                    ProductAuditEvent event = new ProductAuditEvent("CREATE", i, actor);
+                    while (!buffer.offer(event)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        Map<String, Long> nextExpected = new HashMap<>();
+        List<ProductAuditEvent> drained = new ArrayList<>();
+        long received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < (long) producers * perProducer && System.nanoTime() < deadline) {
+            drained.clear();
+            buffer.drainTo(drained, 256);
+            for (ProductAuditEvent event : drained) {
+                long expected = nextExpected.getOrDefault(event.actor(), 0L);
+                assertEquals(expected, event.productId());
+                nextExpected.put(event.actor(), expected + 1);
+            }
+            received += drained.size();
+        }
+        executor.shutdownNow();
+
+        assertEquals((long) producers * perProducer, received);
+        assertEquals(0, buffer.size());
+    }
+
+    private ProductAuditEvent event(long productId) {
+        return new ProductAuditEvent("CREATE", productId, "admin");
+    }
+}
@@ -0,0 +1,112 @@
+package com.zest.productapi.cache;
+
+// ==========file-context==========
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheLoadsTest {
+
+    private AsyncCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = Caffeine.newBuilder().maximumSize(100).buildAsync();
+    }
+
+    @Test
+    void getOrLoad_shouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = executor.submit(() -> CacheLoads.getOrLoad(cache, "k", key -> {
+                loads.incrementAndGet();
+                await(release);
+                return "v";
+            }));
+            while (loads.get() == 0) {
+                Thread.sleep(1);
+            }
+            Future<String> second = executor.submit(() -> CacheLoads.getOrLoad(cache, "k", key -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+            Thread.sleep(50);
+            assertFalse(second.isDone());
+
+            release.countDown();
+
+            assertEquals("v", first.get(1, TimeUnit.SECONDS));
+            assertEquals("v", second.get(1, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getOrLoad_shouldRethrowLoaderExceptionAndNotCacheIt() {
+        IllegalStateException failure = new IllegalStateException("db down");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> CacheLoads.getOrLoad(cache, "k", key -> {
+                    throw failure;
+                }));
+
+        assertSame(failure, thrown);
+        assertEquals("v", CacheLoads.getOrLoad(cache, "k", key -> "v"));
+    }
+
+    @Test
+    void getOrLoad_shouldNotCacheNullResults() {
+        assertNull(CacheLoads.getOrLoad(cache, "k", key -> null));
+
+        assertEquals("v", CacheLoads.getOrLoad(cache, "k", key -> "v"));
+        assertEquals("v", CacheLoads.getOrLoad(cache, "k", key -> "other"));
+    }
+
+    @Test
+    void loadAfterMiss_shouldCacheWithoutCountingASecondMiss() {
+        AsyncCache<String, String> recorded = Caffeine.newBuilder().maximumSize(100).recordStats().buildAsync();
+
+        assertNull(recorded.getIfPresent("k"));
+        assertEquals("v", CacheLoads.loadAfterMiss(recorded, "k", key -> "v"));
+        assertNull(CacheLoads.loadAfterMiss(recorded, "missing", key -> null));
+        assertEquals(1, recorded.synchronous().stats().missCount());
+
+        assertEquals("v", recorded.synchronous().getIfPresent("k"));
+        assertFalse(recorded.asMap().containsKey("missing"));
+    }
+
+    @Test
+    void getOrLoad_shouldDropValueLoadedAcrossAnInvalidation() {
+        String loaded = CacheLoads.getOrLoad(cache, "k", key -> {
+            // the row changed while it was being read
+            cache.synchronous().invalidate(key);
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertEquals("fresh", CacheLoads.getOrLoad(cache, "k", key -> "fresh"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.zest.productapi.cache;
+
+// ==========file-context==========
+
+import com.zest.productapi.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_shouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> flight.execute("k", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "v";
+        }));
+        while (loads.get() == 0) {
+            Thread.sleep(1);
+        }
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(executor.submit(() -> flight.execute("k", () -> {
+                loads.incrementAndGet();
+                return "other";
+            })));
+        }
+        awaitFollowers(3);
+        release.countDown();
+
+        assertEquals("v", leader.get(1, TimeUnit.SECONDS));
+        for (Future<String> follower : followers) {
+            assertEquals("v", follower.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0.75, meterRegistry.get("coalescing.dedup.ratio").tag("flight", "test").gauge().value());
+        assertEquals(3.0, meterRegistry.get("coalescing.followers").summary().totalAmount());
+    }
+
+    @Test
+    void execute_shouldDeliverTheLeadersExceptionToEveryWaiter() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        IllegalStateException failure = new IllegalStateException("db down");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> flight.execute("k", () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        started.await();
+        Future<String> follower = executor.submit(() -> flight.execute("k", () -> "other"));
+        awaitFollowers(1);
+        release.countDown();
+
+        assertSame(failure, assertThrows(ExecutionException.class, () -> leader.get(1, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> follower.get(1, TimeUnit.SECONDS)).getCause());
+        // the failure is not remembered
+        assertEquals("v", flight.execute("k", () -> "v"));
+    }
+
+    @Test
+    void execute_shouldGiveUpAfterMaxWaitWithRetryAfter() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofMillis(50), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> flight.execute("k", () -> {
+            started.countDown();
+            await(release);
+            return "v";
+        }));
+        started.await();
+
+        try {
+            ServiceUnavailableException thrown = assertThrows(ServiceUnavailableException.class,
+                    () -> flight.execute("k", () -> "other"));
+
+            assertNotNull(thrown.getRetryAfter());
+            assertEquals(1.0, meterRegistry.get("coalescing.timeouts").counter().count());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void execute_shouldNotShareBetweenSequentialCallsOrDifferentKeys() {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+
+        flight.execute("k", () -> "v" + loads.incrementAndGet());
+        assertEquals("v2", flight.execute("k", () -> "v" + loads.incrementAndGet()));
+        assertEquals("v3", flight.execute("other", () -> "v" + loads.incrementAndGet()));
+
+        assertEquals(0.0, meterRegistry.get("coalescing.dedup.ratio").gauge().value());
+        assertEquals(3.0, meterRegistry.get("coalescing.calls").tag("role", "leader").counter().count());
+    }
+
+    private void awaitFollowers(int count) throws InterruptedException {
+        // a follower is counted once it holds the leader's flight, so from here on it gets the leader's result
+        while (meterRegistry.get("coalescing.calls").tag("role", "follower").counter().count() < count) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
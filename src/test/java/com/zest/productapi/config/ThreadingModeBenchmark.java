@@ -0,0 +1,141 @@
+package com.zest.productapi.config;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.productapi.dto.LoginRequest;
+import com.zest.productapi.dto.ProductCreateRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Request throughput and latency for the current threading mode (Tomcat + H2, disabled by default):
+// mvn test -Dtest=ThreadingModeBenchmark -Dbenchmark.threading.requests=50000 -Dsurefire.failIfNoSpecifiedTests=false
+// add -Dspring.threads.virtual.enabled=true on Java 21 for the virtual-thread run
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark.threading.requests", matches = "\\d+")
+class ThreadingModeBenchmark {
+
+    private static final int PRODUCTS = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BackgroundThreads backgroundThreads;
+
+    @Test
+    void listAndGetProducts() throws Exception {
+        int requests = Integer.getInteger("benchmark.threading.requests");
+        int clients = Integer.getInteger("benchmark.threading.clients", 400);
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String token = login(http);
+        List<Long> ids = createProducts(http, token);
+
+        // ==========warm-up==========
+        run(http, token, ids, Math.min(requests, 5000), clients);
+        Result result = run(http, token, ids, requests, clients);
+
+        System.out.printf("threading mode=%s java=%s clients=%d requests=%d throughput=%.0f/s p50=%.1fms p99=%.1fms max=%.1fms errors=%d%n",
+                backgroundThreads.isVirtual() ? "virtual" : "platform", Runtime.version().feature(), clients, requests,
+                requests / (result.elapsedNanos() / 1e9),
+                result.percentile(0.50) / 1e6, result.percentile(0.99) / 1e6, result.percentile(1.0) / 1e6,
+                result.errors());
+        assertEquals(0, result.errors());
+    }
+
+    private Result run(HttpClient http, String token, List<Long> ids, int requests, int clients) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong errors = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        long started = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            executor.submit(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < requests) {
+                    // half single-product reads (cached), half list pages (always a query)
+                    String path = i % 2 == 0
+                            ? "/api/v1/products/" + ids.get(i % ids.size())
+                            : "/api/v1/products?page=" + (i % 10) + "&size=20&totals=none";
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                            .header("Authorization", "Bearer " + token)
+                            .GET()
+                            .build();
+                    long sent = System.nanoTime();
+                    try {
+                        if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception ex) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - sent;
+                }
+            });
+        }
+        executor.shutdown();
+        while (!executor.awaitTermination(1, java.util.concurrent.TimeUnit.SECONDS)) {
+            Thread.onSpinWait();
+        }
+        long elapsed = System.nanoTime() - started;
+        Arrays.sort(latencies);
+        return new Result(latencies, elapsed, errors.get());
+    }
+
+    private String login(HttpClient http) throws Exception {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                                new LoginRequest("admin@test.local", "Admin@123"))))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).path("data").path("accessToken").asText();
+    }
+
+    private List<Long> createProducts(HttpClient http, String token) throws Exception {
+        List<ProductCreateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            requests.add(new ProductCreateRequest("Threading bench " + i, "bench"));
+        }
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/products/bulk"))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(requests)))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        List<Long> ids = new ArrayList<>();
+        objectMapper.readTree(response.body()).path("data").path("results")
+                .forEach(item -> ids.add(item.path("id").asLong()));
+        return ids;
+    }
+
+    private record Result(long[] latencies, long elapsedNanos, long errors) {
+
+        long percentile(double p) {
+            int index = (int) Math.ceil(p * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))];
+        }
+    }
+}
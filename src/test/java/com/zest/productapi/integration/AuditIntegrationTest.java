@@ -0,0 +1,109 @@
+package com.zest.productapi.integration;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.productapi.audit.AuditRetentionJob;
+import com.zest.productapi.dto.ProductCreateRequest;
+import com.zest.productapi.dto.RegisterRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import static com.zest.productapi.integration.AuthTestSupport.accessToken;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuditIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditRetentionJob auditRetentionJob;
+
+    @Test
+    void createProduct_shouldBePersistedAndQueryable() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        MvcResult createResult = mockMvc.perform(post("/api/v1/products")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductCreateRequest("Audited", "auditor"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long productId = objectMapper.readTree(createResult.getResponse().getContentAsString()).path("data").path("id").asLong();
+
+        // the writer flushes on a timer, so poll until the event lands
+        JsonNode events = null;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            MvcResult result = mockMvc.perform(get("/api/v1/audit-events")
+                            .param("productId", String.valueOf(productId))
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            events = objectMapper.readTree(result.getResponse().getContentAsString()).path("data").path("content");
+            if (!events.isEmpty()) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+
+        assertEquals(1, events.size());
+        assertEquals("CREATE", events.path(0).path("action").asText());
+        assertEquals("auditor", events.path(0).path("actor").asText());
+    }
+
+    @Test
+    void auditEvents_shouldRequireAdmin() throws Exception {
+        String email = "auditreader" + System.currentTimeMillis() + "@p.com";
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RegisterRequest("Audit Reader", email, "Password@123"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/audit-events")
+                        .header("Authorization", "Bearer " + accessToken(mockMvc, objectMapper, email, "Password@123")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void retention_shouldRemoveOnlyExpiredEvents() {
+        Instant old = Instant.now().minus(200, ChronoUnit.DAYS);
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("insert into audit_event (action, product_id, actor, occurred_on) values (?, ?, ?, ?)",
+                    "DELETE", -1L, "retention", old.atOffset(ZoneOffset.UTC));
+        }
+        jdbcTemplate.update("insert into audit_event (action, product_id, actor, occurred_on) values (?, ?, ?, ?)",
+                "DELETE", -1L, "retention", Instant.now().atOffset(ZoneOffset.UTC));
+
+        long removed = auditRetentionJob.purgeOlderThan(Instant.now().minus(90, ChronoUnit.DAYS));
+
+        assertTrue(removed >= 3);
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "select count(*) from audit_event where product_id = -1", Long.class));
+    }
+}
@@ -2,20 +2,29 @@ package com.zest.productapi.integration;
 
 // ==========file-context==========
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zest.productapi.dto.LoginRequest;
 import com.zest.productapi.dto.RefreshTokenRequest;
 import com.zest.productapi.dto.RegisterRequest;
+import com.zest.productapi.security.RefreshTokenReaper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -31,6 +40,12 @@ class AuthControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RefreshTokenReaper refreshTokenReaper;
+
     @Test
     void registerLoginRefreshFlow_shouldSucceed() throws Exception {
         String uniqueEmail = "user" + System.currentTimeMillis() + "@test.com";
@@ -79,5 +94,54 @@ class AuthControllerIntegrationTest {
                         )))
                 .andExpect(status().isUnauthorized());
     }
-}
 
+    @Test
+    void reaper_shouldDeleteExpiredAndRevokedTokensOnly() throws Exception {
+        String suffix = System.currentTimeMillis() + "@reaper.com";
+        String loggedOut = "out" + suffix;
+        String expired = "expired" + suffix;
+        String active = "active" + suffix;
+        String loggedOutAccessToken = register(loggedOut).path("accessToken").asText();
+        register(expired);
+        String activeRefreshToken = register(active).path("refreshToken").asText();
+
+        mockMvc.perform(post("/api/v1/auth/logout")
+                        .header("Authorization", "Bearer " + loggedOutAccessToken))
+                .andExpect(status().isOk());
+        jdbcTemplate.update("update refresh_token set expires_at = ? where user_id = (select id from \"user\" where email = ?)",
+                Instant.now().minus(1, ChronoUnit.DAYS).atOffset(ZoneOffset.UTC), expired);
+
+        // another instance holds the lease: nothing is deleted
+        jdbcTemplate.update("delete from job_lock where name = 'refresh-token-reaper'");
+        jdbcTemplate.update("insert into job_lock (name, locked_until, locked_by) values ('refresh-token-reaper', ?, 'other-node')",
+                Instant.now().plus(1, ChronoUnit.HOURS).atOffset(ZoneOffset.UTC));
+        assertEquals(0, refreshTokenReaper.reap(Instant.now().plusSeconds(1)));
+        assertEquals(1, refreshTokenCount(loggedOut));
+
+        jdbcTemplate.update("update job_lock set locked_until = ? where name = 'refresh-token-reaper'",
+                Instant.now().minusSeconds(1).atOffset(ZoneOffset.UTC));
+        assertTrue(refreshTokenReaper.reap(Instant.now().plusSeconds(1)) >= 2);
+
+        assertEquals(0, refreshTokenCount(loggedOut));
+        assertEquals(0, refreshTokenCount(expired));
+        assertEquals(1, refreshTokenCount(active));
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest(activeRefreshToken))))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode register(String email) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RegisterRequest("Reaper User", email, "Password@123"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).path("data");
+    }
+
+    private long refreshTokenCount(String email) {
+        return jdbcTemplate.queryForObject("select count(*) from refresh_token t join \"user\" u on u.id = t.user_id "
+                + "where u.email = ?", Long.class, email);
+    }
+}
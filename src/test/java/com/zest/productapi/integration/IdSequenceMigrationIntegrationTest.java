@@ -0,0 +1,78 @@
+package com.zest.productapi.integration;
+
+// ==========file-context==========
+
+import com.zest.productapi.dto.ProductCreateRequest;
+import com.zest.productapi.dto.ProductFileFormat;
+import com.zest.productapi.dto.ProductImportResponse;
+import com.zest.productapi.dto.ProductResponse;
+import com.zest.productapi.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// a database left by a version that used identity ids: rows exist, the sequences do not
+@SpringBootTest(properties = {"spring.jpa.hibernate.ddl-auto=update", "spring.datasource.url=" + IdSequenceMigrationIntegrationTest.URL})
+@DirtiesContext
+@ActiveProfiles("test")
+class IdSequenceMigrationIntegrationTest {
+
+    static final String URL = "jdbc:h2:mem:legacyiddb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    static {
+        // runs when the class loads, before the context and its migrations start
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table product (id bigint generated by default as identity primary key, "
+                    + "product_name varchar(255) not null, created_by varchar(100) not null, "
+                    + "created_on timestamp(6) with time zone not null, modified_by varchar(100), "
+                    + "modified_on timestamp(6) with time zone)");
+            statement.execute("insert into product (id, product_name, created_by, created_on) values "
+                    + "(1, 'Legacy one', 'admin', current_timestamp), (2, 'Legacy two', 'admin', current_timestamp), "
+                    + "(120, 'Legacy three', 'admin', current_timestamp)");
+            statement.execute("create table item (id bigint generated by default as identity primary key, "
+                    + "quantity integer not null, product_id bigint not null references product (id))");
+            statement.execute("insert into item (id, quantity, product_id) values (1, 5, 1), (75, 3, 120)");
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void createProduct_shouldTakeAnIdAboveTheExistingRows() {
+        ProductResponse created = productService.createProduct(new ProductCreateRequest("After migration", "admin"));
+
+        assertTrue(created.id() > 120);
+        assertEquals(4, jdbcTemplate.queryForObject("select count(*) from product", Integer.class));
+    }
+
+    @Test
+    void importProducts_shouldTakeItemIdsAboveTheExistingRows() throws Exception {
+        String body = "{\"productName\":\"Imported after migration\",\"createdBy\":\"admin\",\"itemQuantities\":[1,2]}\n";
+
+        ProductImportResponse response = productService.importProducts(ProductFileFormat.NDJSON, null,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, response.itemsImported());
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from item where id > 75", Integer.class));
+    }
+}
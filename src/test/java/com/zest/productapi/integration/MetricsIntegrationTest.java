@@ -0,0 +1,96 @@
+package com.zest.productapi.integration;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.productapi.dto.ProductCreateRequest;
+import com.zest.productapi.dto.RegisterRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.zest.productapi.integration.AuthTestSupport.accessToken;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void prometheus_shouldExposeRouteServiceRepositoryAndPoolTimers() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        MvcResult created = mockMvc.perform(post("/api/v1/products")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductCreateRequest("Metrics product", "tester"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long productId = objectMapper.readTree(created.getResponse().getContentAsString()).path("data").path("id").asLong();
+        mockMvc.perform(get("/api/v1/products/" + productId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        // actuator shares the application port here, so the scrape needs an admin token
+        String scrape = mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(scrape.contains("uri=\"/api/v1/products/{id}\""));
+        assertFalse(scrape.contains("uri=\"/api/v1/products/" + productId + "\""));
+        assertTrue(scrape.contains("service_invocations_seconds_bucket{"));
+        assertTrue(scrape.contains("method=\"getProductById\""));
+        assertTrue(scrape.contains("method=\"login\""));
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_bucket{"));
+        assertTrue(scrape.contains("repository=\"ProductRepository\""));
+        assertTrue(scrape.contains("hibernate_flushes_total"));
+        assertTrue(scrape.contains("hibernate_entities_loads_total"));
+        assertTrue(scrape.contains("hikaricp_connections_acquire_seconds_bucket{"));
+    }
+
+    @Test
+    void metricsEndpoints_shouldRequireAdminOnTheApplicationPort() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+
+        String email = "scraper" + System.currentTimeMillis() + "@p.com";
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RegisterRequest("Scraper", email, "Password@123"))))
+                .andExpect(status().isCreated());
+        String userToken = accessToken(mockMvc, objectMapper, email, "Password@123");
+        mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics/hikaricp.connections.active")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/metrics/hikaricp.connections.active")
+                        .header("Authorization", "Bearer " + accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123")))
+                .andExpect(status().isOk());
+    }
+}
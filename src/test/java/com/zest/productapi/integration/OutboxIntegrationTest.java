@@ -0,0 +1,165 @@
+package com.zest.productapi.integration;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.productapi.dto.ProductCreateRequest;
+import com.zest.productapi.dto.ProductUpdateRequest;
+import com.zest.productapi.outbox.InMemoryOutboxSink;
+import com.zest.productapi.outbox.OutboxClaimMode;
+import com.zest.productapi.outbox.OutboxMessage;
+import com.zest.productapi.outbox.OutboxRelay;
+import com.zest.productapi.outbox.ProductOutbox;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static com.zest.productapi.integration.AuthTestSupport.accessToken;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the relay is off in other test contexts: they share this in-memory database and would claim its rows
+// own database: create-drop on close would otherwise empty the one the cached contexts share
+@SpringBootTest(properties = {"app.outbox.relay.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:outboxdb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"})
+@DirtiesContext
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OutboxIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductOutbox productOutbox;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @SpyBean
+    private InMemoryOutboxSink outboxSink;
+
+    @AfterEach
+    void resetSink() {
+        reset(outboxSink);
+    }
+
+    @Test
+    void productWrites_shouldBeDeliveredFromOutbox() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        long productId = createProduct(adminToken, "Outboxed");
+        mockMvc.perform(put("/api/v1/products/" + productId)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductUpdateRequest("Outboxed v2", "editor"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/products/" + productId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        List<OutboxMessage> messages = awaitDelivered(message -> message.productId() == productId, 3);
+
+        assertEquals(Set.of("CREATE", "UPDATE", "DELETE"), messages.stream().map(OutboxMessage::eventType).collect(Collectors.toSet()));
+        assertTrue(messages.stream().anyMatch(message -> message.payload().contains("\"productName\":\"Outboxed v2\"")));
+        assertEquals(OutboxClaimMode.SKIP_LOCKED, outboxRelay.getClaimMode());
+        awaitOutboxEmpty(productId);
+    }
+
+    @Test
+    void rolledBackWrite_shouldLeaveNoOutboxRow() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            productOutbox.recordDeleted(-42L);
+            status.setRollbackOnly();
+        });
+
+        Thread.sleep(200);
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "select count(*) from product_outbox where aggregate_id = -42", Long.class));
+        assertTrue(outboxSink.getDelivered().stream().noneMatch(message -> message.productId() == -42L));
+    }
+
+    @Test
+    void recording_shouldRequireSurroundingTransaction() {
+        assertThrows(IllegalTransactionStateException.class, () -> productOutbox.recordDeleted(-43L));
+    }
+
+    @Test
+    void failedDelivery_shouldBeRetried() throws Exception {
+        doThrow(new IllegalStateException("sink down")).doCallRealMethod().when(outboxSink).deliver(anyList());
+        long productId = createProduct(accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123"), "Retried");
+
+        List<OutboxMessage> messages = awaitDelivered(message -> message.productId() == productId, 1);
+
+        assertEquals(1, messages.get(0).attempts());
+        awaitOutboxEmpty(productId);
+    }
+
+    private List<OutboxMessage> awaitDelivered(Predicate<OutboxMessage> filter, int expected) throws InterruptedException {
+        // the relay runs on its own threads, so poll until the messages arrive
+        long deadline = System.currentTimeMillis() + 5000;
+        List<OutboxMessage> messages = List.of();
+        while (System.currentTimeMillis() < deadline) {
+            messages = outboxSink.getDelivered().stream().filter(filter).toList();
+            if (messages.size() >= expected) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        assertEquals(expected, messages.size());
+        return messages;
+    }
+
+    private void awaitOutboxEmpty(long productId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        long remaining = -1;
+        while (System.currentTimeMillis() < deadline && remaining != 0) {
+            remaining = jdbcTemplate.queryForObject(
+                    "select count(*) from product_outbox where aggregate_id = ?", Long.class, productId);
+            Thread.sleep(20);
+        }
+        assertEquals(0L, remaining);
+    }
+
+    private long createProduct(String adminToken, String name) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/products")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductCreateRequest(name, "admin"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).path("data").path("id").asLong();
+    }
+}
@@ -0,0 +1,80 @@
+package com.zest.productapi.integration;
+
+// ==========file-context==========
+
+import com.zest.productapi.entity.Product;
+import com.zest.productapi.outbox.InMemoryOutboxSink;
+import com.zest.productapi.outbox.OutboxClaimMode;
+import com.zest.productapi.outbox.OutboxMessage;
+import com.zest.productapi.outbox.OutboxRelay;
+import com.zest.productapi.outbox.ProductOutbox;
+import com.zest.productapi.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// the relay is off in other test contexts: they share this in-memory database and would claim its rows
+@SpringBootTest(properties = {"app.outbox.relay.enabled=true", "app.outbox.claim-mode=partitioned", "app.outbox.relay.threads=3",
+        "spring.datasource.url=jdbc:h2:mem:outboxclaimdb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"})
+@DirtiesContext
+@ActiveProfiles("test")
+class OutboxPartitionedClaimIntegrationTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductOutbox productOutbox;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryOutboxSink outboxSink;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void partitionedRelay_shouldDeliverEveryProductOnce() throws Exception {
+        List<Long> ids = new TransactionTemplate(transactionManager).execute(status -> {
+            List<Product> products = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                Product product = new Product();
+                product.setProductName("Partitioned " + i);
+                product.setCreatedBy("admin");
+                products.add(product);
+            }
+            List<Product> saved = productRepository.saveAll(products);
+            productOutbox.recordSaved("CREATE", saved);
+            return saved.stream().map(Product::getId).toList();
+        });
+
+        // each relay thread only claims the products in its own id slot
+        Set<Long> expected = Set.copyOf(ids);
+        long deadline = System.currentTimeMillis() + 5000;
+        List<OutboxMessage> delivered = List.of();
+        while (System.currentTimeMillis() < deadline) {
+            delivered = outboxSink.getDelivered().stream().filter(message -> expected.contains(message.productId())).toList();
+            if (delivered.size() >= expected.size()) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+
+        assertEquals(OutboxClaimMode.PARTITIONED, outboxRelay.getClaimMode());
+        assertEquals(expected.size(), delivered.size());
+        assertEquals(expected, delivered.stream().map(OutboxMessage::productId).collect(Collectors.toSet()));
+    }
+}
@@ -0,0 +1,272 @@
+package com.zest.productapi.integration;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.productapi.changes.ProductChangeRetentionJob;
+import com.zest.productapi.dto.ProductCreateRequest;
+import com.zest.productapi.dto.ProductUpdateRequest;
+import com.zest.productapi.entity.Product;
+import com.zest.productapi.outbox.ProductOutbox;
+import com.zest.productapi.repository.ProductRepository;
+import com.zest.productapi.search.ProductNameCatchUp;
+import com.zest.productapi.search.ProductNameIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.zest.productapi.integration.AuthTestSupport.accessToken;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductChangeFeedIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductChangeRetentionJob retentionJob;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductOutbox productOutbox;
+
+    @Autowired
+    private ProductNameIndex productNameIndex;
+
+    @Autowired
+    private ProductNameCatchUp nameCatchUp;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void changes_shouldCompactToLatestStateAndKeepTombstones() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        long start = awaitSequenced();
+        long kept = createProduct(adminToken, "Feed kept");
+        long removed = createProduct(adminToken, "Feed removed");
+        mockMvc.perform(put("/api/v1/products/" + kept)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductUpdateRequest("Feed kept v2", "editor"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/products/" + removed)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        awaitSequenced();
+
+        List<JsonNode> changes = readAll(adminToken, start);
+
+        assertEquals(2, changes.size());
+        JsonNode keptChange = find(changes, kept);
+        // compacted: one entry per product carrying its latest state
+        assertNotEquals("DELETE", keptChange.path("type").asText());
+        assertEquals("Feed kept v2", keptChange.path("product").path("productName").asText());
+        JsonNode tombstone = find(changes, removed);
+        assertEquals("DELETE", tombstone.path("type").asText());
+        assertTrue(tombstone.path("product").isNull());
+        assertTrue(changes.get(0).path("seq").asLong() < changes.get(1).path("seq").asLong());
+    }
+
+    @Test
+    void longPoll_shouldReturnOnceAChangeIsSequenced() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        long start = awaitSequenced();
+
+        MvcResult pending = mockMvc.perform(get("/api/v1/products/changes")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("since", String.valueOf(start))
+                        .param("waitSeconds", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThrows(IllegalStateException.class, () -> pending.getAsyncResult(200), "long-poll answered before any change");
+        long productId = createProduct(adminToken, "Feed long-poll");
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.changes[0].productId").value(productId))
+                .andExpect(jsonPath("$.data.changes[0].type").value("CREATE"));
+    }
+
+    @Test
+    void longPoll_shouldReturnEmptyPageWhenWaitEnds() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        long start = awaitSequenced();
+
+        MvcResult pending = mockMvc.perform(get("/api/v1/products/changes")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("since", String.valueOf(start))
+                        .param("waitSeconds", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.changes").isEmpty())
+                .andExpect(jsonPath("$.data.nextCursor").value(String.valueOf(start)));
+    }
+
+    @Test
+    void stream_shouldSendChangesAsServerSentEvents() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        long start = awaitSequenced();
+        long productId = createProduct(adminToken, "Feed streamed");
+
+        MvcResult stream = mockMvc.perform(get("/api/v1/products/changes")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("Last-Event-ID", String.valueOf(start))
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = "";
+        while (System.currentTimeMillis() < deadline && !body.contains("\"productId\":" + productId)) {
+            Thread.sleep(50);
+            body = stream.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains("event:change"), body);
+        assertTrue(body.contains("id:" + (start + 1)), body);
+        assertTrue(body.contains("\"productId\":" + productId), body);
+    }
+
+    @Test
+    void nameIndex_shouldCatchUpWithWritesFromOtherInstances() throws Exception {
+        String name = "Feed remote " + System.currentTimeMillis();
+        // what another instance does: product and feed marker commit together, but this node's index hooks never run
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Product saved = transactionTemplate.execute(status -> {
+            Product product = new Product();
+            product.setProductName(name);
+            product.setCreatedBy("remote");
+            Product created = productRepository.save(product);
+            productOutbox.recordSaved("CREATE", created);
+            return created;
+        });
+        awaitSequenced();
+        assertArrayEquals(new long[0], productNameIndex.findMatchingIds(name).orElseThrow());
+
+        nameCatchUp.catchUp();
+        assertArrayEquals(new long[]{saved.getId()}, productNameIndex.findMatchingIds(name).orElseThrow());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productRepository.deleteById(saved.getId());
+            productOutbox.recordDeleted(saved.getId());
+        });
+        awaitSequenced();
+        nameCatchUp.catchUp();
+        assertArrayEquals(new long[0], productNameIndex.findMatchingIds(name).orElseThrow());
+    }
+
+    @Test
+    void changes_shouldRejectInvalidAndExpiredCursors() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        long start = awaitSequenced();
+
+        mockMvc.perform(get("/api/v1/products/changes")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("since", "abc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/products/changes")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("since", String.valueOf(start + 1000)))
+                .andExpect(status().isGone());
+
+        // a cursor older than a purged tombstone may have missed that delete
+        long productId = createProduct(adminToken, "Feed purged");
+        long beforeDelete = awaitSequenced();
+        mockMvc.perform(delete("/api/v1/products/" + productId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        awaitSequenced();
+        assertTrue(retentionJob.purgeTombstonesOlderThan(Instant.now().plusSeconds(60)) >= 1);
+
+        mockMvc.perform(get("/api/v1/products/changes")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("since", String.valueOf(beforeDelete)))
+                .andExpect(status().isGone());
+        assertTrue(readAll(adminToken, 0).stream().noneMatch(change -> change.path("productId").asLong() == productId));
+    }
+
+    private long awaitSequenced() throws InterruptedException {
+        // the sequencer runs on its own thread, so wait until every recorded change has a seq
+        long deadline = System.currentTimeMillis() + 5000;
+        long pending = -1;
+        while (System.currentTimeMillis() < deadline && pending != 0) {
+            pending = jdbcTemplate.queryForObject("select count(*) from product_change_pending", Long.class);
+            Thread.sleep(20);
+        }
+        assertEquals(0L, pending);
+        return jdbcTemplate.queryForObject("select last_seq from product_change_cursor where id = 1", Long.class);
+    }
+
+    private List<JsonNode> readAll(String token, long since) throws Exception {
+        List<JsonNode> changes = new ArrayList<>();
+        String cursor = String.valueOf(since);
+        boolean hasMore = true;
+        while (hasMore) {
+            MvcResult started = mockMvc.perform(get("/api/v1/products/changes")
+                            .header("Authorization", "Bearer " + token)
+                            .param("since", cursor)
+                            .param("limit", "1000"))
+                    .andReturn();
+            MvcResult result = mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode data = objectMapper.readTree(result.getResponse().getContentAsString()).path("data");
+            data.path("changes").forEach(changes::add);
+            cursor = data.path("nextCursor").asText();
+            hasMore = data.path("hasMore").asBoolean();
+        }
+        return changes;
+    }
+
+    private JsonNode find(List<JsonNode> changes, long productId) {
+        return changes.stream()
+                .filter(change -> change.path("productId").asLong() == productId)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no change for product " + productId));
+    }
+
+    private long createProduct(String adminToken, String name) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/products")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductCreateRequest(name, "admin"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).path("data").path("id").asLong();
+    }
+}
@@ -4,18 +4,33 @@ package com.zest.productapi.integration;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.zest.productapi.dto.LoginRequest;
+import com.zest.productapi.dto.ProductBulkUpdateRequest;
 import com.zest.productapi.dto.ProductCreateRequest;
+import com.zest.productapi.entity.Item;
+import com.zest.productapi.repository.ItemRepository;
+import com.zest.productapi.repository.ProductRepository;
+import com.zest.productapi.util.ProductCursor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Arrays;
+import java.util.List;
+
+import static com.zest.productapi.integration.AuthTestSupport.accessToken;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -30,6 +45,15 @@ class ProductControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Test
     void productsEndpoint_shouldRequireAuthentication() throws Exception {
         mockMvc.perform(get("/api/v1/products"))
@@ -46,7 +70,7 @@ class ProductControllerIntegrationTest {
                         )))
                 .andExpect(status().isCreated());
 
-        String userToken = loginAndGetAccessToken(userEmail, "Password@123");
+        String userToken = accessToken(mockMvc, objectMapper, userEmail, "Password@123");
 
         mockMvc.perform(post("/api/v1/products")
                         .header("Authorization", "Bearer " + userToken)
@@ -57,7 +81,7 @@ class ProductControllerIntegrationTest {
 
     @Test
     void adminToken_shouldCreateAndUserShouldRead() throws Exception {
-        String adminToken = loginAndGetAccessToken("admin@test.local", "Admin@123");
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
 
         MvcResult createResult = mockMvc.perform(post("/api/v1/products")
                         .header("Authorization", "Bearer " + adminToken)
@@ -78,7 +102,7 @@ class ProductControllerIntegrationTest {
                         )))
                 .andExpect(status().isCreated());
 
-        String userToken = loginAndGetAccessToken(userEmail, "Password@123");
+        String userToken = accessToken(mockMvc, objectMapper, userEmail, "Password@123");
 
         mockMvc.perform(get("/api/v1/products/" + productId)
                         .header("Authorization", "Bearer " + userToken))
@@ -88,7 +112,7 @@ class ProductControllerIntegrationTest {
 
     @Test
     void adminCreate_shouldValidateRequestBody() throws Exception {
-        String adminToken = loginAndGetAccessToken("admin@test.local", "Admin@123");
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
 
         mockMvc.perform(post("/api/v1/products")
                         .header("Authorization", "Bearer " + adminToken)
@@ -100,24 +124,322 @@ class ProductControllerIntegrationTest {
 
     @Test
     void listProducts_shouldRejectInvalidSortField() throws Exception {
-        String adminToken = loginAndGetAccessToken("admin@test.local", "Admin@123");
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
 
         mockMvc.perform(get("/api/v1/products?sortBy=invalidField")
                         .header("Authorization", "Bearer " + adminToken))
                 .andExpect(status().isBadRequest());
     }
 
-    private String loginAndGetAccessToken(String email, String password) throws Exception {
-        MvcResult loginResult = mockMvc.perform(post("/api/v1/auth/login")
+    @Test
+    void listProducts_withWindowTotals_shouldReturnCountFromSameStatement() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        mockMvc.perform(post("/api/v1/products")
+                        .header("Authorization", "Bearer " + adminToken)
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(new LoginRequest(email, password))))
+                        .content(objectMapper.writeValueAsString(new ProductCreateRequest("Window Product", "admin"))))
+                .andExpect(status().isCreated());
+
+        MvcResult exact = mockMvc.perform(get("/api/v1/products")
+                        .param("size", "1")
+                        .header("Authorization", "Bearer " + adminToken))
                 .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totals").value("EXACT"))
                 .andReturn();
+        long exactTotal = objectMapper.readTree(exact.getResponse().getContentAsString())
+                .path("data")
+                .path("totalElements")
+                .asLong();
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("size", "1")
+                        .param("totals", "window")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(1))
+                .andExpect(jsonPath("$.data.totalElements").value(exactTotal))
+                .andExpect(jsonPath("$.data.totals").value("WINDOW"));
 
-        return objectMapper.readTree(loginResult.getResponse().getContentAsString())
+        mockMvc.perform(get("/api/v1/products")
+                        .param("size", "1")
+                        .param("totals", "none")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(1))
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.data.totals").value("NONE"));
+    }
+
+    @Test
+    void listProducts_byName_shouldFollowCreateUpdateDeleteThroughIndex() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        String marker = "trigram" + System.currentTimeMillis();
+
+        MvcResult createResult = mockMvc.perform(post("/api/v1/products")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductCreateRequest("Old " + marker, "admin"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long productId = objectMapper.readTree(createResult.getResponse().getContentAsString())
                 .path("data")
-                .path("accessToken")
+                .path("id")
+                .asLong();
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("name", "OLD " + marker)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(1))
+                .andExpect(jsonPath("$.data.content[0].id").value(productId));
+
+        mockMvc.perform(put("/api/v1/products/" + productId)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new com.zest.productapi.dto.ProductUpdateRequest("New " + marker, "admin"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("name", "old " + marker)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(0));
+
+        mockMvc.perform(delete("/api/v1/products/" + productId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("name", marker)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(0));
+    }
+
+    @Test
+    void listProductsByCursor_shouldWalkFilteredPagesWithoutGapsOrDuplicates() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        String marker = "cursor" + System.currentTimeMillis();
+        for (String suffix : new String[]{"c", "a", "b"}) {
+            mockMvc.perform(post("/api/v1/products")
+                            .header("Authorization", "Bearer " + adminToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new ProductCreateRequest(marker + suffix, "admin"))))
+                    .andExpect(status().isCreated());
+        }
+
+        MvcResult firstPage = mockMvc.perform(get("/api/v1/products")
+                        .param("cursor", "")
+                        .param("size", "2")
+                        .param("sortBy", "productName")
+                        .param("name", marker)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(2))
+                .andExpect(jsonPath("$.data.content[0].productName").value(marker + "a"))
+                .andExpect(jsonPath("$.data.content[1].productName").value(marker + "b"))
+                .andExpect(jsonPath("$.data.last").value(false))
+                .andReturn();
+
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString())
+                .path("data")
+                .path("nextCursor")
                 .asText();
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("cursor", nextCursor)
+                        .param("size", "2")
+                        .param("sortBy", "productName")
+                        .param("name", marker)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(1))
+                .andExpect(jsonPath("$.data.content[0].productName").value(marker + "c"))
+                .andExpect(jsonPath("$.data.last").value(true))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void listProductsByCursor_shouldRejectCursorForDifferentSort() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+
+        String idCursor = new ProductCursor("id", Sort.Direction.ASC, 1L, 1L).encode();
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("cursor", idCursor)
+                        .param("sortBy", "createdOn")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkEndpoints_shouldReportPerItemResults() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        String prefix = "Bulk" + System.currentTimeMillis();
+
+        MvcResult createResult = mockMvc.perform(post("/api/v1/products/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                new ProductCreateRequest(prefix + " one", "sync"),
+                                new ProductCreateRequest("", "sync"),
+                                new ProductCreateRequest(prefix + " two", "sync")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(3))
+                .andExpect(jsonPath("$.data.succeeded").value(2))
+                .andExpect(jsonPath("$.data.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.data.results[1].status").value("INVALID"))
+                .andExpect(jsonPath("$.data.results[1].error").value("productName: Product name is required"))
+                .andExpect(jsonPath("$.data.results[2].status").value("CREATED"))
+                .andReturn();
+
+        JsonNode results = objectMapper.readTree(createResult.getResponse().getContentAsString()).path("data").path("results");
+        long firstId = results.path(0).path("id").asLong();
+        long secondId = results.path(2).path("id").asLong();
+
+        mockMvc.perform(put("/api/v1/products/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                new ProductBulkUpdateRequest(firstId, prefix + " renamed", "sync"),
+                                new ProductBulkUpdateRequest(Long.MAX_VALUE, prefix + " ghost", "sync")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.results[0].status").value("UPDATED"))
+                .andExpect(jsonPath("$.data.results[1].status").value("NOT_FOUND"));
+
+        mockMvc.perform(get("/api/v1/products/" + firstId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.productName").value(prefix + " renamed"));
+
+        mockMvc.perform(post("/api/v1/products/bulk/delete")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(firstId, secondId, Long.MAX_VALUE))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.succeeded").value(2))
+                .andExpect(jsonPath("$.data.results[2].status").value("NOT_FOUND"));
+
+        mockMvc.perform(get("/api/v1/products/" + secondId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void bulkCreate_shouldRejectEmptyRequest() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+
+        mockMvc.perform(post("/api/v1/products/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void export_shouldStreamEveryProductAsNdjsonAndCsv() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        String name = "Export, \"quoted\" " + System.currentTimeMillis();
+
+        MvcResult createResult = mockMvc.perform(post("/api/v1/products")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductCreateRequest(name, "admin"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long productId = objectMapper.readTree(createResult.getResponse().getContentAsString()).path("data").path("id").asLong();
+
+        String ndjson = mockMvc.perform(get("/api/v1/products/export")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", containsString("products.ndjson")))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        boolean found = false;
+        for (String line : ndjson.split("\n")) {
+            JsonNode row = objectMapper.readTree(line);
+            if (row.path("id").asLong() == productId) {
+                found = name.equals(row.path("productName").asText());
+            }
+        }
+        assertTrue(found);
+
+        mockMvc.perform(get("/api/v1/products/export")
+                        .param("format", "csv")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(containsString("id,productName,createdBy,createdOn,modifiedBy,modifiedOn\n")))
+                .andExpect(content().string(containsString(productId + ",\"Export, \"\"quoted\"\" ")));
+
+        mockMvc.perform(get("/api/v1/products/export")
+                        .param("format", "xml")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listProducts_includeItems_shouldAttachItemsToEveryProductOnThePage() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        String prefix = "WithItems" + System.currentTimeMillis();
+        long withItems = createProduct(adminToken, prefix + " one");
+        createProduct(adminToken, prefix + " two");
+        seedItems(withItems, 3, 5);
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("name", prefix)
+                        .param("sortBy", "productName")
+                        .param("include", "items")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].items.length()").value(2))
+                .andExpect(jsonPath("$.data.content[0].items[0].quantity").value(3))
+                .andExpect(jsonPath("$.data.content[1].items.length()").value(0));
+    }
+
+    @Test
+    void items_shouldBeListedPerProductAndSkipUnknownIds() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        long productId = createProduct(adminToken, "Items " + System.currentTimeMillis());
+        seedItems(productId, 3, 5);
+
+        mockMvc.perform(get("/api/v1/products/" + productId + "/items")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2));
+
+        mockMvc.perform(get("/api/v1/products/items")
+                        .param("productIds", productId + "," + Long.MAX_VALUE)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data['" + productId + "'].length()").value(2))
+                .andExpect(jsonPath("$.data['" + Long.MAX_VALUE + "']").doesNotExist());
+    }
+
+    private long createProduct(String adminToken, String name) throws Exception {
+        MvcResult createResult = mockMvc.perform(post("/api/v1/products")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductCreateRequest(name, "admin"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(createResult.getResponse().getContentAsString()).path("data").path("id").asLong();
+    }
+
+    private void seedItems(long productId, int... quantities) {
+        // there is no endpoint for single items; they otherwise come only from imports
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int quantity : quantities) {
+                Item item = new Item();
+                item.setProduct(productRepository.getReferenceById(productId));
+                item.setQuantity(quantity);
+                itemRepository.save(item);
+            }
+        });
     }
 }
 
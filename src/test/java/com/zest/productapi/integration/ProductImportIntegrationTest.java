@@ -0,0 +1,165 @@
+package com.zest.productapi.integration;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.productapi.dto.ProductFileFormat;
+import com.zest.productapi.dto.ProductImportResponse;
+import com.zest.productapi.repository.ProductImportJobRepository;
+import com.zest.productapi.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static com.zest.productapi.integration.AuthTestSupport.accessToken;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductImportJobRepository productImportJobRepository;
+
+    @Test
+    void ndjsonImport_shouldWriteValidRowsAndReportRejectedOnes() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        String prefix = "Imported" + System.currentTimeMillis();
+        String body = """
+                {"productName":"%1$s one","createdBy":"supplier","itemQuantities":[3,5]}
+                {"productName":"","createdBy":"supplier"}
+                not json
+
+                {"productName":"%1$s two","createdBy":"supplier","itemQuantities":[-1]}
+                {"productName":"%1$s three","createdBy":"supplier"}
+                """.formatted(prefix);
+
+        mockMvc.perform(post("/api/v1/products/import")
+                        .param("importId", prefix)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.importId").value(prefix))
+                .andExpect(jsonPath("$.data.rowsRead").value(6))
+                .andExpect(jsonPath("$.data.rowsImported").value(2))
+                .andExpect(jsonPath("$.data.itemsImported").value(2))
+                .andExpect(jsonPath("$.data.rowsRejected").value(3))
+                .andExpect(jsonPath("$.data.rejections[0].row").value(2))
+                .andExpect(jsonPath("$.data.rejections[0].error").value("productName: Product name is required"))
+                .andExpect(jsonPath("$.data.rejections[1].error").value("Malformed JSON"))
+                .andExpect(jsonPath("$.data.rejections[2].row").value(5));
+
+        MvcResult listResult = mockMvc.perform(get("/api/v1/products")
+                        .param("name", prefix + " one")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(1))
+                .andReturn();
+        long productId = objectMapper.readTree(listResult.getResponse().getContentAsString())
+                .path("data").path("content").path(0).path("id").asLong();
+
+        assertEquals(2, productService.getItemsByProductId(productId).size());
+
+        mockMvc.perform(post("/api/v1/products/import")
+                        .param("importId", prefix)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void csvImport_shouldMapColumnsByHeader() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        String prefix = "CsvImported" + System.currentTimeMillis();
+        String body = "createdBy,itemQuantities,productName\n"
+                + "supplier,1|2|3,\"" + prefix + ", quoted\"\n"
+                + "supplier,x," + prefix + " bad\n";
+
+        MvcResult importResult = mockMvc.perform(post("/api/v1/products/import")
+                        .param("format", "csv")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rowsImported").value(1))
+                .andExpect(jsonPath("$.data.itemsImported").value(3))
+                .andExpect(jsonPath("$.data.rejections[0].error").value("itemQuantities must be integers separated by |"))
+                .andReturn();
+        // without a client importId the import cannot be resumed, so it leaves no job row behind
+        String generatedId = objectMapper.readTree(importResult.getResponse().getContentAsString())
+                .path("data").path("importId").asText();
+        assertFalse(generatedId.isBlank());
+        assertFalse(productImportJobRepository.existsById(generatedId));
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("name", prefix + ", quoted")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(1));
+    }
+
+    @Test
+    void interruptedImport_shouldResumeAfterLastCommittedRow() throws Exception {
+        String importId = "resume-" + System.currentTimeMillis();
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            body.append("{\"productName\":\"").append(importId).append(" row ").append(i)
+                    .append("\",\"createdBy\":\"supplier\"}\n");
+        }
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        int firstThreeRows = body.indexOf(importId + " row 4") - "{\"productName\":\"".length();
+
+        assertThrows(IOException.class, () -> productService.importProducts(
+                ProductFileFormat.NDJSON, importId, failingAfter(bytes, firstThreeRows)));
+
+        ProductImportResponse resumed = productService.importProducts(
+                ProductFileFormat.NDJSON, importId, new ByteArrayInputStream(bytes));
+
+        assertEquals(5, resumed.rowsRead());
+        assertEquals(3, resumed.rowsSkipped());
+        assertEquals(2, resumed.rowsImported());
+        assertTrue(productImportJobRepository.findById(importId).orElseThrow().isCompleted());
+    }
+
+    private static InputStream failingAfter(byte[] bytes, int limit) {
+        return new InputStream() {
+            private int position;
+
+            @Override
+            public int read() throws IOException {
+                if (position == limit) {
+                    throw new IOException("Connection reset");
+                }
+                return bytes[position++] & 0xff;
+            }
+        };
+    }
+}
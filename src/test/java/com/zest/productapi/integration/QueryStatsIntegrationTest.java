@@ -0,0 +1,91 @@
+package com.zest.productapi.integration;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.productapi.dto.RegisterRequest;
+import com.zest.productapi.jdbc.EntityTableNames;
+import com.zest.productapi.jdbc.QueryStats;
+import com.zest.productapi.jdbc.QueryStatsContext;
+import com.zest.productapi.jdbc.QueryStatsHeaderAdvice;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.zest.productapi.integration.AuthTestSupport.accessToken;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryStatsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityTableNames entityTableNames;
+
+    @Test
+    void header_shouldCarryQueryCountsForAdminsOnly() throws Exception {
+        String adminToken = accessToken(mockMvc, objectMapper, "admin@test.local", "Admin@123");
+        String header = mockMvc.perform(get("/api/v1/products?totals=exact")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(QueryStatsHeaderAdvice.HEADER);
+
+        assertNotNull(header);
+        assertTrue(header.matches("queries=[1-9]\\d*;rows=\\d+;db-ms=\\d+;n-plus-one=\\d+"), header);
+
+        String email = "querystats" + System.currentTimeMillis() + "@test.com";
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RegisterRequest("Query Stats", email, "Password@123"))))
+                .andExpect(status().isCreated());
+        String userToken = accessToken(mockMvc, objectMapper, email, "Password@123");
+        mockMvc.perform(get("/api/v1/products")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(QueryStatsHeaderAdvice.HEADER));
+    }
+
+    @Test
+    void inspector_shouldCountStatementsAndNameTheRepeatedEntity() {
+        QueryStats stats = QueryStatsContext.begin();
+        try {
+            // the shape of a lazy load per parent row: one statement, a new id each time
+            for (long userId = 1; userId <= 6; userId++) {
+                jdbcTemplate.queryForList("select id from refresh_token where user_id = ?", userId);
+            }
+            jdbcTemplate.queryForList("select id from roles");
+        } finally {
+            QueryStatsContext.end();
+        }
+
+        assertEquals(7, stats.queries());
+        assertTrue(stats.rows() >= 2);
+        List<QueryStats.RepeatedStatement> repeated = stats.repeatedStatements(5);
+        assertEquals(1, repeated.size());
+        assertEquals(6, repeated.get(0).executions());
+        assertEquals("RefreshToken (refresh_token)", entityTableNames.describe(repeated.get(0).sql()));
+        assertEquals("User (user)", entityTableNames.describe("select u1_0.id from \"user\" u1_0 where u1_0.id=?"));
+        assertEquals("User.roles (user_roles)", entityTableNames.describe("select r1_0.user_id from user_roles r1_0 where r1_0.user_id=?"));
+    }
+}
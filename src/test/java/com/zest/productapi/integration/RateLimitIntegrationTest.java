@@ -0,0 +1,119 @@
+package com.zest.productapi.integration;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.productapi.dto.LoginRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.net.URI;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.routes[0].name=auth",
+        "app.rate-limit.routes[0].path=/api/v1/auth/**",
+        "app.rate-limit.routes[0].methods=POST",
+        "app.rate-limit.routes[0].limit=3",
+        "app.rate-limit.routes[0].period=1h",
+        "app.rate-limit.routes[1].name=product-search",
+        "app.rate-limit.routes[1].path=/api/v1/products",
+        "app.rate-limit.routes[1].methods=GET",
+        "app.rate-limit.routes[1].query-param=name",
+        "app.rate-limit.routes[1].limit=2",
+        "app.rate-limit.routes[1].period=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void anonymousAuthRoutes_shouldBeLimitedPerClientAddress() throws Exception {
+        for (int remaining = 2; remaining >= 0; remaining--) {
+            mockMvc.perform(wrongLogin("10.20.0.1"))
+                    .andExpect(status().isUnauthorized())
+                    .andExpect(header().string("RateLimit-Limit", "3"))
+                    .andExpect(header().string("RateLimit-Remaining", Integer.toString(remaining)));
+        }
+
+        mockMvc.perform(wrongLogin("10.20.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("RateLimit-Remaining", "0"))
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status").value(429));
+
+        mockMvc.perform(wrongLogin("10.20.0.2"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void search_shouldBeLimitedPerSubjectWhileListingIsNot() throws Exception {
+        String token = adminToken("10.30.0.1");
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/products").param("name", "lamp")
+                            .header("Authorization", "Bearer " + token)
+                            .with(from("10.30.0.2")))
+                    .andExpect(status().isOk());
+        }
+        // another address does not help: the bucket belongs to the token's subject
+        mockMvc.perform(get("/api/v1/products").param("name", "lamp")
+                        .header("Authorization", "Bearer " + token)
+                        .with(from("10.30.0.3")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+        // nor does spelling the path with escapes
+        mockMvc.perform(get(URI.create("/api/v1/%70roducts?name=lamp"))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(get("/api/v1/products")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("RateLimit-Limit"));
+    }
+
+    private MockHttpServletRequestBuilder wrongLogin(String address) throws Exception {
+        return post("/api/v1/auth/login")
+                .with(from(address))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("admin@test.local", "wrong-password")));
+    }
+
+    private String adminToken(String address) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/login")
+                        .with(from(address))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("admin@test.local", "Admin@123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).path("data").path("accessToken").asText();
+    }
+
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
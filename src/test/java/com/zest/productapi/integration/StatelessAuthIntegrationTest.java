@@ -0,0 +1,90 @@
+package com.zest.productapi.integration;
+
+// ==========file-context==========
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.productapi.dto.ProductCreateRequest;
+import com.zest.productapi.dto.RegisterRequest;
+import com.zest.productapi.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.zest.productapi.integration.AuthTestSupport.accessToken;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.security.stateless-auth=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatelessAuthIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SpyBean
+    private UserRepository userRepository;
+
+    @Test
+    void authenticatedRead_shouldNotLookUpTheUser() throws Exception {
+        String userToken = registerAndLogin("stateless" + System.currentTimeMillis() + "@p.com");
+        clearInvocations(userRepository);
+
+        mockMvc.perform(get("/api/v1/products")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void rolesClaim_shouldStillDriveAuthorization() throws Exception {
+        String userToken = registerAndLogin("statelessrole" + System.currentTimeMillis() + "@p.com");
+
+        mockMvc.perform(post("/api/v1/products")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductCreateRequest("Tablet", "user"))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void logout_shouldRejectPreviouslyIssuedTokens() throws Exception {
+        String email = "statelesslogout" + System.currentTimeMillis() + "@p.com";
+        String oldToken = registerAndLogin(email);
+
+        mockMvc.perform(post("/api/v1/auth/logout")
+                        .header("Authorization", "Bearer " + oldToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/products")
+                        .header("Authorization", "Bearer " + oldToken))
+                .andExpect(status().isUnauthorized());
+
+        String newToken = accessToken(mockMvc, objectMapper, email, "Password@123");
+        mockMvc.perform(get("/api/v1/products")
+                        .header("Authorization", "Bearer " + newToken))
+                .andExpect(status().isOk());
+    }
+
+    private String registerAndLogin(String email) throws Exception {
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RegisterRequest("Stateless User", email, "Password@123"))))
+                .andExpect(status().isCreated());
+        return accessToken(mockMvc, objectMapper, email, "Password@123");
+    }
+}
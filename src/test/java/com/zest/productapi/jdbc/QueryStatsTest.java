@@ -0,0 +1,46 @@
+package com.zest.productapi.jdbc;
+
+// ==========file-context==========
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryStatsTest {
+
+    private static final String BY_USER = "select rt1_0.id from refresh_token rt1_0 where rt1_0.user_id=?";
+
+    @Test
+    void repeatedStatements_shouldFlagSameSqlWithDifferentBinds() {
+        QueryStats stats = new QueryStats();
+        for (int userId = 1; userId <= 6; userId++) {
+            stats.onExecute(BY_USER, Integer.hashCode(userId), 1_000);
+        }
+        stats.onExecute("select u1_0.id from \"user\" u1_0", 0, 1_000);
+
+        List<QueryStats.RepeatedStatement> repeated = stats.repeatedStatements(5);
+
+        assertEquals(1, repeated.size());
+        assertEquals(BY_USER, repeated.get(0).sql());
+        assertEquals(6, repeated.get(0).executions());
+        assertEquals(6, repeated.get(0).distinctBinds());
+        assertEquals(7, stats.queries());
+        assertEquals(7_000, stats.dbNanos());
+    }
+
+    @Test
+    void repeatedStatements_shouldIgnoreSameBindsAndShortRuns() {
+        QueryStats stats = new QueryStats();
+        for (int i = 0; i < 10; i++) {
+            // polling the same row is wasteful but not a lazy load per parent
+            stats.onExecute(BY_USER, 42, 1_000);
+        }
+        for (int userId = 1; userId <= 4; userId++) {
+            stats.onExecute("select p1_0.id from product p1_0 where p1_0.id=?", userId, 1_000);
+        }
+
+        assertTrue(stats.repeatedStatements(5).isEmpty());
+    }
+}
@@ -0,0 +1,71 @@
+package com.zest.productapi.search;
+
+// ==========file-context==========
+
+import com.zest.productapi.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductNameIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductNameIndex(productRepository, true, 2);
+        when(productRepository.findNameEntriesAfter(eq(0L), any(PageRequest.class))).thenReturn(List.of(
+                new ProductNameEntry(1L, "Wireless Keyboard"),
+                new ProductNameEntry(2L, "Keyboard Cover")
+        ));
+        when(productRepository.findNameEntriesAfter(eq(2L), any(PageRequest.class))).thenReturn(List.of(
+                new ProductNameEntry(3L, "Mouse")
+        ));
+        index.rebuild();
+    }
+
+    @Test
+    void findMatchingIds_shouldReturnSortedSubstringMatchesIgnoringCase() {
+        assertTrue(index.isReady());
+        assertEquals(3, index.size());
+        assertArrayEquals(new long[]{1L, 2L}, index.findMatchingIds("KEYBOARD").orElseThrow());
+        assertArrayEquals(new long[]{1L}, index.findMatchingIds("less key").orElseThrow());
+    }
+
+    @Test
+    void findMatchingIds_shouldRejectTrigramFalsePositives() {
+        index.index(4L, "abcd bcde");
+
+        // every trigram of "abcde" is in the name, but the name does not contain it
+        assertArrayEquals(new long[0], index.findMatchingIds("abcde").orElseThrow());
+    }
+
+    @Test
+    void findMatchingIds_shouldFallBackForShortQueries() {
+        assertTrue(index.findMatchingIds("ke").isEmpty());
+    }
+
+    @Test
+    void indexAndRemove_shouldReplacePreviousPostings() {
+        index.index(3L, "Gaming Mouse");
+        index.index(1L, "Wired Mouse");
+        index.remove(2L);
+
+        assertArrayEquals(new long[]{1L, 3L}, index.findMatchingIds("mouse").orElseThrow());
+        assertArrayEquals(new long[0], index.findMatchingIds("keyboard").orElseThrow());
+    }
+}
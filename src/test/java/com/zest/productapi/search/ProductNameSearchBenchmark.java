@@ -0,0 +1,114 @@
+package com.zest.productapi.search;
+
+// ==========file-context==========
+
+import com.zest.productapi.entity.Product;
+import com.zest.productapi.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Trigram index vs LIKE scan on a large catalog:
+// mvn test -Dtest=ProductNameSearchBenchmark -Dbenchmark.products=1000000 -Dsurefire.failIfNoSpecifiedTests=false
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark.products", matches = "\\d+")
+class ProductNameSearchBenchmark {
+
+    private static final String[] ADJECTIVES = {"wireless", "gaming", "ergonomic", "compact", "premium", "portable",
+            "smart", "classic", "rugged", "silent", "mechanical", "ultra"};
+    private static final String[] NOUNS = {"keyboard", "mouse", "monitor", "headset", "charger", "speaker",
+            "webcam", "router", "tablet", "laptop", "printer", "microphone"};
+    private static final String[] QUERIES = {"keyboard", "ergonomic mouse", "ultra", "sku-4242", "tablet 77", "zzz-none"};
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductNameIndex productNameIndex;
+
+    @Autowired
+    private ProductNameSearch productNameSearch;
+
+    @Test
+    void compareTrigramIndexWithLikeScan() {
+        int products = Integer.getInteger("benchmark.products");
+        seed(products);
+
+        long buildStarted = System.nanoTime();
+        productNameIndex.rebuild();
+        System.out.printf("index build: %d products in %d ms%n", products, (System.nanoTime() - buildStarted) / 1_000_000);
+
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id"));
+        System.out.printf("%-18s %12s %12s %12s %12s %10s%n", "query", "like p50 ms", "like p99 ms", "index p50", "index p99", "matches");
+        for (String query : QUERIES) {
+            long[] like = measure(() -> productRepository.findByProductNameContainingIgnoreCase(query, pageable));
+            long[] indexed = measure(() -> productNameSearch.search(query, pageable).orElseThrow());
+
+            Page<Product> likePage = productRepository.findByProductNameContainingIgnoreCase(query, pageable);
+            Page<Product> indexPage = productNameSearch.search(query, pageable).orElseThrow();
+            assertEquals(likePage.getTotalElements(), indexPage.getTotalElements());
+            assertEquals(likePage.getContent().stream().map(Product::getId).toList(),
+                    indexPage.getContent().stream().map(Product::getId).toList());
+
+            System.out.printf("%-18s %12.2f %12.2f %12.3f %12.3f %10d%n", query,
+                    like[0] / 1e6, like[1] / 1e6, indexed[0] / 1e6, indexed[1] / 1e6, indexPage.getTotalElements());
+        }
+    }
+
+    private void seed(int products) {
+        Random random = new Random(42);
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < products; i++) {
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + NOUNS[random.nextInt(NOUNS.length)] + " "
+                    + random.nextInt(100) + " sku-" + i;
+            batch.add(new Object[]{name, "bench", now});
+            if (batch.size() == 10_000) {
+                insert(batch);
+            }
+        }
+        insert(batch);
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("insert into product (product_name, created_by, created_on) values (?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    private long[] measure(Supplier<?> call) {
+        for (int i = 0; i < 3; i++) {
+            call.get();
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long started = System.nanoTime();
+            call.get();
+            samples[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(samples);
+        return new long[]{samples[ITERATIONS / 2], samples[(int) Math.ceil(ITERATIONS * 0.99) - 1]};
+    }
+}
@@ -0,0 +1,117 @@
+package com.zest.productapi.security;
+
+// ==========file-context==========
+
+import com.zest.productapi.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadPasswordEncoderTest {
+
+    private final CountDownLatch hashing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadPoolTaskExecutor executor;
+    private BulkheadPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+        encoder = new BulkheadPasswordEncoder(new BlockingEncoder(), executor, meterRegistry,
+                Duration.ofMillis(100), Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void matches_shouldRunOnTheHashingPool() {
+        release.countDown();
+
+        assertTrue(encoder.matches("secret", "hashed:secret"));
+        assertEquals("hashed:secret", encoder.encode("secret"));
+        assertEquals(1, meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count());
+        assertEquals(1, meterRegistry.get("auth.password.hash").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void matches_shouldFailFastWhenQueuedPastTheDeadline() throws Exception {
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> encoder.matches("block", "hashed:block"));
+        assertTrue(hashing.await(5, TimeUnit.SECONDS));
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> encoder.matches("secret", "hashed:secret"));
+
+        assertEquals(Duration.ofSeconds(2), ex.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("auth.password.rejected").tag("reason", "queue-wait").counter().count());
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        // the abandoned check never ran
+        assertEquals(1, meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void matches_shouldRejectWhenTheQueueIsFull() throws Exception {
+        CompletableFuture.runAsync(() -> encoder.matches("block", "hashed:block"));
+        assertTrue(hashing.await(5, TimeUnit.SECONDS));
+        CompletableFuture.runAsync(() -> encoder.matches("queued", "hashed:queued"));
+        while (executor.getQueueSize() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(ServiceUnavailableException.class, () -> encoder.matches("secret", "hashed:secret"));
+        assertEquals(1.0, meterRegistry.get("auth.password.rejected").tag("reason", "queue-full").counter().count());
+    }
+
+    @Test
+    void matches_shouldPropagateDelegateFailures() {
+        release.countDown();
+
+        assertThrows(BadCredentialsException.class, () -> encoder.matches("boom", "hashed:boom"));
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if ("boom".contentEquals(rawPassword)) {
+                throw new BadCredentialsException("boom");
+            }
+            if ("block".contentEquals(rawPassword)) {
+                hashing.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
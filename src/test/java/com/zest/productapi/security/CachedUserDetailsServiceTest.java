@@ -0,0 +1,81 @@
+package com.zest.productapi.security;
+
+// ==========file-context==========
+
+import com.zest.productapi.entity.RoleName;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachedUserDetailsServiceTest {
+
+    @Mock
+    private CustomUserDetailsService delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachedUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new CachedUserDetailsService(delegate, 100, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void loadUserByUsername_shouldServeRepeatedLookupsFromCache() {
+        when(delegate.loadUserByUsername("a@b.com")).thenReturn(user("a@b.com"));
+
+        UserDetails first = service.loadUserByUsername("a@b.com");
+        UserDetails second = service.loadUserByUsername("a@b.com");
+
+        assertSame(first, second);
+        assertEquals("", first.getPassword());
+        assertSame(RoleAuthorities.of(RoleName.ROLE_USER), first.getAuthorities().iterator().next());
+        verify(delegate, times(1)).loadUserByUsername("a@b.com");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "userDetails").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void evictAfterCommit_shouldReloadOnNextLookup() {
+        when(delegate.loadUserByUsername("a@b.com")).thenReturn(user("a@b.com"));
+
+        service.loadUserByUsername("a@b.com");
+        service.evictAfterCommit("a@b.com");
+        service.loadUserByUsername("a@b.com");
+
+        verify(delegate, times(2)).loadUserByUsername("a@b.com");
+    }
+
+    @Test
+    void loadUserByUsername_shouldNotCacheUnknownUsers() {
+        when(delegate.loadUserByUsername("missing@b.com"))
+                .thenThrow(new UsernameNotFoundException("User not found with email: missing@b.com"));
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("missing@b.com"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("missing@b.com"));
+
+        verify(delegate, times(2)).loadUserByUsername("missing@b.com");
+    }
+
+    private UserDetails user(String email) {
+        return User.withUsername(email)
+                .password("encoded")
+                .authorities(RoleAuthorities.of(RoleName.ROLE_USER))
+                .build();
+    }
+}
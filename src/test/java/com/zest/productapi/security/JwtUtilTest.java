@@ -0,0 +1,58 @@
+package com.zest.productapi.security;
+
+// ==========file-context==========
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+    private UserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil("testassignmentsecretkeyforhs256mustbeatleast32bytes", 900000, 100);
+        user = User.builder()
+                .username("reader@zest.com")
+                .password("x")
+                .authorities("ROLE_USER")
+                .build();
+    }
+
+    @Test
+    void verify_shouldParseSubjectRolesAndExpiryOnce() {
+        String token = jwtUtil.generateAccessToken(user);
+
+        VerifiedToken first = jwtUtil.verify(token);
+        VerifiedToken second = jwtUtil.verify(token);
+
+        assertEquals("reader@zest.com", first.subject());
+        assertEquals(List.of("ROLE_USER"), first.roles());
+        assertSame(first, second);
+        assertTrue(jwtUtil.isTokenValid(first, user));
+    }
+
+    @Test
+    void verify_shouldRejectTamperedSignature() {
+        String token = jwtUtil.generateAccessToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+    }
+
+    @Test
+    void verify_shouldRejectExpiredTokens() {
+        JwtUtil shortLived = new JwtUtil("testassignmentsecretkeyforhs256mustbeatleast32bytes", -1000, 100);
+        String token = shortLived.generateAccessToken(user);
+
+        assertThrows(JwtException.class, () -> shortLived.verify(token));
+    }
+}
@@ -0,0 +1,147 @@
+package com.zest.productapi.security;
+
+// ==========file-context==========
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketsTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void tryAcquire_shouldAllowTheBurstThenRefuseWithRetryAfter() {
+        // 2 tokens per second, up to 4 at once
+        TokenBuckets buckets = buckets(2, 4);
+        long now = System.nanoTime();
+
+        for (int i = 3; i >= 0; i--) {
+            TokenBuckets.Decision decision = buckets.tryAcquire("ip:10.0.0.1", now);
+            assertTrue(decision.allowed());
+            assertEquals(4, decision.limit());
+            assertEquals(i, decision.remaining());
+        }
+        TokenBuckets.Decision refused = buckets.tryAcquire("ip:10.0.0.1", now);
+
+        assertFalse(refused.allowed());
+        assertEquals(0, refused.remaining());
+        assertEquals(1, refused.retryAfterSeconds());
+        assertEquals(2, refused.resetSeconds());
+        assertEquals(1.0, meterRegistry.get("rate.limit.rejected").tag("route", "test").counter().count());
+    }
+
+    @Test
+    void tryAcquire_shouldRefillAtTheConfiguredRate() {
+        TokenBuckets buckets = buckets(2, 4);
+        long now = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            buckets.tryAcquire("sub:reader", now);
+        }
+
+        // half a second buys exactly one token back
+        assertTrue(buckets.tryAcquire("sub:reader", now + SECOND / 2).allowed());
+        assertFalse(buckets.tryAcquire("sub:reader", now + SECOND / 2).allowed());
+        // a long pause refills to the burst, never beyond it
+        assertEquals(3, buckets.tryAcquire("sub:reader", now + 60 * SECOND).remaining());
+    }
+
+    @Test
+    void tryAcquire_shouldKeepClientsApart() {
+        TokenBuckets buckets = buckets(1, 1);
+        long now = System.nanoTime();
+
+        assertTrue(buckets.tryAcquire("ip:10.0.0.1", now).allowed());
+        assertFalse(buckets.tryAcquire("ip:10.0.0.1", now).allowed());
+        assertTrue(buckets.tryAcquire("ip:10.0.0.2", now).allowed());
+    }
+
+    @Test
+    void tryAcquire_shouldHandOutEachTokenOnceUnderContention() throws Exception {
+        TokenBuckets buckets = buckets(1, 1000);
+        long now = System.nanoTime();
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                for (int i = 0; i < 500; i++) {
+                    if (buckets.tryAcquire("sub:hot", now).allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1000, allowed.get());
+    }
+
+    @Test
+    void evictIdle_shouldDropOnlyBucketsThatRefilledLongAgo() {
+        TokenBuckets buckets = buckets(1, 10);
+        long now = System.nanoTime();
+        buckets.tryAcquire("ip:10.0.0.1", now);
+        for (int i = 0; i < 10; i++) {
+            buckets.tryAcquire("ip:10.0.0.2", now + 5 * 60 * SECOND);
+        }
+
+        // the first is full since now + 1s; the second refills at now + 5m + 10s
+        assertEquals(1, buckets.evictIdle(now + 11 * 60 * SECOND));
+        assertEquals(1, buckets.size());
+        assertFalse(buckets.tryAcquire("ip:10.0.0.2", now + 5 * 60 * SECOND).allowed());
+    }
+
+    @Test
+    void tryAcquire_shouldReplaceAFullBucketBeyondMaxBuckets() {
+        TokenBuckets buckets = new TokenBuckets("test", 1, Duration.ofSeconds(1), 1, Duration.ofMinutes(10), 1, meterRegistry);
+        long now = System.nanoTime();
+        assertTrue(buckets.tryAcquire("ip:10.0.0.1", now).allowed());
+
+        // the first bucket is full again a second later, so it makes room for the newcomer
+        assertTrue(buckets.tryAcquire("ip:10.0.0.2", now + SECOND).allowed());
+        assertFalse(buckets.tryAcquire("ip:10.0.0.2", now + SECOND).allowed());
+        assertEquals(1, buckets.size());
+    }
+
+    @Test
+    void tryAcquire_shouldLetNewClientsThroughUncountedWhenEveryBucketIsBusy() {
+        TokenBuckets buckets = new TokenBuckets("test", 1, Duration.ofSeconds(1), 1, Duration.ofMinutes(10), 1, meterRegistry);
+        long now = System.nanoTime();
+        assertTrue(buckets.tryAcquire("ip:10.0.0.1", now).allowed());
+
+        // newcomers are not throttled together, and the tracked client keeps its own limit
+        assertTrue(buckets.tryAcquire("ip:10.0.0.2", now).allowed());
+        assertTrue(buckets.tryAcquire("ip:10.0.0.3", now).allowed());
+        assertFalse(buckets.tryAcquire("ip:10.0.0.1", now).allowed());
+        assertEquals(2.0, meterRegistry.get("rate.limit.untracked").counter().count());
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveLimits() {
+        assertThrows(IllegalArgumentException.class, () -> buckets(0, 1));
+    }
+
+    private TokenBuckets buckets(long perSecond, long burst) {
+        return new TokenBuckets("test", perSecond, Duration.ofSeconds(1), burst, Duration.ofMinutes(10), 1000, meterRegistry);
+    }
+}
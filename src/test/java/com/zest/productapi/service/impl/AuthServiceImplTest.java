@@ -14,6 +14,10 @@ import com.zest.productapi.repository.RefreshTokenRepository;
 import com.zest.productapi.repository.RoleRepository;
 import com.zest.productapi.repository.UserRepository;
 import com.zest.productapi.security.JwtUtil;
+import com.zest.productapi.security.CachedUserDetailsService;
+import com.zest.productapi.security.RecentRefreshTokens;
+import com.zest.productapi.security.RefreshTokens;
+import com.zest.productapi.security.TokenEpochRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,12 +29,14 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.Instant;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -47,13 +53,21 @@ class AuthServiceImplTest {
     private PasswordEncoder passwordEncoder;
     @Mock
     private AuthenticationManager authenticationManager;
+    @Mock
+    private TokenEpochRegistry tokenEpochRegistry;
+    @Mock
+    private CachedUserDetailsService cachedUserDetailsService;
+    @Mock
+    private RecentRefreshTokens recentRefreshTokens;
+    @Mock
+    private PlatformTransactionManager transactionManager;
     private JwtUtil jwtUtil;
 
     private AuthServiceImpl authService;
 
     @BeforeEach
     void setUp() {
-        jwtUtil = new JwtUtil("testassignmentsecretkeyforhs256mustbeatleast32bytes", 900000);
+        jwtUtil = new JwtUtil("testassignmentsecretkeyforhs256mustbeatleast32bytes", 900000, 100);
         authService = new AuthServiceImpl(
                 userRepository,
                 roleRepository,
@@ -61,6 +75,10 @@ class AuthServiceImplTest {
                 passwordEncoder,
                 authenticationManager,
                 jwtUtil,
+                tokenEpochRegistry,
+                cachedUserDetailsService,
+                recentRefreshTokens,
+                transactionManager,
                 900000,
                 604800000
         );
@@ -86,7 +104,6 @@ class AuthServiceImplTest {
         when(userRepository.save(any(User.class))).thenReturn(savedUser);
         RefreshToken persisted = new RefreshToken();
         persisted.setId(9L);
-        persisted.setToken("refresh-token");
         persisted.setUser(savedUser);
         persisted.setExpiresAt(Instant.now().plusSeconds(60));
         persisted.setRevoked(false);
@@ -97,12 +114,19 @@ class AuthServiceImplTest {
         var response = authService.register(new RegisterRequest("User", "a@b.com", "password123"));
 
         assertNotNull(response.accessToken());
-        assertEquals("refresh-token", response.refreshToken());
         assertTrue(response.roles().contains("ROLE_USER"));
 
+        // only the digest of the issued token is stored
+        ArgumentCaptor<RefreshToken> tokenCaptor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(tokenCaptor.capture());
+        assertEquals(43, response.refreshToken().length());
+        assertArrayEquals(RefreshTokens.hash(response.refreshToken()), tokenCaptor.getValue().getTokenHash());
+        verify(recentRefreshTokens).remember(aryEq(RefreshTokens.hash(response.refreshToken())), eq(9L));
+
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
         verify(userRepository).save(userCaptor.capture());
         assertEquals("a@b.com", userCaptor.getValue().getEmail());
+        verify(cachedUserDetailsService).evictAfterCommit("a@b.com");
     }
 
     @Test
@@ -129,14 +153,29 @@ class AuthServiceImplTest {
     @Test
     void refresh_shouldRejectRevokedToken() {
         RefreshToken token = new RefreshToken();
-        token.setToken("r1");
+        token.setTokenHash(RefreshTokens.hash("r1"));
         token.setRevoked(true);
         token.setExpiresAt(Instant.now().plusSeconds(60));
 
-        when(refreshTokenRepository.findByToken("r1")).thenReturn(Optional.of(token));
+        when(refreshTokenRepository.findByTokenHash(aryEq(RefreshTokens.hash("r1")))).thenReturn(Optional.of(token));
 
         assertThrows(AuthException.class, () -> authService.refresh(new RefreshTokenRequest("r1")));
         verify(refreshTokenRepository).save(token);
     }
-}
 
+    @Test
+    void refresh_shouldFallBackToDigestIndexWhenCachedRowWasRotated() {
+        RefreshToken rotated = new RefreshToken();
+        rotated.setId(3L);
+        rotated.setTokenHash(RefreshTokens.hash("newer"));
+        rotated.setRevoked(false);
+        rotated.setExpiresAt(Instant.now().plusSeconds(60));
+
+        when(recentRefreshTokens.find(aryEq(RefreshTokens.hash("r1")))).thenReturn(Optional.of(3L));
+        when(refreshTokenRepository.findById(3L)).thenReturn(Optional.of(rotated));
+        when(refreshTokenRepository.findByTokenHash(aryEq(RefreshTokens.hash("r1")))).thenReturn(Optional.empty());
+
+        assertThrows(AuthException.class, () -> authService.refresh(new RefreshTokenRequest("r1")));
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+}
@@ -2,14 +2,24 @@ package com.zest.productapi.service.impl;
 
 // ==========file-context==========
 
+import com.zest.productapi.cache.ProductCache;
+import com.zest.productapi.cache.ProductReadFlights;
+import com.zest.productapi.changes.ProductChangeFeed;
+import com.zest.productapi.dto.PageTotals;
 import com.zest.productapi.dto.ProductCreateRequest;
 import com.zest.productapi.dto.ProductUpdateRequest;
+import com.zest.productapi.dto.ItemResponse;
+import com.zest.productapi.entity.Item;
 import com.zest.productapi.entity.Product;
 import com.zest.productapi.exception.ResourceNotFoundException;
 import com.zest.productapi.mapper.ProductMapper;
+import com.zest.productapi.outbox.ProductOutbox;
 import com.zest.productapi.repository.ItemRepository;
 import com.zest.productapi.repository.ProductRepository;
+import com.zest.productapi.search.ProductNameSearch;
 import com.zest.productapi.service.AuditLogService;
+import com.zest.productapi.util.ProductCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,9 +29,18 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,15 +58,45 @@ class ProductServiceImplTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private ProductCountEstimator productCountEstimator;
+
+    @Mock
+    private ProductNameSearch productNameSearch;
+
+    @Mock
+    private ProductBulkWriter productBulkWriter;
+
+    @Mock
+    private ProductExporter productExporter;
+
+    @Mock
+    private ProductImporter productImporter;
+
+    @Mock
+    private ProductOutbox productOutbox;
+
+    @Mock
+    private ProductChangeFeed productChangeFeed;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private ProductMapper productMapper;
 
+    private ProductCache productCache;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
     @BeforeEach
     void setUp() {
         productMapper = new ProductMapper();
-        productService = new ProductServiceImpl(productRepository, itemRepository, productMapper, auditLogService);
+        productCache = new ProductCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        productService = new ProductServiceImpl(productRepository, itemRepository, productMapper, auditLogService,
+                productCountEstimator, productNameSearch, productCache, productBulkWriter, productExporter, productImporter,
+                productOutbox, productChangeFeed,
+                new ProductReadFlights(true, Duration.ofSeconds(2), new SimpleMeterRegistry()), transactionManager);
     }
 
     @Test
@@ -67,6 +116,67 @@ class ProductServiceImplTest {
         verify(productRepository).findAll(any(PageRequest.class));
     }
 
+    @Test
+    void getProducts_withoutTotals_shouldUseSliceAndSkipCount() {
+        Product product = new Product();
+        product.setId(1L);
+        product.setProductName("Keyboard");
+
+        Slice<Product> slice = new SliceImpl<>(List.of(product), PageRequest.of(0, 10), false);
+        when(productRepository.findSliceByProductNameContainingIgnoreCase("key", PageRequest.of(0, 10))).thenReturn(slice);
+
+        var response = productService.getProducts("key", PageRequest.of(0, 10), PageTotals.NONE);
+
+        assertEquals(1, response.content().size());
+        assertNull(response.totalElements());
+        assertTrue(response.last());
+        assertEquals(PageTotals.NONE, response.totals());
+        verify(productRepository, never()).countByProductNameContainingIgnoreCase(any());
+        verifyNoInteractions(productCountEstimator);
+    }
+
+    @Test
+    void getProducts_withEstimate_shouldNeverReportFewerRowsThanSeen() {
+        Product product = new Product();
+        product.setId(11L);
+        product.setProductName("Cable");
+
+        Slice<Product> slice = new SliceImpl<>(List.of(product), PageRequest.of(1, 10), true);
+        when(productRepository.findSliceBy(PageRequest.of(1, 10))).thenReturn(slice);
+        when(productCountEstimator.estimate(null)).thenReturn(5L);
+
+        var response = productService.getProducts(null, PageRequest.of(1, 10), PageTotals.ESTIMATED);
+
+        assertEquals(12L, response.totalElements());
+        assertEquals(2, response.totalPages());
+        assertFalse(response.last());
+        assertEquals(PageTotals.ESTIMATED, response.totals());
+    }
+
+    @Test
+    void getProductsByCursor_shouldFetchOneExtraRowAndEmitNextCursor() {
+        Product first = new Product();
+        first.setId(1L);
+        first.setProductName("Alpha");
+        Product second = new Product();
+        second.setId(2L);
+        second.setProductName("Beta");
+        Product lookahead = new Product();
+        lookahead.setId(3L);
+        lookahead.setProductName("Gamma");
+
+        when(productRepository.findNextPage(null, null, "productName", Sort.Direction.ASC, 3))
+                .thenReturn(List.of(first, second, lookahead));
+
+        var response = productService.getProductsByCursor(null, "", 2, "productName", Sort.Direction.ASC);
+
+        assertEquals(2, response.content().size());
+        assertFalse(response.last());
+        ProductCursor next = ProductCursor.decode(response.nextCursor(), "productName", Sort.Direction.ASC);
+        assertEquals("Beta", next.key());
+        assertEquals(2L, next.id());
+    }
+
     @Test
     void createProduct_shouldPersistAndReturnResponse() {
         Product saved = new Product();
@@ -83,6 +193,57 @@ class ProductServiceImplTest {
         verify(productRepository).save(any(Product.class));
     }
 
+    @Test
+    void createProduct_shouldAuditOnlyAfterCommit() {
+        Product saved = new Product();
+        saved.setId(11L);
+        saved.setProductName("Mouse");
+        saved.setCreatedBy("admin");
+        when(productRepository.save(any(Product.class))).thenReturn(saved);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            productService.createProduct(new ProductCreateRequest("Mouse", "admin"));
+            verifyNoInteractions(auditLogService);
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(auditLogService).logProductEvent("CREATE", 11L, "admin");
+    }
+
+    @Test
+    void getProductById_shouldServeRepeatReadsFromCacheUntilUpdated() {
+        Product product = new Product();
+        product.setId(3L);
+        product.setProductName("Headset");
+        product.setCreatedBy("admin");
+
+        when(productRepository.findById(3L)).thenReturn(Optional.of(product));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        productService.getProductById(3L);
+        productService.getProductById(3L);
+        verify(productRepository, times(1)).findById(3L);
+
+        productService.updateProduct(3L, new ProductUpdateRequest("Headset Pro", "admin"));
+        assertEquals("Headset Pro", productService.getProductById(3L).productName());
+        verify(productRepository, times(3)).findById(3L);
+    }
+
+    @Test
+    void getProductById_shouldNotCacheMisses() {
+        when(productRepository.findById(42L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> productService.getProductById(42L));
+        assertThrows(ResourceNotFoundException.class, () -> productService.getProductById(42L));
+        verify(productRepository, times(2)).findById(42L);
+    }
+
     @Test
     void updateProduct_shouldThrowWhenNotFound() {
         when(productRepository.findById(99L)).thenReturn(Optional.empty());
@@ -99,5 +260,39 @@ class ProductServiceImplTest {
 
         verify(productRepository).deleteById(5L);
     }
-}
 
+    @Test
+    void getItemsByProductIds_shouldLoadAllItemsWithOneQueryAndSkipUnknownIds() {
+        Product first = new Product();
+        first.setId(1L);
+        Product second = new Product();
+        second.setId(2L);
+
+        when(productRepository.findExistingIds(List.of(1L, 2L, 3L))).thenReturn(List.of(1L, 2L));
+        when(itemRepository.findByProductIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                item(10L, first, 4), item(11L, first, 6), item(20L, second, 1)));
+
+        Map<Long, List<ItemResponse>> items = productService.getItemsByProductIds(List.of(1L, 2L, 3L));
+
+        assertEquals(List.of(1L, 2L), List.copyOf(items.keySet()));
+        assertEquals(2, items.get(1L).size());
+        assertEquals(20L, items.get(2L).get(0).id());
+        verify(itemRepository, times(1)).findByProductIdIn(any());
+        verify(itemRepository, never()).findByProductId(any());
+    }
+
+    @Test
+    void getItemsByProductIds_shouldRejectOversizedRequests() {
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> productService.getItemsByProductIds(ids));
+    }
+
+    private Item item(Long id, Product product, int quantity) {
+        Item item = new Item();
+        item.setId(id);
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        return item;
+    }
+}